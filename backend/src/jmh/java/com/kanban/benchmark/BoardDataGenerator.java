@@ -0,0 +1,63 @@
+package com.kanban.benchmark;
+
+import com.kanban.model.Task;
+import com.kanban.repository.TaskBatchInserter;
+import com.kanban.service.SyncRevisions;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Gera quadros determinísticos (mesma semente, mesmos dados) para benchmarks e testes de carga
+public final class BoardDataGenerator {
+    
+    public static final String[] COLUMN_IDS = {"todo", "doing", "done"};
+    
+    private static final int SEED_CHUNK = 10_000;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final String[] ASSIGNEES = {
+        "João Silva", "Maria Santos", "Pedro Costa", "Ana Lima", "Carlos Oliveira",
+        "Lucia Ferreira", "Roberto Alves", "Fernanda Rocha", "Paulo Mendes", "Juliana Dias"
+    };
+    private static final String DESCRIPTION =
+        "Descrição gerada para benchmark com tamanho próximo ao de um cartão real do quadro Kanban.";
+    
+    private BoardDataGenerator() {}
+    
+    public static List<Task> generate(int count, long seed) {
+        return generate(0, count, seed);
+    }
+    
+    // Tarefas [from, from + count) da sequência da semente informada
+    public static List<Task> generate(int from, int count, long seed) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            String columnId = COLUMN_IDS[random.nextInt(COLUMN_IDS.length)];
+            Task task = new Task(
+                "Tarefa " + i,
+                DESCRIPTION,
+                ASSIGNEES[random.nextInt(ASSIGNEES.length)],
+                Task.Priority.values()[random.nextInt(Task.Priority.values().length)],
+                Task.Status.fromColumnId(columnId),
+                LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365))
+            );
+            task.setCreatedAt(BASE_TIME.plusSeconds(i));
+            task.setUpdatedAt(task.getCreatedAt());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+    
+    // Insere as tarefas em blocos pelo mesmo caminho em lote da API, na revisão base da sincronização
+    // (como dados anteriores ao contador; sem transação não há commit para atribuir revisão)
+    public static void seed(ApplicationContext context, int count, long seed) {
+        TaskBatchInserter inserter = context.getBean(TaskBatchInserter.class);
+        for (int from = 0; from < count; from += SEED_CHUNK) {
+            inserter.insertAll(generate(from, Math.min(SEED_CHUNK, count - from), seed), SyncRevisions.BASELINE);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.kanban.benchmark;
+
+import com.kanban.KanbanApplication;
+import com.kanban.service.ColumnService;
+import com.kanban.service.TaskService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Aplicação sem servidor web sobre H2 em memória, populada com taskCount tarefas
+@State(Scope.Benchmark)
+public class BoardState {
+    
+    public static final long SEED = 42L;
+    
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+    
+    public ConfigurableApplicationContext context;
+    public TaskService taskService;
+    public ColumnService columnService;
+    public List<String> columnOrder;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(KanbanApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("bench")
+                .run("--spring.datasource.url=jdbc:h2:mem:kanban_bench_" + taskCount
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        BoardDataGenerator.seed(context, taskCount, SEED);
+        taskService = context.getBean(TaskService.class);
+        columnService = context.getBean(ColumnService.class);
+        columnOrder = new ArrayList<>(Arrays.asList(BoardDataGenerator.COLUMN_IDS));
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
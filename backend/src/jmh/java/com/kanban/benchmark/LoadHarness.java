@@ -0,0 +1,407 @@
+package com.kanban.benchmark;
+
+import com.kanban.KanbanApplication;
+import com.kanban.service.CardRankService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Teste de carga de ponta a ponta da API REST: sobe a aplicação completa em porta aleatória sobre H2 em
+// memória, popula o quadro (BoardDataGenerator) e envia em malha aberta a carga de um WorkloadTrace, gerada
+// (abrir o quadro, rajadas de movimentações, reordenação de colunas, exclusões em lote) ou lida de um trace.
+// Cada requisição sai no seu instante, sem esperar as anteriores, e a latência conta a partir desse instante:
+// quando o servidor ou o gerador atrasam, a espera entra na medição. Latências por endpoint em HdrHistogram.
+//   mvn -Pbenchmark test-compile exec:exec -Dbench.main=com.kanban.benchmark.LoadHarness \
+//       -Djmh.args="--rate=500 --duration=60 --tasks=10000 --record=target/load.trace --report=target/load.csv"
+//   # Mesma carga, comparando o p99 com o relatório anterior (sai com erro se piorar mais que a tolerância)
+//   mvn -Pbenchmark test-compile exec:exec -Dbench.main=com.kanban.benchmark.LoadHarness \
+//       -Djmh.args="--trace=target/load.trace --baseline=target/load.csv --tolerance=0.2"
+// Opções kanban.* e spring.* (ex.: --kanban.projection.enabled=true) são repassadas à aplicação.
+public class LoadHarness {
+    
+    private static final long SCHEDULE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    
+    public static void main(String[] args) throws Exception {
+        // Com o devtools no classpath a aplicação seria reiniciada chamando este main de novo; a propriedade
+        // do perfil bench é lida tarde demais para evitar isso
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Conexões ociosas do cliente HTTP expiram antes das do Tomcat; reaproveitar uma que o servidor acabou
+        // de fechar falharia com EOFException
+        System.setProperty("jdk.httpclient.keepalive.timeout", "5");
+        Map<String, String> options = parseOptions(args);
+        Path trace = options.containsKey("trace") ? Path.of(options.get("trace")) : null;
+        // Na reprodução, o quadro (tamanho e semente) e a taxa do aquecimento vêm do cabeçalho do trace
+        int tasks = Integer.parseInt(option(options, trace, "tasks", "10000"));
+        double rate = Double.parseDouble(option(options, trace, "rate", "200"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "60"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "15"));
+        long seed = Long.parseLong(option(options, trace, "seed", Long.toString(BoardState.SEED)));
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        // Limitado pelo número de partes do Phaser
+        int maxInFlight = Math.min(Integer.parseInt(options.getOrDefault("max-in-flight", "10000")), 65_000);
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.1"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.01"));
+        WorkloadTrace.Mix mix = WorkloadTrace.Mix.parse(options.get("mix"))
+                .burst(Integer.parseInt(options.getOrDefault("burst", "4")), Long.parseLong(options.getOrDefault("burst-gap-ms", "150")))
+                .deleteBatch(Integer.parseInt(options.getOrDefault("delete-batch", "20")));
+        
+        // O Tomcat fecha a conexão keep-alive a cada 100 requisições, e a que o cliente envia nesse instante
+        // falharia com EOFException sem o servidor ter errado
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=0", "--server.tomcat.max-keep-alive-requests=-1",
+                "--spring.datasource.url=jdbc:h2:mem:kanban_load_harness;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"));
+        options.forEach((key, value) -> {
+            if (key.startsWith("kanban.") || key.startsWith("spring.")) {
+                appArgs.add("--" + key + "=" + value);
+            }
+        });
+        
+        List<String> failures;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(KanbanApplication.class)
+                .profiles("bench")
+                .run(appArgs.toArray(new String[0]))) {
+            BoardDataGenerator.seed(context, tasks, seed);
+            // Posições nas colunas, como num quadro em uso (as tarefas geradas não têm card_rank)
+            context.getBean(CardRankService.class).rankLegacyTasks();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks ORDER BY id", Long.class);
+            List<String> columnIds = jdbcTemplate.queryForList("SELECT column_id FROM columns ORDER BY display_order", String.class);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            
+            // Aquecimento (JIT, pools e caches) com leituras e movimentações, que não mudam o conjunto de
+            // tarefas de um trace gravado; fora da medição
+            if (warmup > 0) {
+                System.out.printf("Aquecimento: %d s a %.0f chegadas/s%n", warmup, rate);
+                execute(client, baseUrl, WorkloadTrace.generate(WorkloadTrace.Mix.parse("board:60,move:40"), rate, warmup,
+                        taskIds, columnIds, seed + 1), 1, maxInFlight);
+            }
+            
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            RevisionLock lockBefore = RevisionLock.read(meterRegistry);
+            Iterator<WorkloadTrace.Entry> entries;
+            BufferedWriter recorder = null;
+            if (trace != null) {
+                System.out.printf("Reproduzindo %s (velocidade %.2fx) sobre %d tarefas%n", trace, speed, tasks);
+                entries = WorkloadTrace.read(trace);
+            } else {
+                System.out.printf("Carga gerada: %.0f chegadas/s por %d s, %s, %d tarefas%n", rate, duration, mix, tasks);
+                entries = WorkloadTrace.generate(mix, rate, duration, taskIds, columnIds, seed);
+                if (options.containsKey("record")) {
+                    recorder = Files.newBufferedWriter(Path.of(options.get("record")), StandardCharsets.UTF_8);
+                    recorder.write("# tasks=" + tasks + " seed=" + seed + " rate=" + rate + " duration=" + duration);
+                    recorder.newLine();
+                    entries = WorkloadTrace.recording(entries, recorder);
+                }
+            }
+            Run run;
+            try {
+                run = execute(client, baseUrl, entries, speed, maxInFlight);
+            } finally {
+                if (recorder != null) {
+                    recorder.close();
+                }
+            }
+            
+            run.print(System.out);
+            RevisionLock.read(meterRegistry).since(lockBefore).print(System.out, run.elapsedSeconds);
+            if (options.containsKey("report")) {
+                run.writeReport(Path.of(options.get("report")));
+            }
+            if (options.containsKey("hgrm-dir")) {
+                run.writeHistograms(Path.of(options.get("hgrm-dir")));
+            }
+            failures = run.check(options.containsKey("baseline") ? readReport(Path.of(options.get("baseline"))) : Map.of(),
+                    tolerance, maxErrorRate);
+        }
+        if (!failures.isEmpty()) {
+            failures.forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+    
+    // Envia cada requisição no instante previsto (offset / speed a partir do início) e espera as respostas
+    private static Run execute(HttpClient client, String baseUrl, Iterator<WorkloadTrace.Entry> entries, double speed,
+                               int maxInFlight) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        EndpointStats total = new EndpointStats("total");
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        // Uma parte por requisição em voo, além da própria thread
+        Phaser pending = new Phaser(1);
+        long maxLagNanos = 0;
+        
+        long start = System.nanoTime() + SCHEDULE_DELAY_NANOS;
+        while (entries.hasNext()) {
+            WorkloadTrace.Entry entry = entries.next();
+            long intended = start + (long) (TimeUnit.MICROSECONDS.toNanos(entry.getOffsetMicros()) / speed);
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            maxLagNanos = Math.max(maxLagNanos, now - intended);
+            EndpointStats endpoint = stats.computeIfAbsent(entry.getEndpoint(), EndpointStats::new);
+            // Sem vaga, a requisição é descartada em vez de atrasar as seguintes (a malha continua aberta)
+            if (!inFlight.tryAcquire()) {
+                endpoint.dropped.increment();
+                total.dropped.increment();
+                continue;
+            }
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + entry.getPath()))
+                    .timeout(Duration.ofSeconds(60));
+            if (entry.getBody() != null) {
+                request.header("Content-Type", "application/json")
+                        .method(entry.getMethod(), HttpRequest.BodyPublishers.ofString(entry.getBody()));
+            } else {
+                request.method(entry.getMethod(), HttpRequest.BodyPublishers.noBody());
+            }
+            pending.register();
+            client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long latencyNanos = System.nanoTime() - intended;
+                int status = error != null ? -1 : response.statusCode();
+                // Sem resposta, a falha é identificada pela exceção (timeout, conexão recusada...)
+                String outcome = error != null ? rootCause(error).getClass().getSimpleName() : Integer.toString(status);
+                endpoint.record(status, outcome, latencyNanos);
+                total.record(status, outcome, latencyNanos);
+                inFlight.release();
+                pending.arriveAndDeregister();
+            });
+        }
+        pending.arriveAndAwaitAdvance();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new Run(stats, total, elapsedSeconds, maxLagNanos / 1e6);
+    }
+    
+    private static Throwable rootCause(Throwable error) {
+        while (error.getCause() != null && error.getCause() != error) {
+            error = error.getCause();
+        }
+        return error;
+    }
+    
+    // endpoint -> p99 (ms) de um relatório gravado com --report
+    private static Map<String, Double> readReport(Path file) throws IOException {
+        Map<String, Double> p99 = new HashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        String[] header = lines.get(0).split(",");
+        int column = List.of(header).indexOf("p99_ms");
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",");
+            p99.put(fields[0], Double.parseDouble(fields[column]));
+        }
+        return p99;
+    }
+    
+    // Opção da linha de comando, senão o valor gravado no cabeçalho do trace, senão o padrão
+    private static String option(Map<String, String> options, Path trace, String key, String defaultValue) throws IOException {
+        if (options.containsKey(key)) {
+            return options.get(key);
+        }
+        String recorded = trace != null ? WorkloadTrace.header(trace, key) : null;
+        return recorded != null ? recorded : defaultValue;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+    
+    private static class EndpointStats {
+        
+        final String name;
+        // Latência das respostas 2xx/3xx, em microssegundos
+        final Histogram latencies = new ConcurrentHistogram(3);
+        final LongAdder requests = new LongAdder();
+        final LongAdder ok = new LongAdder();
+        // 429 (limite de escrita) e 503 (controle de admissão)
+        final LongAdder rejected = new LongAdder();
+        // Demais respostas >= 400, falhas de conexão e timeouts
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        // Falhas por código HTTP ou, sem resposta, pela exceção
+        final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        
+        EndpointStats(String name) {
+            this.name = name;
+        }
+        
+        void record(int status, String outcome, long latencyNanos) {
+            requests.increment();
+            if (status < 0 || status >= 400) {
+                failures.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            }
+            if (status == 429 || status == 503) {
+                rejected.increment();
+            } else if (status < 0 || status >= 400) {
+                errors.increment();
+            } else {
+                ok.increment();
+                latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            }
+        }
+        
+        double percentile(double percentile) {
+            return latencies.getTotalCount() == 0 ? Double.NaN : latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+        
+        long failed() {
+            return errors.sum() + rejected.sum() + dropped.sum();
+        }
+    }
+    
+    // Lock do contador de revisões do quadro (SyncRevisions), só da parte medida: as escritas do quadro passam
+    // por ele uma de cada vez, então uma ocupação (tempo com o lock / duração) perto de 100% indica que é ele
+    // que limita a vazão de escrita
+    private static class RevisionLock {
+        
+        final long waits;
+        final double waitMillis;
+        final long holds;
+        final double holdMillis;
+        
+        RevisionLock(long waits, double waitMillis, long holds, double holdMillis) {
+            this.waits = waits;
+            this.waitMillis = waitMillis;
+            this.holds = holds;
+            this.holdMillis = holdMillis;
+        }
+        
+        static RevisionLock read(MeterRegistry registry) {
+            Timer wait = registry.find("kanban.sync.revision.lock.wait").timer();
+            Timer hold = registry.find("kanban.sync.revision.lock.hold").timer();
+            return new RevisionLock(wait != null ? wait.count() : 0, wait != null ? wait.totalTime(TimeUnit.MILLISECONDS) : 0,
+                    hold != null ? hold.count() : 0, hold != null ? hold.totalTime(TimeUnit.MILLISECONDS) : 0);
+        }
+        
+        RevisionLock since(RevisionLock before) {
+            return new RevisionLock(waits - before.waits, waitMillis - before.waitMillis, holds - before.holds,
+                    holdMillis - before.holdMillis);
+        }
+        
+        void print(PrintStream out, double elapsedSeconds) {
+            if (holds == 0) {
+                return;
+            }
+            out.printf("Lock do contador de revisões: %d transações, espera média %.2f ms, posse média %.2f ms, "
+                    + "ocupação %.1f%%%n", holds, waits > 0 ? waitMillis / waits : 0, holdMillis / holds,
+                    holdMillis / (elapsedSeconds * 10));
+        }
+    }
+    
+    private static class Run {
+        
+        final Map<String, EndpointStats> endpoints;
+        final EndpointStats total;
+        final double elapsedSeconds;
+        final double maxLagMillis;
+        
+        Run(Map<String, EndpointStats> endpoints, EndpointStats total, double elapsedSeconds, double maxLagMillis) {
+            this.endpoints = endpoints;
+            this.total = total;
+            this.elapsedSeconds = elapsedSeconds;
+            this.maxLagMillis = maxLagMillis;
+        }
+        
+        List<EndpointStats> rows() {
+            List<EndpointStats> rows = new ArrayList<>(endpoints.values());
+            rows.add(total);
+            return rows;
+        }
+        
+        void print(PrintStream out) {
+            out.printf("%n%-12s %9s %9s %9s %9s %9s %9s %9s %7s %7s %7s%n", "endpoint", "req", "ok/s",
+                    "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "erros", "429/503", "descart");
+            for (EndpointStats row : rows()) {
+                out.printf("%-12s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d%n", row.name,
+                        row.requests.sum() + row.dropped.sum(), row.ok.sum() / elapsedSeconds, row.percentile(50),
+                        row.percentile(90), row.percentile(99), row.percentile(99.9), row.percentile(100),
+                        row.errors.sum(), row.rejected.sum(), row.dropped.sum());
+            }
+            for (EndpointStats row : endpoints.values()) {
+                if (!row.failures.isEmpty()) {
+                    out.printf("Respostas com falha em %s, por causa: %s%n", row.name, new TreeMap<>(row.failures));
+                }
+            }
+            out.printf("Duração %.1f s; maior atraso do gerador %.1f ms%n", elapsedSeconds, maxLagMillis);
+        }
+        
+        void writeReport(Path file) throws IOException {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                writer.println("endpoint,requests,ok,errors,rejected,dropped,ok_per_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+                for (EndpointStats row : rows()) {
+                    writer.printf(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n", row.name,
+                            row.requests.sum() + row.dropped.sum(), row.ok.sum(), row.errors.sum(), row.rejected.sum(),
+                            row.dropped.sum(), row.ok.sum() / elapsedSeconds, row.percentile(50), row.percentile(90),
+                            row.percentile(99), row.percentile(99.9), row.percentile(100));
+                }
+            }
+        }
+        
+        // Distribuição completa de cada endpoint (formato .hgrm do HdrHistogram, em ms), para gráficos
+        void writeHistograms(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (EndpointStats row : rows()) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(row.name + ".hgrm")),
+                        false, StandardCharsets.UTF_8)) {
+                    row.latencies.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+        
+        // Falhas da execução: p99 acima do relatório de referência mais a tolerância, ou erros acima do limite
+        List<String> check(Map<String, Double> baseline, double tolerance, double maxErrorRate) {
+            List<String> failures = new ArrayList<>();
+            for (EndpointStats row : rows()) {
+                Double reference = baseline.get(row.name);
+                double p99 = row.percentile(99);
+                if (reference != null && p99 > reference * (1 + tolerance)) {
+                    failures.add(String.format("Regressão de p99 em %s: %.2f ms (referência %.2f ms, limite %.2f ms)",
+                            row.name, p99, reference, reference * (1 + tolerance)));
+                }
+                long attempted = row.requests.sum() + row.dropped.sum();
+                if (attempted > 0 && (double) row.failed() / attempted > maxErrorRate) {
+                    failures.add(String.format("Falhas em %s: %d de %d requisições (limite %.1f%%)",
+                            row.name, row.failed(), attempted, maxErrorRate * 100));
+                }
+            }
+            return failures;
+        }
+    }
+}
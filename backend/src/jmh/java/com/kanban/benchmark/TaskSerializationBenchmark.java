@@ -0,0 +1,95 @@
+package com.kanban.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kanban.dto.TaskCard;
+import com.kanban.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialização de List<Task> com a mesma configuração do Jackson da aplicação (padrões de @JsonFormat incluídos),
+// comparada com os cartões (TaskCard), com CBOR e com gzip; os tamanhos de cada formato saem no início do fork
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskSerializationBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+    
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private List<Task> tasks;
+    private List<TaskCard> cards;
+    
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cborMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(new CBORFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        tasks = BoardDataGenerator.generate(taskCount, BoardState.SEED);
+        cards = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            cards.add(TaskCard.of(task));
+        }
+        System.out.printf("%n%d tarefas, em bytes: json=%d cbor=%d cards-json=%d cards-cbor=%d cards-cbor-gzip=%d%n",
+                taskCount, serializeTasks().length, serializeTasksCbor().length, serializeCards().length,
+                serializeCardsCbor().length, serializeCardsCborGzip().length);
+    }
+    
+    @Benchmark
+    public byte[] serializeTasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+    
+    @Benchmark
+    public byte[] serializeTasksCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(tasks);
+    }
+    
+    @Benchmark
+    public byte[] serializeCards() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cards);
+    }
+    
+    @Benchmark
+    public byte[] serializeCardsCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(cards);
+    }
+    
+    // Como sai pela rede com server.compression (gzip no nível padrão do Tomcat)
+    @Benchmark
+    public byte[] serializeCardsCborGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            cborMapper.writeValue(gzip, cards);
+        }
+        return bytes.toByteArray();
+    }
+}
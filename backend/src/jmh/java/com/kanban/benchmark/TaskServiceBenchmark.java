@@ -0,0 +1,53 @@
+package com.kanban.benchmark;
+
+import com.kanban.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskServiceBenchmark {
+    
+    @State(Scope.Thread)
+    public static class MoveState {
+        private final SplittableRandom random = new SplittableRandom(BoardState.SEED);
+    }
+    
+    @Benchmark
+    public List<Task> getAllTasks(BoardState board) {
+        return board.taskService.getAllTasks();
+    }
+    
+    @Benchmark
+    public List<Task> getTasksByColumnId(BoardState board) {
+        return board.taskService.getTasksByColumnId("doing");
+    }
+    
+    @Benchmark
+    public Task moveTaskToColumn(BoardState board, MoveState move) {
+        long taskId = 1 + move.random.nextInt(board.taskCount);
+        String columnId = BoardDataGenerator.COLUMN_IDS[move.random.nextInt(BoardDataGenerator.COLUMN_IDS.length)];
+        return board.taskService.moveTaskToColumn(taskId, columnId, null);
+    }
+    
+    @Benchmark
+    public void reorderColumns(BoardState board) {
+        Collections.rotate(board.columnOrder, 1);
+        board.columnService.reorderColumns(board.columnOrder);
+    }
+}
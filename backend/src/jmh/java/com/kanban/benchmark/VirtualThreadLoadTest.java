@@ -0,0 +1,148 @@
+package com.kanban.benchmark;
+
+import com.kanban.KanbanApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Compara a latência (p50/p99) da API com threads de plataforma e com threads virtuais (perfil "virtual").
+// Sobe a aplicação completa em porta aleatória sobre H2, uma vez por modo, e dispara requisições com
+// "concurrency" requisições em voo. O pool do Hikari é o mesmo nos dois modos.
+//   mvn -Pbenchmark test-compile exec:exec -Dbench.main=com.kanban.benchmark.VirtualThreadLoadTest \
+//       -Djmh.args="--requests=20000 --concurrency=1000 --tasks=10000"
+public class VirtualThreadLoadTest {
+    
+    private static final String[] PATHS = {"/api/tasks/page?size=50", "/api/columns", "/api/tasks/count/column/doing"};
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        int tasks = Integer.parseInt(options.getOrDefault("tasks", "10000"));
+        
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform", false, requests, concurrency, tasks));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run("virtual", true, requests, concurrency, tasks));
+        } else {
+            System.out.println("Modo virtual ignorado: requer JDK 21 (atual: " + Runtime.version() + ")");
+        }
+        
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %10s%n", "modo", "req/s", "p50 ms", "p99 ms", "max ms", "503", "erros");
+        for (Result result : results) {
+            System.out.printf("%-10s %10.0f %10.1f %10.1f %10.1f %10d %10d%n", result.mode, result.throughput,
+                    result.p50, result.p99, result.max, result.rejected, result.errors);
+        }
+    }
+    
+    private static Result run(String mode, boolean virtual, int requests, int concurrency, int tasks) throws Exception {
+        String[] profiles = virtual ? new String[]{"bench", "virtual"} : new String[]{"bench"};
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(KanbanApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:kanban_load_" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")) {
+            BoardDataGenerator.seed(context, tasks, BoardState.SEED);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            
+            // Aquecimento (JIT, pools e caches de conexão) fora da medição
+            fire(client, baseUrl, Math.max(1, requests / 10), concurrency, mode);
+            return fire(client, baseUrl, requests, concurrency, mode);
+        }
+    }
+    
+    private static Result fire(HttpClient client, String baseUrl, int requests, int concurrency, String mode)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        
+        long started = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS[i % PATHS.length]))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null) {
+                    errors.incrementAndGet();
+                } else if (response.statusCode() == 503) {
+                    rejected.incrementAndGet();
+                } else if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                } else {
+                    latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        
+        long[] ok = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(ok);
+        return new Result(mode, requests / elapsedSeconds, percentile(ok, 0.50), percentile(ok, 0.99),
+                percentile(ok, 1.0), rejected.get(), errors.get());
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+    
+    private static class Result {
+        final String mode;
+        final double throughput;
+        final double p50;
+        final double p99;
+        final double max;
+        final int rejected;
+        final int errors;
+        
+        Result(String mode, double throughput, double p50, double p99, double max, int rejected, int errors) {
+            this.mode = mode;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.rejected = rejected;
+            this.errors = errors;
+        }
+    }
+}
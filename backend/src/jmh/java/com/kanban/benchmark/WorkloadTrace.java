@@ -0,0 +1,316 @@
+package com.kanban.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+// Carga de trabalho do LoadHarness: requisições com o instante de envio (microssegundos desde o início).
+// Gerada a partir de uma semente (mesma semente, mesma carga) ou lida de um arquivo de trace, em texto com
+// uma requisição por linha, campos separados por tabulação:
+//   instante_us  endpoint  método  caminho  corpo_json (opcional)
+// Linhas iniciadas por '#' são comentários; "# tasks=N" indica o tamanho do quadro em que o trace foi gravado.
+// As requisições são produzidas uma a uma, então traces longos não ficam em memória.
+public final class WorkloadTrace {
+    
+    public static final String BOARD = "board";
+    public static final String MOVE = "move";
+    public static final String REORDER = "reorder";
+    public static final String BULK_DELETE = "bulk-delete";
+    
+    private WorkloadTrace() {}
+    
+    public static class Entry {
+        
+        private final long offsetMicros;
+        private final String endpoint;
+        private final String method;
+        private final String path;
+        private final String body;
+        
+        public Entry(long offsetMicros, String endpoint, String method, String path, String body) {
+            this.offsetMicros = offsetMicros;
+            this.endpoint = endpoint;
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+        
+        public long getOffsetMicros() {
+            return offsetMicros;
+        }
+        
+        public String getEndpoint() {
+            return endpoint;
+        }
+        
+        public String getMethod() {
+            return method;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public String getBody() {
+            return body;
+        }
+        
+        String toLine() {
+            StringJoiner line = new StringJoiner("\t");
+            line.add(Long.toString(offsetMicros)).add(endpoint).add(method).add(path);
+            if (body != null) {
+                line.add(body);
+            }
+            return line.toString();
+        }
+        
+        static Entry parse(String line) {
+            String[] fields = line.split("\t", 5);
+            if (fields.length < 4) {
+                throw new IllegalArgumentException("Linha de trace inválida: " + line);
+            }
+            return new Entry(Long.parseLong(fields[0]), fields[1], fields[2], fields[3], fields.length == 5 ? fields[4] : null);
+        }
+    }
+    
+    // Parâmetros da carga gerada
+    public static class Mix {
+        
+        // Pesos relativos de cada tipo de chegada
+        private final Map<String, Integer> weights = new LinkedHashMap<>();
+        // Cada chegada de MOVE é uma sequência de movimentações do mesmo usuário (arrastar vários cartões)
+        private int burstSize = 4;
+        private long burstGapMicros = 150_000;
+        private int deleteBatch = 20;
+        
+        public Mix() {
+            weights.put(BOARD, 60);
+            weights.put(MOVE, 35);
+            weights.put(REORDER, 3);
+            weights.put(BULK_DELETE, 2);
+        }
+        
+        // "board:60,move:35,reorder:3,bulk-delete:2"; tipos omitidos ficam com peso 0
+        public static Mix parse(String spec) {
+            Mix mix = new Mix();
+            if (spec == null || spec.isBlank()) {
+                return mix;
+            }
+            mix.weights.replaceAll((endpoint, weight) -> 0);
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split(":", 2);
+                if (pair.length != 2 || !mix.weights.containsKey(pair[0])) {
+                    throw new IllegalArgumentException("Mix inválido: " + part + " (use " + mix.weights.keySet() + ")");
+                }
+                mix.weights.put(pair[0], Integer.parseInt(pair[1]));
+            }
+            return mix;
+        }
+        
+        public Mix burst(int size, long gapMillis) {
+            this.burstSize = Math.max(1, size);
+            this.burstGapMicros = TimeUnit.MILLISECONDS.toMicros(gapMillis);
+            return this;
+        }
+        
+        public Mix deleteBatch(int size) {
+            this.deleteBatch = Math.max(1, size);
+            return this;
+        }
+        
+        private String pick(SplittableRandom random) {
+            int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+            int roll = random.nextInt(total);
+            for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                roll -= weight.getValue();
+                if (roll < 0) {
+                    return weight.getKey();
+                }
+            }
+            throw new IllegalStateException();
+        }
+        
+        @Override
+        public String toString() {
+            StringJoiner spec = new StringJoiner(",");
+            weights.forEach((endpoint, weight) -> spec.add(endpoint + ":" + weight));
+            return spec + " burst=" + burstSize + " delete-batch=" + deleteBatch;
+        }
+    }
+    
+    // Chegadas de Poisson com ratePerSecond chegadas por segundo durante durationSeconds, sobre as tarefas
+    // taskIds. As exclusões tiram as tarefas do sorteio das requisições seguintes e param quando restaria
+    // menos da metade do quadro, para a carga não esvaziá-lo.
+    public static Iterator<Entry> generate(Mix mix, double ratePerSecond, long durationSeconds, List<Long> taskIds,
+                                           List<String> columnIds, long seed) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Taxa deve ser positiva: " + ratePerSecond);
+        }
+        long endMicros = TimeUnit.SECONDS.toMicros(durationSeconds);
+        double meanGapMicros = 1_000_000 / ratePerSecond;
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Long> alive = new ArrayList<>(taskIds);
+        int minAlive = taskIds.size() / 2;
+        // Requisições já sorteadas, em ordem de instante (as rajadas se intercalam com as próximas chegadas)
+        PriorityQueue<Entry> scheduled = new PriorityQueue<>((a, b) -> Long.compare(a.offsetMicros, b.offsetMicros));
+        
+        return new Iterator<>() {
+            private double nextArrival = exponential(random, meanGapMicros);
+            
+            @Override
+            public boolean hasNext() {
+                fill();
+                return !scheduled.isEmpty();
+            }
+            
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return scheduled.poll();
+            }
+            
+            // Sorteia chegadas até a próxima ser posterior à primeira requisição já agendada
+            private void fill() {
+                while (nextArrival < endMicros && (scheduled.isEmpty() || nextArrival <= scheduled.peek().offsetMicros)) {
+                    arrive((long) nextArrival);
+                    nextArrival += exponential(random, meanGapMicros);
+                }
+            }
+            
+            private void arrive(long at) {
+                String endpoint = mix.pick(random);
+                if ((endpoint.equals(BULK_DELETE) && alive.size() <= minAlive) || (endpoint.equals(MOVE) && alive.isEmpty())) {
+                    endpoint = BOARD;
+                }
+                switch (endpoint) {
+                    case MOVE -> {
+                        for (int i = 0; i < mix.burstSize; i++) {
+                            long taskId = alive.get(random.nextInt(alive.size()));
+                            String columnId = columnIds.get(random.nextInt(columnIds.size()));
+                            scheduled.add(new Entry(at + i * mix.burstGapMicros, MOVE, "PATCH",
+                                    "/api/tasks/" + taskId + "/move-to-column/" + columnId, null));
+                        }
+                    }
+                    case REORDER -> {
+                        List<String> order = new ArrayList<>(columnIds);
+                        for (int i = order.size() - 1; i > 0; i--) {
+                            order.set(i, order.set(random.nextInt(i + 1), order.get(i)));
+                        }
+                        StringJoiner ids = new StringJoiner("\",\"", "{\"columnIds\":[\"", "\"]}");
+                        order.forEach(ids::add);
+                        scheduled.add(new Entry(at, REORDER, "PUT", "/api/columns/reorder", ids.toString()));
+                    }
+                    case BULK_DELETE -> {
+                        StringJoiner operations = new StringJoiner(",", "[", "]");
+                        int count = Math.min(mix.deleteBatch, alive.size() - minAlive);
+                        for (int i = 0; i < count; i++) {
+                            // Troca com o último para remover em O(1)
+                            int index = random.nextInt(alive.size());
+                            long taskId = alive.get(index);
+                            alive.set(index, alive.get(alive.size() - 1));
+                            alive.remove(alive.size() - 1);
+                            operations.add("{\"op\":\"DELETE\",\"id\":" + taskId + "}");
+                        }
+                        scheduled.add(new Entry(at, BULK_DELETE, "POST", "/api/tasks/batch", operations.toString()));
+                    }
+                    default -> scheduled.add(new Entry(at, BOARD, "GET", "/api/board", null));
+                }
+            }
+        };
+    }
+    
+    private static double exponential(SplittableRandom random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+    
+    // Lê o trace sob demanda; o arquivo fica aberto até o fim da iteração
+    public static Iterator<Entry> read(Path file) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return new Iterator<>() {
+            private Entry next = advance();
+            
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            
+            @Override
+            public Entry next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Entry current = next;
+                next = advance();
+                return current;
+            }
+            
+            private Entry advance() {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank() && !line.startsWith("#")) {
+                            return Entry.parse(line);
+                        }
+                    }
+                    reader.close();
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+    
+    // Valor de "# chave=valor" no cabeçalho do trace, ou null
+    public static String header(Path file, String key) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && line.startsWith("#")) {
+                for (String pair : line.substring(1).trim().split("\\s+")) {
+                    if (pair.startsWith(key + "=")) {
+                        return pair.substring(key.length() + 1);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    // Grava cada requisição no trace à medida que passa pelo iterador
+    public static Iterator<Entry> recording(Iterator<Entry> entries, BufferedWriter writer) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+            
+            @Override
+            public Entry next() {
+                Entry entry = entries.next();
+                try {
+                    writer.write(entry.toLine());
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return entry;
+            }
+        };
+    }
+}
@@ -1,26 +1,20 @@
 package com.kanban;
 
-import com.kanban.service.ColumnService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+// As colunas padrão do quadro principal são criadas pela migração V10, fora da inicialização
 @SpringBootApplication
 @CrossOrigin(origins = "http://localhost:4200")
-public class KanbanApplication implements CommandLineRunner {
-
-	@Autowired
-	private ColumnService columnService;
+public class KanbanApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(KanbanApplication.class, args);
-	}
-
-	@Override
-	public void run(String... args) throws Exception {
-		// Inicializar colunas padrão se não existirem
-		columnService.initializeDefaultColumns();
+		ConfigurableApplicationContext context = SpringApplication.run(KanbanApplication.class, args);
+		// Job de migração (perfil migrate): aplica as migrações e o backfill das posições e encerra
+		if (context.getEnvironment().getProperty("kanban.migrate-only", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 }
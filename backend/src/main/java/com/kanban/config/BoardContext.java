@@ -0,0 +1,55 @@
+package com.kanban.config;
+
+import java.util.function.Supplier;
+
+// Quadro (tenant) em que a thread atual trabalha: definido por requisição (BoardContextFilter) ou pelos
+// processos em segundo plano ao percorrer os quadros. Sem quadro definido vale o quadro padrão.
+// O Hibernate lê o quadro ao abrir cada sessão (BoardTenantResolver) e filtra por board_id todas as consultas
+// das entidades com @TenantId; o mesmo valor escolhe o shard quando kanban.sharding.enabled=true.
+public final class BoardContext {
+    
+    public static final long DEFAULT_BOARD_ID = 1L;
+    
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+    
+    private BoardContext() {}
+    
+    public static long current() {
+        Long boardId = CURRENT.get();
+        return boardId != null ? boardId : DEFAULT_BOARD_ID;
+    }
+    
+    public static boolean isDefault() {
+        return current() == DEFAULT_BOARD_ID;
+    }
+    
+    public static void set(long boardId) {
+        CURRENT.set(boardId);
+    }
+    
+    public static void clear() {
+        CURRENT.remove();
+    }
+    
+    // Executa no quadro informado e restaura o anterior; a ação deve abrir sua própria sessão/transação
+    public static <T> T callAs(long boardId, Supplier<T> action) {
+        Long previous = CURRENT.get();
+        CURRENT.set(boardId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    public static void runAs(long boardId, Runnable action) {
+        callAs(boardId, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
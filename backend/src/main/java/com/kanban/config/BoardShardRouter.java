@@ -0,0 +1,10 @@
+package com.kanban.config;
+
+// Escolhe o shard (banco) de um quadro. Implementações próprias substituem PropertyBoardShardRouter
+// quando declaradas como bean; o quadro padrão e o catálogo de quadros ficam sempre no shard padrão.
+public interface BoardShardRouter {
+    
+    String DEFAULT_SHARD = "default";
+    
+    String shardFor(long boardId);
+}
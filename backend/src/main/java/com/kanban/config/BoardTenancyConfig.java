@@ -0,0 +1,17 @@
+package com.kanban.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Particionamento por quadro: colunas, tarefas e dados derivados têm board_id (@TenantId) e toda consulta
+// HQL/Criteria dessas entidades recebe "board_id = quadro atual"; SQL nativo e JDBC filtram explicitamente.
+@Configuration
+public class BoardTenancyConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer boardTenantCustomizer() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new BoardTenantResolver());
+    }
+}
@@ -0,0 +1,18 @@
+package com.kanban.config;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+// Tenant das sessões do Hibernate: o quadro da thread que abre a sessão
+public class BoardTenantResolver implements CurrentTenantIdentifierResolver<Long> {
+    
+    @Override
+    public Long resolveCurrentTenantIdentifier() {
+        return BoardContext.current();
+    }
+    
+    // Sessões abertas pelo Spring não são reaproveitadas entre quadros (uma por requisição ou transação)
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package com.kanban.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caches configurados em application.properties (spring.cache.*); trocar spring.cache.type troca a implementação
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String COLUMNS = "columns";
+    public static final String COLUMN_BY_COLUMN_ID = "columnByColumnId";
+    public static final String TASKS_BY_COLUMN = "tasksByColumn";
+    public static final String TASKS_BY_STATUS = "tasksByStatus";
+    public static final String TASK_COUNT_BY_COLUMN = "taskCountByColumn";
+    public static final String TASK_COUNT_BY_STATUS = "taskCountByStatus";
+    public static final String BOARDS = "boards";
+    
+    // Chave única da lista completa de colunas
+    public static final String ALL_COLUMNS_KEY = "all";
+    
+    // Chave nos caches de colunas e tarefas: o mesmo columnId ou status existe em todos os quadros.
+    // Usada nas anotações como key = "T(com.kanban.config.CacheConfig).boardKey(#param)"
+    public static String boardKey(Object key) {
+        return BoardContext.current() + ":" + key;
+    }
+}
@@ -0,0 +1,27 @@
+package com.kanban.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Respostas em CBOR (binário, mesmo modelo do JSON) para clientes que enviam Accept: application/cbor.
+// O conversor entra no fim da lista: sem Accept explícito (ou com */*) a resposta continua em JSON.
+@Configuration
+public class EncodingConfig implements WebMvcConfigurer {
+    
+    // Builder com spring.jackson.* e os módulos registrados; cada injeção recebe uma instância nova
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.kanban.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+// Registra match_against(título, descrição, termos) para consultas Criteria/HQL usarem o índice FULLTEXT do MySQL.
+// Carregado pelo Hibernate via META-INF/services; em outros bancos a função não existe e a busca usa LIKE.
+public class FullTextFunctionContributor implements FunctionContributor {
+    
+    public static final String MATCH_AGAINST = "match_against";
+    
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (functionContributions.getDialect() instanceof MySQLDialect) {
+            functionContributions.getFunctionRegistry().registerPattern(
+                    MATCH_AGAINST,
+                    "match(?1, ?2) against (?3 in boolean mode)",
+                    functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+        }
+    }
+}
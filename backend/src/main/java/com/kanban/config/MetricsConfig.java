@@ -0,0 +1,35 @@
+package com.kanban.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+// Métricas além das automáticas do Actuator (http.server.requests, spring.data.repository.invocations,
+// hikaricp.*, cache.*): tempo dos serviços, comandos SQL por requisição e tempo de serialização JSON.
+// Publicadas em /actuator/prometheus; histogramas configurados em management.metrics.distribution.*
+@Configuration
+public class MetricsConfig {
+    
+    // Habilita @Timed nas classes de serviço (kanban.service, com tags class e method)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+    
+    // Substitui o conversor JSON padrão do Spring Boot, mantendo o ObjectMapper configurado por spring.jackson.*
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJacksonConverter(objectMapper, meterRegistry);
+    }
+}
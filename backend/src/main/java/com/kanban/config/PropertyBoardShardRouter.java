@@ -0,0 +1,19 @@
+package com.kanban.config;
+
+// Mapeamento fixo da configuração (kanban.sharding.boards.<id>=<shard>); quadros não listados ficam no shard padrão
+public class PropertyBoardShardRouter implements BoardShardRouter {
+    
+    private final ShardingProperties properties;
+    
+    public PropertyBoardShardRouter(ShardingProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public String shardFor(long boardId) {
+        if (boardId == BoardContext.DEFAULT_BOARD_ID) {
+            return DEFAULT_SHARD;
+        }
+        return properties.getBoards().getOrDefault(boardId, DEFAULT_SHARD);
+    }
+}
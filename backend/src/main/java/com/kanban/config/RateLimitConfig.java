@@ -0,0 +1,41 @@
+package com.kanban.config;
+
+import com.kanban.filter.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Limite de escritas por cliente e endpoint (kanban.rate-limit.*); leituras não passam pelo limite
+@Configuration
+@ConditionalOnProperty(name = "kanban.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig implements WebMvcConfigurer {
+    
+    @Value("${kanban.rate-limit.capacity:30}")
+    private int capacity;
+    
+    @Value("${kanban.rate-limit.refill-per-second:10}")
+    private double refillPerSecond;
+    
+    @Value("${kanban.rate-limit.client-header:}")
+    private String clientHeader;
+    
+    @Value("${kanban.rate-limit.trusted-proxies:1}")
+    private int trustedProxies;
+    
+    @Value("${kanban.rate-limit.max-clients:100000}")
+    private int maxClients;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(capacity, refillPerSecond, clientHeader, trustedProxies,
+                        maxClients, meterRegistry))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,92 @@
+package com.kanban.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Quadros distribuídos em bancos separados (kanban.sharding.enabled=true). O DataSource da aplicação passa a
+// escolher o banco pelo quadro da thread (BoardContext), então JPA, JdbcTemplate e transações seguem o quadro
+// sem mudança nos serviços. Todos os shards usam o mesmo tipo de banco e recebem as mesmas migrações.
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "kanban.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+    
+    @Autowired
+    private ShardingProperties properties;
+    
+    @Bean
+    @ConditionalOnMissingBean(BoardShardRouter.class)
+    public BoardShardRouter boardShardRouter() {
+        return new PropertyBoardShardRouter(properties);
+    }
+    
+    // Shard padrão: spring.datasource.* e spring.datasource.hikari.*, como sem sharding
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource defaultShardDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource defaultShardDataSource, BoardShardRouter router) {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(BoardShardRouter.DEFAULT_SHARD, defaultShardDataSource);
+        properties.getShards().forEach((name, shard) -> targets.put(name, createShard(name, shard)));
+        
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return router.shardFor(BoardContext.current());
+            }
+        };
+        routing.setTargetDataSources(targets);
+        // Shard desconhecido é erro de configuração, não deve cair silenciosamente no padrão
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+    
+    // Aplica as migrações em todos os shards, não só no padrão
+    @Bean
+    public FlywayMigrationStrategy shardedMigrationStrategy(DataSource dataSource) {
+        return flyway -> {
+            flyway.migrate();
+            for (Map.Entry<Object, DataSource> shard
+                    : ((AbstractRoutingDataSource) dataSource).getResolvedDataSources().entrySet()) {
+                if (!BoardShardRouter.DEFAULT_SHARD.equals(shard.getKey())) {
+                    Flyway.configure().configuration(flyway.getConfiguration())
+                            .dataSource(shard.getValue()).load().migrate();
+                }
+            }
+        };
+    }
+    
+    private DataSource createShard(String name, ShardingProperties.Shard shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + name);
+        dataSource.setJdbcUrl(shard.getUrl());
+        dataSource.setUsername(shard.getUsername());
+        dataSource.setPassword(shard.getPassword());
+        if (shard.getDriverClassName() != null) {
+            dataSource.setDriverClassName(shard.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        return dataSource;
+    }
+}
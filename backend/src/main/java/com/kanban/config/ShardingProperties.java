@@ -0,0 +1,89 @@
+package com.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// kanban.sharding.*: bancos adicionais (o shard padrão é spring.datasource) e o shard de cada quadro
+@ConfigurationProperties(prefix = "kanban.sharding")
+public class ShardingProperties {
+    
+    private boolean enabled;
+    
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+    
+    private Map<Long, String> boards = new LinkedHashMap<>();
+    
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+        
+        public String getUrl() {
+            return url;
+        }
+        
+        public void setUrl(String url) {
+            this.url = url;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        
+        public String getPassword() {
+            return password;
+        }
+        
+        public void setPassword(String password) {
+            this.password = password;
+        }
+        
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+        
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+        
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+        
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Map<String, Shard> getShards() {
+        return shards;
+    }
+    
+    public void setShards(Map<String, Shard> shards) {
+        this.shards = shards;
+    }
+    
+    public Map<Long, String> getBoards() {
+        return boards;
+    }
+    
+    public void setBoards(Map<Long, String> boards) {
+        this.boards = boards;
+    }
+}
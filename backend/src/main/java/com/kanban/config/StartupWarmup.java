@@ -0,0 +1,112 @@
+package com.kanban.config;
+
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+import com.kanban.service.ColumnService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Aquecimento antes de receber tráfego: repete as leituras principais da API pelo próprio servidor (JSON e
+// CBOR, com gzip), passando por filtros, controllers, caches, serialização e pool de conexões.
+// Roda por último no ApplicationReadyEvent; o Spring só marca a prontidão (/actuator/health/readiness) como
+// ACCEPTING_TRAFFIC depois que os ouvintes desse evento terminam, então o balanceador espera o aquecimento.
+@Component
+@ConditionalOnProperty(name = "kanban.warmup.enabled", havingValue = "true")
+public class StartupWarmup {
+    
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+    
+    private static final String[] ACCEPT = {"application/json", "application/cbor"};
+    
+    @Autowired
+    private ColumnService columnService;
+    
+    @Value("${kanban.warmup.iterations:200}")
+    private int iterations;
+    
+    @Value("${kanban.warmup.max-duration-ms:20000}")
+    private long maxDurationMs;
+    
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext)) {
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(maxDurationMs).toNanos();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<URI> uris = uris("http://localhost:" + port);
+        int requests = 0;
+        int failures = 0;
+        int iteration = 0;
+        while (iteration < iterations && System.nanoTime() < deadline) {
+            for (URI uri : uris) {
+                for (String accept : ACCEPT) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Accept", accept)
+                            .header("Accept-Encoding", "gzip")
+                            .timeout(Duration.ofSeconds(10))
+                            .GET()
+                            .build();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            failures++;
+                        }
+                    } catch (IOException e) {
+                        failures++;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    requests++;
+                }
+            }
+            iteration++;
+        }
+        log.info("Aquecimento concluído: {} iterações, {} requisições ({} com erro) em {} ms",
+                iteration, requests, failures, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+    
+    // Leituras do quadro padrão que o frontend faz ao abrir e ao atualizar o quadro
+    private List<URI> uris(String base) {
+        List<String> paths = new ArrayList<>(List.of("/api/columns", "/api/tasks", "/api/tasks/cards",
+                "/api/board", "/api/board/cards"));
+        for (Task.Status status : Task.Status.values()) {
+            paths.add("/api/tasks/status/" + status.name());
+            paths.add("/api/tasks/count/" + status.name());
+        }
+        for (BoardColumn column : columnService.getAllColumns()) {
+            String columnId = URLEncoder.encode(column.getColumnId(), StandardCharsets.UTF_8);
+            paths.add("/api/tasks/column/" + columnId);
+            paths.add("/api/tasks/count/column/" + columnId);
+        }
+        List<URI> uris = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            uris.add(URI.create(base + path));
+        }
+        return uris;
+    }
+}
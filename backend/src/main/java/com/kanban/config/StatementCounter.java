@@ -0,0 +1,33 @@
+package com.kanban.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta os comandos SQL preparados pelo Hibernate na thread atual enquanto uma contagem está aberta
+// (StatementCountFilter abre uma por requisição). Comandos do JdbcTemplate não passam por aqui.
+public class StatementCounter implements StatementInspector {
+    
+    // StatementInspector é Serializable; a contagem fica no ThreadLocal, não na instância
+    private static final long serialVersionUID = 1L;
+    
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+    
+    // Encerra a contagem da thread e devolve o total
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
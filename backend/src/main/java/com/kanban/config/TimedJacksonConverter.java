@@ -0,0 +1,45 @@
+package com.kanban.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+// Conversor JSON padrão que mede a serialização de cada resposta (kanban.json.serialization, por tipo).
+// O tempo inclui a escrita no corpo da resposta, que o Jackson faz em fluxo enquanto serializa.
+public class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+    
+    private final MeterRegistry meterRegistry;
+    
+    public TimedJacksonConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(meterRegistry.timer("kanban.json.serialization", "type", typeName(object, type)));
+        }
+    }
+    
+    // Nome curto do tipo serializado, com o elemento para coleções (ex.: List<Task>)
+    private static String typeName(Object object, Type type) {
+        ResolvableType resolvable = type != null ? ResolvableType.forType(type) : ResolvableType.forInstance(object);
+        Class<?> raw = resolvable.resolve(object.getClass());
+        if (Collection.class.isAssignableFrom(raw)) {
+            Class<?> element = resolvable.asCollection().resolveGeneric(0);
+            return raw.getSimpleName() + "<" + (element != null ? element.getSimpleName() : "?") + ">";
+        }
+        return raw.getSimpleName();
+    }
+}
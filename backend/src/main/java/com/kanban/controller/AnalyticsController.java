@@ -0,0 +1,89 @@
+package com.kanban.controller;
+
+import com.kanban.dto.AssigneeWip;
+import com.kanban.dto.CycleTimeStat;
+import com.kanban.dto.ThroughputDay;
+import com.kanban.model.TaskFlowDaily;
+import com.kanban.model.TaskTransition;
+import com.kanban.model.TaskWip;
+import com.kanban.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Métricas do quadro lidas dos agregados mantidos pelo AnalyticsService; sem período, os últimos 30 dias
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:4200")
+public class AnalyticsController {
+    
+    private static final int DEFAULT_PERIOD_DAYS = 30;
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    // Tarefas atuais por coluna, status, responsável e prioridade
+    @GetMapping("/wip")
+    public ResponseEntity<List<TaskWip>> getWip() {
+        return ResponseEntity.ok(analyticsService.getWip());
+    }
+    
+    @GetMapping("/wip/assignees")
+    public ResponseEntity<List<AssigneeWip>> getWipByAssignee() {
+        return ResponseEntity.ok(analyticsService.getWipByAssignee());
+    }
+    
+    // Entradas, saídas e conclusões por dia, coluna, responsável e prioridade
+    @GetMapping("/flow")
+    public ResponseEntity<List<TaskFlowDaily>> getDailyFlow(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String columnId,
+            @RequestParam(required = false) String assignee) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS - 1);
+        try {
+            return ResponseEntity.ok(analyticsService.getDailyFlow(start, end, columnId, assignee));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Concluídas por dia e tempo médio de ciclo
+    @GetMapping("/throughput")
+    public ResponseEntity<List<ThroughputDay>> getThroughput(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS - 1);
+        try {
+            return ResponseEntity.ok(analyticsService.getThroughput(start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Tempo médio de ciclo por responsável e prioridade
+    @GetMapping("/cycle-time")
+    public ResponseEntity<List<CycleTimeStat>> getCycleTime(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS - 1);
+        try {
+            return ResponseEntity.ok(analyticsService.getCycleTime(start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Histórico de transições de uma tarefa
+    @GetMapping("/tasks/{taskId}/transitions")
+    public ResponseEntity<List<TaskTransition>> getTaskHistory(@PathVariable Long taskId) {
+        return ResponseEntity.ok(analyticsService.getTaskHistory(taskId));
+    }
+}
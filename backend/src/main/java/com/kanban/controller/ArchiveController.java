@@ -0,0 +1,48 @@
+package com.kanban.controller;
+
+import com.kanban.dto.ArchivedTaskPage;
+import com.kanban.model.ArchivedTask;
+import com.kanban.model.Task;
+import com.kanban.service.ArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/archive")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ArchiveController {
+    
+    @Autowired
+    private ArchiveService archiveService;
+    
+    @GetMapping("/tasks")
+    public ResponseEntity<ArchivedTaskPage> getArchivedTasks(@RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(archiveService.getArchivedTasks(page, size));
+    }
+    
+    @GetMapping("/tasks/{id}")
+    public ResponseEntity<ArchivedTask> getArchivedTask(@PathVariable Long id) {
+        Optional<ArchivedTask> task = archiveService.getArchivedTask(id);
+        return task.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/tasks/{id}/restore")
+    public ResponseEntity<Task> restoreTask(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(archiveService.restoreTask(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Executa o arquivamento agora, sem esperar o agendamento (kanban.archive.cron)
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Integer>> archiveNow() {
+        return ResponseEntity.ok(Map.of("archived", archiveService.archiveCompletedTasks()));
+    }
+}
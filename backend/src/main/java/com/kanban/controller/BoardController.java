@@ -0,0 +1,139 @@
+package com.kanban.controller;
+
+import com.kanban.config.BoardContext;
+import com.kanban.dto.BoardSnapshot;
+import com.kanban.dto.ImportResult;
+import com.kanban.dto.TaskCard;
+import com.kanban.model.Task;
+import com.kanban.service.BoardEventService;
+import com.kanban.service.BoardService;
+import com.kanban.service.BoardTransferService;
+import com.kanban.service.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/board")
+@CrossOrigin(origins = "http://localhost:4200")
+public class BoardController {
+    
+    @Autowired
+    private BoardService boardService;
+    
+    @Autowired
+    private BoardEventService boardEventService;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private BoardTransferService boardTransferService;
+    
+    @GetMapping
+    public ResponseEntity<BoardSnapshot<Task>> getBoard(WebRequest request) {
+        return conditional(request, "tasks", boardService::getBoardSnapshot);
+    }
+    
+    // Mesmo quadro com os cartões (TaskCard), sem descrição nem datas de auditoria
+    @GetMapping("/cards")
+    public ResponseEntity<BoardSnapshot<TaskCard>> getBoardCards(WebRequest request) {
+        return conditional(request, "cards", boardService::getBoardCards);
+    }
+    
+    // Quando muitos clientes abrem o quadro ao mesmo tempo, a versão e o quadro são lidos uma vez só para
+    // as requisições simultâneas (SingleFlight); as que esperam não seguram conexão, pois a transação
+    // fica dentro do serviço
+    private <T> ResponseEntity<BoardSnapshot<T>> conditional(WebRequest request, String view,
+                                                             Supplier<BoardSnapshot<T>> loader) {
+        // Responder 304 antes de carregar colunas e tarefas quando o cliente já tem esta versão
+        String etag = boardEtag(singleFlight.execute("board", "version", boardService::getBoardVersion));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        
+        BoardSnapshot<T> snapshot = singleFlight.execute("board", view, loader);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(boardEtag(snapshot.getVersion()))
+                .body(snapshot);
+    }
+    
+    // ETag fraco: o mesmo conteúdo pode sair em JSON ou CBOR, com ou sem gzip (o Tomcat não comprime respostas com ETag forte)
+    private static String boardEtag(String version) {
+        return "W/\"" + version + "\"";
+    }
+    
+    // Alterações em tempo real; o EventSource reenvia Last-Event-ID ao reconectar e recebe só o que perdeu.
+    // since é o eventId de um snapshot do quadro.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                   @RequestParam(required = false) String since) {
+        return boardEventService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+    
+    // Colunas e tarefas do quadro em NDJSON ou CSV, escritas à medida que são lidas do banco;
+    // gzip=true devolve o arquivo já compactado (.gz), para guardar ou importar depois
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBoard(@RequestParam(defaultValue = "ndjson") String format,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        BoardTransferService.Format transferFormat;
+        try {
+            transferFormat = BoardTransferService.Format.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // O corpo é escrito em outra thread, que precisa do quadro da requisição
+        long boardId = BoardContext.current();
+        StreamingResponseBody body = outputStream -> {
+            BoardContext.set(boardId);
+            try {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(outputStream, 65536);
+                    boardTransferService.export(transferFormat, compressed);
+                    compressed.finish();
+                } else {
+                    boardTransferService.export(transferFormat, outputStream);
+                }
+            } finally {
+                BoardContext.clear();
+            }
+        };
+        String filename = "quadro-" + boardId + "." + transferFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : transferFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+    
+    // Importa um arquivo no formato da exportação (gzip ou não), lido aos poucos e gravado em lotes.
+    // O formato vem de format ou do Content-Type (application/x-ndjson ou text/csv)
+    @PostMapping("/import")
+    public ResponseEntity<ImportResult> importBoard(@RequestParam(required = false) String format,
+                                                    @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                    InputStream body) throws IOException {
+        try {
+            BoardTransferService.Format transferFormat = format != null
+                    ? BoardTransferService.Format.of(format) : BoardTransferService.Format.fromContentType(contentType);
+            if (transferFormat == null) {
+                throw new IllegalArgumentException("Formato não informado: use format=ndjson|csv ou o Content-Type");
+            }
+            return ResponseEntity.ok(boardTransferService.importBoard(transferFormat, body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
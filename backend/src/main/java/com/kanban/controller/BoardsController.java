@@ -0,0 +1,41 @@
+package com.kanban.controller;
+
+import com.kanban.model.Board;
+import com.kanban.service.BoardRegistry;
+import com.kanban.service.BoardService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Catálogo de quadros. As demais rotas da API trabalham no quadro informado em X-Board-Id (ou ?board=)
+@RestController
+@RequestMapping("/api/boards")
+@CrossOrigin(origins = "http://localhost:4200")
+public class BoardsController {
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Autowired
+    private BoardService boardService;
+    
+    @GetMapping
+    public List<Board> getAllBoards() {
+        return boardRegistry.getAllBoards();
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<Board> getBoard(@PathVariable Long id) {
+        return boardRegistry.getBoard(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Cria o quadro com as colunas padrão
+    @PostMapping
+    public ResponseEntity<Board> createBoard(@Valid @RequestBody Board board) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(boardService.createBoard(board));
+    }
+}
@@ -0,0 +1,39 @@
+package com.kanban.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:4200")
+public class CacheController {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats cacheStats = nativeCache.stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("size", nativeCache.estimatedSize());
+                entry.put("hitCount", cacheStats.hitCount());
+                entry.put("missCount", cacheStats.missCount());
+                entry.put("hitRate", cacheStats.hitRate());
+                entry.put("evictionCount", cacheStats.evictionCount());
+                stats.put(name, entry);
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
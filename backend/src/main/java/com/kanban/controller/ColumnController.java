@@ -1,8 +1,12 @@
 package com.kanban.controller;
 
+import com.kanban.dto.ColumnDeletionResult;
 import com.kanban.model.BoardColumn;
 import com.kanban.service.ColumnService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,7 +16,7 @@ import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/columns")
-@CrossOrigin(origins = "http://localhost:4200")
+@CrossOrigin(origins = "http://localhost:4200", exposedHeaders = HttpHeaders.ETAG)
 public class ColumnController {
     
     @Autowired
@@ -26,7 +30,7 @@ public class ColumnController {
     @GetMapping("/{id}")
     public ResponseEntity<BoardColumn> getColumnById(@PathVariable Long id) {
         Optional<BoardColumn> column = columnService.getColumnById(id);
-        return column.map(ResponseEntity::ok)
+        return column.map(found -> ResponseEntity.ok().eTag(VersionTags.etag(found.getVersion())).body(found))
                     .orElse(ResponseEntity.notFound().build());
     }
     
@@ -41,20 +45,27 @@ public class ColumnController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<BoardColumn> updateColumn(@PathVariable Long id, @RequestBody BoardColumn columnDetails) {
+    public ResponseEntity<BoardColumn> updateColumn(@PathVariable Long id, @RequestBody BoardColumn columnDetails,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            BoardColumn updatedColumn = columnService.updateColumn(id, columnDetails);
-            return ResponseEntity.ok(updatedColumn);
+            BoardColumn updatedColumn = columnService.updateColumn(id, columnDetails, VersionTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTags.etag(updatedColumn.getVersion())).body(updatedColumn);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(VersionTags.conflictStatus(ifMatch)).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteColumn(@PathVariable Long id) {
+    public ResponseEntity<ColumnDeletionResult> deleteColumn(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "MOVE") ColumnService.TaskHandling tasks,
+                                                             @RequestParam(required = false) String moveTasksTo) {
         try {
-            columnService.deleteColumn(id);
-            return ResponseEntity.ok().build();
+            ColumnDeletionResult result = columnService.deleteColumn(id, tasks, moveTasksTo);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -63,11 +74,16 @@ public class ColumnController {
     @PutMapping("/reorder")
     public ResponseEntity<Void> reorderColumns(@RequestBody Map<String, List<String>> request) {
         List<String> orderedColumnIds = request.get("columnIds");
-        if (orderedColumnIds != null) {
+        if (orderedColumnIds == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
             columnService.reorderColumns(orderedColumnIds);
             return ResponseEntity.ok().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Outra reordenação alterou as mesmas colunas; o cliente recarrega o quadro e tenta de novo
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        return ResponseEntity.badRequest().build();
     }
     
     @PostMapping("/initialize")
@@ -1,30 +1,138 @@
 package com.kanban.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.config.BoardContext;
+import com.kanban.dto.BoardChanges;
+import com.kanban.dto.TaskBatchOperation;
+import com.kanban.dto.TaskBatchResult;
+import com.kanban.dto.TaskCard;
+import com.kanban.dto.TaskPage;
+import com.kanban.dto.TaskPatch;
+import com.kanban.dto.TaskSearchCriteria;
+import com.kanban.dto.TaskSearchResult;
 import com.kanban.model.Task;
+import com.kanban.service.SyncService;
 import com.kanban.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
-@CrossOrigin(origins = "http://localhost:4200")
+@CrossOrigin(origins = "http://localhost:4200", exposedHeaders = HttpHeaders.ETAG)
 public class TaskController {
     
+    private static final int STREAM_FLUSH_INTERVAL = 200;
+    private static final int MAX_BATCH_OPERATIONS = 10000;
+    
     @Autowired
     private TaskService taskService;
     
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
     public ResponseEntity<List<Task>> getAllTasks() {
         List<Task> tasks = taskService.getAllTasks();
         return ResponseEntity.ok(tasks);
     }
     
+    // Resumo das tarefas para os cartões do quadro, sem descrição
+    @GetMapping("/cards")
+    public ResponseEntity<List<TaskCard>> getAllTaskCards() {
+        return ResponseEntity.ok(taskService.getAllTaskCards());
+    }
+    
+    // Tarefas e colunas alteradas ou excluídas depois de "since" (revisão devolvida pela chamada anterior; 0 = tudo)
+    @GetMapping("/changes")
+    public ResponseEntity<BoardChanges> getChangesSince(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(syncService.getChangesSince(since));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<TaskPage> getTasksPage(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(taskService.getTasksPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Prazos: de from a to (padrão: hoje e os 6 dias seguintes) ou vencidas (overdue=true), em ordem de prazo;
+    // sem status, só as não concluídas
+    @GetMapping("/due")
+    public ResponseEntity<TaskPage> getDueTasks(@RequestParam(required = false) LocalDate from,
+                                                @RequestParam(required = false) LocalDate to,
+                                                @RequestParam(defaultValue = "false") boolean overdue,
+                                                @RequestParam(required = false) Set<Task.Status> status,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(taskService.getDueTasks(from, to, overdue, status, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Filtros combinados (texto, status, prioridade, responsável, coluna, prazo), paginados e ordenáveis
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResult> searchTasks(@ModelAttribute TaskSearchCriteria criteria,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "50") int size,
+                                                        @RequestParam(required = false) String sort) {
+        try {
+            return ResponseEntity.ok(taskService.searchTasks(criteria, page, size, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Mesmo conteúdo de GET /api/tasks, escrito em chunks à medida que as linhas são lidas do banco
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        // O corpo é escrito em outra thread, que precisa do quadro da requisição
+        long boardId = BoardContext.current();
+        StreamingResponseBody body = outputStream -> {
+            BoardContext.set(boardId);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                int[] written = {0};
+                taskService.forEachTask(task -> {
+                    try {
+                        generator.writeObject(task);
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } finally {
+                BoardContext.clear();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Task>> getTasksByStatus(@PathVariable Task.Status status) {
         List<Task> tasks = taskService.getTasksByStatus(status);
@@ -34,7 +142,7 @@ public class TaskController {
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         Optional<Task> task = taskService.getTaskById(id);
-        return task.map(ResponseEntity::ok)
+        return task.map(found -> ResponseEntity.ok().eTag(VersionTags.etag(found.getVersion())).body(found))
                   .orElse(ResponseEntity.notFound().build());
     }
     
@@ -49,10 +157,13 @@ public class TaskController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails) {
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Task updatedTask = taskService.updateTask(id, taskDetails);
-            return ResponseEntity.ok(updatedTask);
+            Task updatedTask = taskService.updateTask(id, taskDetails, VersionTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTags.etag(updatedTask.getVersion())).body(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(VersionTags.conflictStatus(ifMatch)).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -60,11 +171,32 @@ public class TaskController {
         }
     }
     
+    // Só os campos presentes no corpo são gravados; If-Match opcional com a versão (ETag) lida
+    @PatchMapping("/{id}")
+    public ResponseEntity<Task> patchTask(@PathVariable Long id, @RequestBody TaskPatch patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Task updatedTask = taskService.patchTask(id, patch, VersionTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTags.etag(updatedTask.getVersion())).body(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(VersionTags.conflictStatus(ifMatch)).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id, @RequestBody StatusUpdateRequest request) {
+    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id, @RequestBody StatusUpdateRequest request,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Task updatedTask = taskService.updateTaskStatus(id, request.getStatus());
-            return ResponseEntity.ok(updatedTask);
+            Task updatedTask = taskService.updateTaskStatus(id, request.getStatus(), VersionTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTags.etag(updatedTask.getVersion())).body(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(VersionTags.conflictStatus(ifMatch)).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -73,10 +205,13 @@ public class TaskController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            taskService.deleteTask(id);
+            taskService.deleteTask(id, VersionTags.expectedVersion(ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(VersionTags.conflictStatus(ifMatch)).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -106,11 +241,32 @@ public class TaskController {
         return ResponseEntity.ok(count);
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> applyBatch(@RequestBody List<TaskBatchOperation> operations) {
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_BATCH_OPERATIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(taskService.applyBatch(operations));
+        } catch (OptimisticLockingFailureException e) {
+            // Uma tarefa do lote mudou entre a leitura e o commit; nada foi aplicado
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    // after/before: ids dos cartões vizinhos na coluna de destino; sem eles, vai para o fim (ou fica no lugar)
     @PatchMapping("/{id}/move-to-column/{columnId}")
-    public ResponseEntity<Task> moveTaskToColumn(@PathVariable Long id, @PathVariable String columnId) {
+    public ResponseEntity<Task> moveTaskToColumn(@PathVariable Long id, @PathVariable String columnId,
+                                                 @RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Long before,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Task updatedTask = taskService.moveTaskToColumn(id, columnId);
-            return ResponseEntity.ok(updatedTask);
+            Task updatedTask = taskService.moveTaskToColumn(id, columnId, after, before, VersionTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTags.etag(updatedTask.getVersion())).body(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(VersionTags.conflictStatus(ifMatch)).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
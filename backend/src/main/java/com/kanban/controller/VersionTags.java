@@ -0,0 +1,34 @@
+package com.kanban.controller;
+
+import org.springframework.http.HttpStatus;
+
+// ETag e If-Match a partir da versão (@Version) das entidades
+final class VersionTags {
+    
+    private VersionTags() {}
+    
+    static String etag(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+    
+    // Versão exigida pelo If-Match, ou null se ausente ou "*". Uma tag que não é versão nunca confere (412).
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+    
+    // 412 quando o cliente enviou If-Match; 409 quando a alteração concorrente foi detectada só no commit
+    static HttpStatus conflictStatus(String ifMatch) {
+        return ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,46 @@
+package com.kanban.dto;
+
+import com.kanban.model.ArchivedTask;
+
+import java.util.List;
+
+public class ArchivedTaskPage {
+    
+    private final List<ArchivedTask> tasks;
+    
+    private final int page;
+    
+    private final int size;
+    
+    private final long totalElements;
+    
+    private final int totalPages;
+    
+    public ArchivedTaskPage(List<ArchivedTask> tasks, int page, int size, long totalElements, int totalPages) {
+        this.tasks = tasks;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+    
+    public List<ArchivedTask> getTasks() {
+        return tasks;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public long getTotalElements() {
+        return totalElements;
+    }
+    
+    public int getTotalPages() {
+        return totalPages;
+    }
+}
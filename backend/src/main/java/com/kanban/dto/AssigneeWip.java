@@ -0,0 +1,22 @@
+package com.kanban.dto;
+
+// Tarefas não concluídas de um responsável (null para tarefas sem responsável)
+public class AssigneeWip {
+    
+    private final String assignee;
+    
+    private final long openTasks;
+    
+    public AssigneeWip(String assignee, long openTasks) {
+        this.assignee = assignee;
+        this.openTasks = openTasks;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public long getOpenTasks() {
+        return openTasks;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kanban.dto;
+
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+
+import java.util.List;
+
+public class BoardChanges {
+    
+    // Valor a enviar como "since" na próxima sincronização
+    private final long revision;
+    
+    // true quando "since" é anterior às exclusões já removidas pela retenção ou maior que a revisão atual:
+    // o cliente deve recarregar o quadro
+    private final boolean fullResync;
+    
+    private final List<Task> tasks;
+    private final List<BoardColumn> columns;
+    private final List<Long> deletedTaskIds;
+    private final List<String> deletedColumnIds;
+    
+    public BoardChanges(long revision, boolean fullResync, List<Task> tasks, List<BoardColumn> columns,
+                        List<Long> deletedTaskIds, List<String> deletedColumnIds) {
+        this.revision = revision;
+        this.fullResync = fullResync;
+        this.tasks = tasks;
+        this.columns = columns;
+        this.deletedTaskIds = deletedTaskIds;
+        this.deletedColumnIds = deletedColumnIds;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public boolean isFullResync() {
+        return fullResync;
+    }
+    
+    public List<Task> getTasks() {
+        return tasks;
+    }
+    
+    public List<BoardColumn> getColumns() {
+        return columns;
+    }
+    
+    public List<Long> getDeletedTaskIds() {
+        return deletedTaskIds;
+    }
+    
+    public List<String> getDeletedColumnIds() {
+        return deletedColumnIds;
+    }
+}
@@ -0,0 +1,102 @@
+package com.kanban.dto;
+
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Quadro completo; T é a representação das tarefas (Task ou TaskCard)
+public class BoardSnapshot<T> {
+    
+    private final String version;
+    
+    // Revisão do feed de alterações no momento da leitura, comparável à "revision" dos eventos
+    private final long revision;
+    // Id do evento nessa revisão; use como "since" em /api/board/events
+    private final String eventId;
+    private final List<ColumnSnapshot<T>> columns;
+    
+    // Tarefas cujo columnId não corresponde a nenhuma coluna existente
+    private final List<T> unassignedTasks;
+    
+    private final Map<String, Long> countsByColumn;
+    private final Map<Task.Status, Long> countsByStatus;
+    
+    public BoardSnapshot(String version, long revision, String eventId, List<ColumnSnapshot<T>> columns,
+                         List<T> unassignedTasks, Map<String, Long> countsByColumn, Map<Task.Status, Long> countsByStatus) {
+        this.version = version;
+        this.revision = revision;
+        this.eventId = eventId;
+        this.columns = columns;
+        this.unassignedTasks = unassignedTasks;
+        this.countsByColumn = countsByColumn;
+        this.countsByStatus = countsByStatus;
+    }
+    
+    // Mesmo quadro com as tarefas convertidas (ex.: TaskCard::of)
+    public <R> BoardSnapshot<R> mapTasks(Function<? super T, ? extends R> mapper) {
+        List<ColumnSnapshot<R>> mappedColumns = new ArrayList<>(columns.size());
+        for (ColumnSnapshot<T> column : columns) {
+            mappedColumns.add(new ColumnSnapshot<>(column.getColumn(), mapAll(column.getTasks(), mapper)));
+        }
+        return new BoardSnapshot<>(version, revision, eventId, mappedColumns, mapAll(unassignedTasks, mapper),
+                countsByColumn, countsByStatus);
+    }
+    
+    private static <T, R> List<R> mapAll(List<T> tasks, Function<? super T, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(tasks.size());
+        for (T task : tasks) {
+            mapped.add(mapper.apply(task));
+        }
+        return mapped;
+    }
+    
+    public String getVersion() {
+        return version;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public List<ColumnSnapshot<T>> getColumns() {
+        return columns;
+    }
+    
+    public List<T> getUnassignedTasks() {
+        return unassignedTasks;
+    }
+    
+    public Map<String, Long> getCountsByColumn() {
+        return countsByColumn;
+    }
+    
+    public Map<Task.Status, Long> getCountsByStatus() {
+        return countsByStatus;
+    }
+    
+    public static class ColumnSnapshot<T> {
+        private final BoardColumn column;
+        private final List<T> tasks;
+        
+        public ColumnSnapshot(BoardColumn column, List<T> tasks) {
+            this.column = column;
+            this.tasks = tasks;
+        }
+        
+        public BoardColumn getColumn() {
+            return column;
+        }
+        
+        public List<T> getTasks() {
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kanban.dto;
+
+public class ColumnDeletionResult {
+    
+    private final String columnId;
+    
+    // Coluna que recebeu as tarefas; null quando as tarefas foram excluídas
+    private final String targetColumnId;
+    
+    private final int affectedTasks;
+    
+    public ColumnDeletionResult(String columnId, String targetColumnId, int affectedTasks) {
+        this.columnId = columnId;
+        this.targetColumnId = targetColumnId;
+        this.affectedTasks = affectedTasks;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public String getTargetColumnId() {
+        return targetColumnId;
+    }
+    
+    public int getAffectedTasks() {
+        return affectedTasks;
+    }
+}
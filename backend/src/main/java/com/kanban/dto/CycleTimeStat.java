@@ -0,0 +1,39 @@
+package com.kanban.dto;
+
+import com.kanban.model.Task;
+
+// Tempo médio de ciclo (primeira entrada em DOING até DONE) por responsável e prioridade no período
+public class CycleTimeStat {
+    
+    // null para tarefas sem responsável
+    private final String assignee;
+    
+    private final Task.Priority priority;
+    
+    private final long completed;
+    
+    private final double averageCycleTimeHours;
+    
+    public CycleTimeStat(String assignee, Task.Priority priority, long completed, double averageCycleTimeHours) {
+        this.assignee = assignee;
+        this.priority = priority;
+        this.completed = completed;
+        this.averageCycleTimeHours = averageCycleTimeHours;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public long getCompleted() {
+        return completed;
+    }
+    
+    public double getAverageCycleTimeHours() {
+        return averageCycleTimeHours;
+    }
+}
@@ -0,0 +1,46 @@
+package com.kanban.dto;
+
+import com.kanban.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+// Posição de uma tarefa na ordenação por prazo (dueDate, id), serializada de forma opaca para o cliente
+public class DueCursor {
+    
+    private final LocalDate dueDate;
+    private final Long id;
+    
+    public DueCursor(LocalDate dueDate, Long id) {
+        this.dueDate = dueDate;
+        this.id = id;
+    }
+    
+    public static DueCursor of(Task task) {
+        return new DueCursor(task.getDueDate(), task.getId());
+    }
+    
+    public static DueCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            return new DueCursor(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, e);
+        }
+    }
+    
+    public String encode() {
+        String raw = dueDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,39 @@
+package com.kanban.dto;
+
+// Progresso de uma importação, publicado no feed do quadro a cada lote gravado (TASKS_IMPORTED)
+public class ImportProgress {
+    
+    private final String importId;
+    private final long lines;
+    private final long imported;
+    private final long failed;
+    private final boolean done;
+    
+    public ImportProgress(String importId, long lines, long imported, long failed, boolean done) {
+        this.importId = importId;
+        this.lines = lines;
+        this.imported = imported;
+        this.failed = failed;
+        this.done = done;
+    }
+    
+    public String getImportId() {
+        return importId;
+    }
+    
+    public long getLines() {
+        return lines;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public boolean isDone() {
+        return done;
+    }
+}
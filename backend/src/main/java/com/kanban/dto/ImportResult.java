@@ -0,0 +1,93 @@
+package com.kanban.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Resultado de uma importação: contagens e os primeiros erros, por linha do arquivo
+public class ImportResult {
+    
+    private final String importId;
+    private final int maxErrors;
+    private long lines;
+    private int columnsCreated;
+    private long imported;
+    private long failed;
+    private final List<LineError> errors = new ArrayList<>();
+    
+    public ImportResult(String importId, int maxErrors) {
+        this.importId = importId;
+        this.maxErrors = maxErrors;
+    }
+    
+    // Conta a falha; a mensagem só é guardada até maxErrors
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new LineError(line, message));
+        }
+    }
+    
+    public void addLine() {
+        lines++;
+    }
+    
+    public void addColumnCreated() {
+        columnsCreated++;
+    }
+    
+    public void addImported(int count) {
+        imported += count;
+    }
+    
+    public ImportProgress progress(boolean done) {
+        return new ImportProgress(importId, lines, imported, failed, done);
+    }
+    
+    public String getImportId() {
+        return importId;
+    }
+    
+    // Registros lidos (linhas em branco e o cabeçalho do CSV não contam)
+    public long getLines() {
+        return lines;
+    }
+    
+    public int getColumnsCreated() {
+        return columnsCreated;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public List<LineError> getErrors() {
+        return errors;
+    }
+    
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+    
+    public static class LineError {
+        
+        private final long line;
+        private final String message;
+        
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+        
+        public long getLine() {
+            return line;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+}
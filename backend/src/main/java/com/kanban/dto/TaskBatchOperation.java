@@ -0,0 +1,73 @@
+package com.kanban.dto;
+
+import com.kanban.model.Task;
+
+public class TaskBatchOperation {
+    
+    public enum Type {
+        CREATE, MOVE, STATUS, DELETE
+    }
+    
+    private Type op;
+    
+    // Tarefa alvo de MOVE, STATUS e DELETE
+    private Long id;
+    
+    // Dados da nova tarefa em CREATE
+    private Task task;
+    
+    private String columnId;
+    
+    private Task.Status status;
+    
+    // Versão esperada da tarefa (opcional); se diferente da atual, a operação falha sem afetar as demais
+    private Long version;
+    
+    public Type getOp() {
+        return op;
+    }
+    
+    public void setOp(Type op) {
+        this.op = op;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Task getTask() {
+        return task;
+    }
+    
+    public void setTask(Task task) {
+        this.task = task;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(String columnId) {
+        this.columnId = columnId;
+    }
+    
+    public Task.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Task.Status status) {
+        this.status = status;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
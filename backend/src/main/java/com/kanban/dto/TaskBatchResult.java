@@ -0,0 +1,43 @@
+package com.kanban.dto;
+
+public class TaskBatchResult {
+    
+    private final int index;
+    private final TaskBatchOperation.Type op;
+    private Long id;
+    private String error;
+    
+    public TaskBatchResult(int index, TaskBatchOperation.Type op, Long id) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public TaskBatchOperation.Type getOp() {
+        return op;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,59 @@
+package com.kanban.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.kanban.model.Task;
+
+import java.time.LocalDate;
+
+// Resumo de uma tarefa para os cartões do quadro: sem descrição, datas de auditoria nem versão
+public class TaskCard {
+    
+    private final Long id;
+    private final String title;
+    private final String assignee;
+    private final Task.Priority priority;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private final LocalDate dueDate;
+    
+    private final String columnId;
+    
+    // Usado pelas consultas JPQL (SELECT new ...), que não carregam a descrição
+    public TaskCard(Long id, String title, String assignee, Task.Priority priority, LocalDate dueDate, String columnId) {
+        this.id = id;
+        this.title = title;
+        this.assignee = assignee;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.columnId = columnId;
+    }
+    
+    public static TaskCard of(Task task) {
+        return new TaskCard(task.getId(), task.getTitle(), task.getAssignee(), task.getPriority(),
+                task.getDueDate(), task.getColumnId());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+}
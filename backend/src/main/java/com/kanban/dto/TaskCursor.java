@@ -0,0 +1,63 @@
+package com.kanban.dto;
+
+import com.kanban.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Posição de uma tarefa na ordenação (status, prioridade, createdAt, id), serializada de forma opaca para o cliente
+public class TaskCursor {
+    
+    private final Task.Status status;
+    private final Task.Priority priority;
+    private final LocalDateTime createdAt;
+    private final Long id;
+    
+    public TaskCursor(Task.Status status, Task.Priority priority, LocalDateTime createdAt, Long id) {
+        this.status = status;
+        this.priority = priority;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getStatus(), task.getPriority(), task.getCreatedAt(), task.getId());
+    }
+    
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            return new TaskCursor(
+                Task.Status.valueOf(parts[0]),
+                Task.Priority.valueOf(parts[1]),
+                LocalDateTime.parse(parts[2]),
+                Long.valueOf(parts[3])
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, e);
+        }
+    }
+    
+    public String encode() {
+        String raw = status.name() + "|" + priority.name() + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public Task.Status getStatus() {
+        return status;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
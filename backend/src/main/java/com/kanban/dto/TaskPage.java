@@ -0,0 +1,26 @@
+package com.kanban.dto;
+
+import com.kanban.model.Task;
+
+import java.util.List;
+
+public class TaskPage {
+    
+    private final List<Task> tasks;
+    
+    // null quando não há mais páginas
+    private final String nextCursor;
+    
+    public TaskPage(List<Task> tasks, String nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<Task> getTasks() {
+        return tasks;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,140 @@
+package com.kanban.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kanban.model.Task;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Corpo do PATCH /api/tasks/{id}: só os campos presentes no JSON são alterados.
+// O Jackson só chama o setter dos campos enviados, então null explícito (ex.: limpar dueDate) é diferente de ausente.
+public class TaskPatch {
+    
+    public enum Field {
+        TITLE, DESCRIPTION, ASSIGNEE, PRIORITY, STATUS, DUE_DATE, COLUMN_ID, CARD_RANK
+    }
+    
+    private final Set<Field> fields = EnumSet.noneOf(Field.class);
+    
+    private String title;
+    
+    private String description;
+    
+    private String assignee;
+    
+    private Task.Priority priority;
+    
+    private Task.Status status;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dueDate;
+    
+    private String columnId;
+    
+    // Definida só pelo servidor (CardRankService), nunca lida do JSON
+    private String cardRank;
+    
+    public static TaskPatch status(Task.Status status) {
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus(status);
+        return patch;
+    }
+    
+    public static TaskPatch column(String columnId) {
+        TaskPatch patch = new TaskPatch();
+        patch.setColumnId(columnId);
+        return patch;
+    }
+    
+    // Movimentação para a coluna em uma posição já calculada
+    public static TaskPatch move(String columnId, String cardRank) {
+        TaskPatch patch = column(columnId);
+        patch.setCardRank(cardRank);
+        return patch;
+    }
+    
+    public boolean has(Field field) {
+        return fields.contains(field);
+    }
+    
+    @JsonIgnore
+    public Set<Field> getFields() {
+        return fields;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+        fields.add(Field.TITLE);
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+        fields.add(Field.DESCRIPTION);
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+        fields.add(Field.ASSIGNEE);
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+        fields.add(Field.PRIORITY);
+    }
+    
+    public Task.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Task.Status status) {
+        this.status = status;
+        fields.add(Field.STATUS);
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+        fields.add(Field.DUE_DATE);
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(String columnId) {
+        this.columnId = columnId;
+        fields.add(Field.COLUMN_ID);
+    }
+    
+    @JsonIgnore
+    public String getCardRank() {
+        return cardRank;
+    }
+    
+    @JsonIgnore
+    public void setCardRank(String cardRank) {
+        this.cardRank = cardRank;
+        fields.add(Field.CARD_RANK);
+    }
+}
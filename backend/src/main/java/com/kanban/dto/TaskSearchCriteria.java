@@ -0,0 +1,84 @@
+package com.kanban.dto;
+
+import com.kanban.model.Task;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Filtros de GET /api/tasks/search; listas aceitam valores repetidos ou separados por vírgula (status=TODO,DOING)
+public class TaskSearchCriteria {
+    
+    // Texto buscado em título e descrição
+    private String q;
+    
+    private List<Task.Status> status;
+    
+    private List<Task.Priority> priority;
+    
+    private String assignee;
+    
+    private List<String> columnId;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+    
+    public String getQ() {
+        return q;
+    }
+    
+    public void setQ(String q) {
+        this.q = q;
+    }
+    
+    public List<Task.Status> getStatus() {
+        return status;
+    }
+    
+    public void setStatus(List<Task.Status> status) {
+        this.status = status;
+    }
+    
+    public List<Task.Priority> getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(List<Task.Priority> priority) {
+        this.priority = priority;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+    
+    public List<String> getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(List<String> columnId) {
+        this.columnId = columnId;
+    }
+    
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+    
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+    
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+    
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+}
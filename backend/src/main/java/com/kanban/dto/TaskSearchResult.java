@@ -0,0 +1,46 @@
+package com.kanban.dto;
+
+import com.kanban.model.Task;
+
+import java.util.List;
+
+public class TaskSearchResult {
+    
+    private final List<Task> tasks;
+    
+    private final int page;
+    
+    private final int size;
+    
+    private final long totalElements;
+    
+    private final int totalPages;
+    
+    public TaskSearchResult(List<Task> tasks, int page, int size, long totalElements, int totalPages) {
+        this.tasks = tasks;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+    
+    public List<Task> getTasks() {
+        return tasks;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public long getTotalElements() {
+        return totalElements;
+    }
+    
+    public int getTotalPages() {
+        return totalPages;
+    }
+}
@@ -0,0 +1,31 @@
+package com.kanban.dto;
+
+import java.time.LocalDate;
+
+// Tarefas concluídas em um dia e o tempo médio de ciclo delas
+public class ThroughputDay {
+    
+    private final LocalDate date;
+    
+    private final long completed;
+    
+    private final double averageCycleTimeHours;
+    
+    public ThroughputDay(LocalDate date, long completed, double averageCycleTimeHours) {
+        this.date = date;
+        this.completed = completed;
+        this.averageCycleTimeHours = averageCycleTimeHours;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public long getCompleted() {
+        return completed;
+    }
+    
+    public double getAverageCycleTimeHours() {
+        return averageCycleTimeHours;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kanban.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kanban.config.BoardContext;
+import com.kanban.dto.ImportProgress;
+import com.kanban.model.Task;
+
+// Alteração no quadro publicada pelos serviços após cada mutação.
+// Eventos de tarefa (exceto TASK_DELETED) trazem a tarefa completa, para o cliente aplicar como upsert;
+// os avisos de prazo (TASK_DUE, TASK_OVERDUE) trazem só o cartão (TaskCard) e não alteram a tarefa;
+// importações em massa publicam só o progresso (TASKS_IMPORTED).
+// O quadro é o da thread que publica; cada quadro tem seu próprio feed.
+public class BoardChangeEvent {
+    
+    public enum Type {
+        TASK_CREATED, TASK_UPDATED, TASK_MOVED, TASK_DELETED,
+        COLUMN_CREATED, COLUMN_UPDATED, COLUMN_DELETED, COLUMNS_REORDERED,
+        // Coluna redistribuída (CardRankService): data traz as novas posições, id da tarefa -> card_rank
+        CARDS_RERANKED,
+        // Avisos de prazo (DueDateNotifier): começou o dia do prazo / o prazo passou sem a tarefa concluída
+        TASK_DUE, TASK_OVERDUE,
+        // Progresso de uma importação (BoardTransferService), um por lote gravado: data traz ImportProgress;
+        // as tarefas importadas não geram eventos individuais e entram no quadro quando done é true
+        TASKS_IMPORTED
+    }
+    
+    private final long boardId;
+    private final Type type;
+    private final Long taskId;
+    private final String columnId;
+    private final Object data;
+    
+    public BoardChangeEvent(Type type, Long taskId, String columnId, Object data) {
+        this.boardId = BoardContext.current();
+        this.type = type;
+        this.taskId = taskId;
+        this.columnId = columnId;
+        this.data = data;
+    }
+    
+    public static BoardChangeEvent task(Type type, Task task) {
+        return new BoardChangeEvent(type, task.getId(), task.getColumnId(), type == Type.TASK_DELETED ? null : task);
+    }
+    
+    public static BoardChangeEvent column(Type type, String columnId, Object data) {
+        return new BoardChangeEvent(type, null, columnId, data);
+    }
+    
+    // Eventos com a mesma chave podem ser agrupados: para um assinante lento, só o último importa
+    @JsonIgnore
+    public String getCoalescingKey() {
+        if (type == Type.TASK_DUE || type == Type.TASK_OVERDUE) {
+            return "due:" + taskId;
+        }
+        if (type == Type.TASKS_IMPORTED) {
+            return "import:" + ((ImportProgress) data).getImportId();
+        }
+        if (taskId != null) {
+            return "task:" + taskId;
+        }
+        // Reordenação e redistribuição trazem o estado completo (todas as colunas / todos os cartões da coluna)
+        if (type == Type.COLUMNS_REORDERED) {
+            return "columns";
+        }
+        if (type == Type.CARDS_RERANKED) {
+            return "ranks:" + columnId;
+        }
+        return "column:" + columnId;
+    }
+    
+    @JsonIgnore
+    public long getBoardId() {
+        return boardId;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public Object getData() {
+        return data;
+    }
+}
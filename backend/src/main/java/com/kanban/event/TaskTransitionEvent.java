@@ -0,0 +1,117 @@
+package com.kanban.event;
+
+import com.kanban.config.BoardContext;
+import com.kanban.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Mudança de coluna, status, responsável ou prioridade de uma tarefa, com o estado anterior e o novo.
+// Alimenta o histórico de transições e os agregados de análise do quadro da thread que publica;
+// from é null na criação e to na exclusão.
+public class TaskTransitionEvent {
+    
+    // Campos de uma tarefa que entram nos agregados
+    public static final class State {
+        private final String columnId;
+        private final Task.Status status;
+        private final String assignee;
+        private final Task.Priority priority;
+        
+        public State(String columnId, Task.Status status, String assignee, Task.Priority priority) {
+            this.columnId = columnId;
+            this.status = status;
+            this.assignee = assignee;
+            this.priority = priority;
+        }
+        
+        public static State of(Task task) {
+            return new State(task.getColumnId(), task.getStatus(), task.getAssignee(), task.getPriority());
+        }
+        
+        public String getColumnId() {
+            return columnId;
+        }
+        
+        public Task.Status getStatus() {
+            return status;
+        }
+        
+        public String getAssignee() {
+            return assignee;
+        }
+        
+        public Task.Priority getPriority() {
+            return priority;
+        }
+        
+        boolean sameAs(State other) {
+            return Objects.equals(columnId, other.columnId) && status == other.status
+                    && Objects.equals(assignee, other.assignee) && priority == other.priority;
+        }
+    }
+    
+    private final long boardId;
+    private final Long taskId;
+    private final LocalDateTime taskCreatedAt;
+    private final State from;
+    private final State to;
+    private final LocalDateTime occurredAt;
+    
+    public TaskTransitionEvent(Long taskId, LocalDateTime taskCreatedAt, State from, State to, LocalDateTime occurredAt) {
+        this.boardId = BoardContext.current();
+        this.taskId = taskId;
+        this.taskCreatedAt = taskCreatedAt;
+        this.from = from;
+        this.to = to;
+        this.occurredAt = occurredAt;
+    }
+    
+    public static TaskTransitionEvent created(Task task) {
+        LocalDateTime createdAt = task.getCreatedAt() != null ? task.getCreatedAt() : LocalDateTime.now();
+        return new TaskTransitionEvent(task.getId(), task.getCreatedAt(), null, State.of(task), createdAt);
+    }
+    
+    public static TaskTransitionEvent deleted(Task task) {
+        return new TaskTransitionEvent(task.getId(), task.getCreatedAt(), State.of(task), null, LocalDateTime.now());
+    }
+    
+    // null quando nenhum dos campos agregados mudou (ex.: só o título foi editado)
+    public static TaskTransitionEvent changed(State from, Task task) {
+        State to = State.of(task);
+        if (from.sameAs(to)) {
+            return null;
+        }
+        return new TaskTransitionEvent(task.getId(), task.getCreatedAt(), from, to, LocalDateTime.now());
+    }
+    
+    // Entrou na coluna/status de destino (não só mudou responsável ou prioridade)
+    public boolean isMove() {
+        return from != null && to != null
+                && (!Objects.equals(from.columnId, to.columnId) || from.status != to.status);
+    }
+    
+    public long getBoardId() {
+        return boardId;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public LocalDateTime getTaskCreatedAt() {
+        return taskCreatedAt;
+    }
+    
+    public State getFrom() {
+        return from;
+    }
+    
+    public State getTo() {
+        return to;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,111 @@
+package com.kanban.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Limita as requisições da API em execução simultânea ao tamanho do pool do Hikari.
+// Com threads virtuais o Tomcat deixa de limitar a concorrência; sem este filtro milhares de requisições
+// ficariam presas esperando conexão no Hikari até o connection-timeout. Aqui elas esperam numa fila justa
+// por pouco tempo e, se não houver vaga, recebem 503 com Retry-After.
+// Respostas assíncronas (StreamingResponseBody de /api/tasks/stream e /api/board/export) seguem lendo o banco
+// depois que o despacho inicial retorna: a vaga só é devolvida quando a requisição assíncrona termina.
+@Component
+@ConditionalOnProperty(name = "kanban.admission.enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+    
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+    
+    public AdmissionControlFilter(
+            @Value("${kanban.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${kanban.admission.queue-timeout-ms:2000}") long queueTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        // O feed SSE só consulta o banco ao assinar e depois fica aberto sem usar conexão
+        return !path.startsWith("/api/") || path.startsWith("/api/board/events");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Requisição recusada por falta de vaga: {} {}", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+    
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+    
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+    
+    // onComplete é chamado no fim de toda requisição assíncrona, também depois de erro ou timeout
+    private class ReleaseOnComplete implements AsyncListener {
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo ciclo assíncrono na mesma requisição substitui os ouvintes: continua registrado
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.kanban.filter;
+
+import com.kanban.config.BoardContext;
+import com.kanban.service.BoardRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Define o quadro da requisição pelo cabeçalho X-Board-Id, ou pelo parâmetro "board" (o EventSource de
+// /api/board/events não envia cabeçalhos); sem nenhum dos dois vale o quadro padrão.
+// Valor inválido responde 400 e quadro inexistente, 404. /api/boards trabalha sobre o catálogo e fica de fora.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BoardContextFilter extends OncePerRequestFilter {
+    
+    public static final String BOARD_HEADER = "X-Board-Id";
+    public static final String BOARD_PARAM = "board";
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/boards");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String value = request.getHeader(BOARD_HEADER);
+        if (value == null) {
+            value = request.getParameter(BOARD_PARAM);
+        }
+        if (value == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long boardId;
+        try {
+            boardId = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        if (boardRegistry.getBoard(boardId).isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        BoardContext.set(boardId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            BoardContext.clear();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.kanban.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Limita as escritas da API (POST, PUT, PATCH, DELETE) por cliente e endpoint com um balde de fichas:
+// cada combinação tem até capacity fichas, repostas a refill-per-second por segundo. Sem ficha a requisição
+// recebe 429 com Retry-After (segundos até a próxima ficha), antes de abrir transação ou pegar conexão.
+// O endpoint é o padrão da rota (/api/tasks/{id}), para que ids diferentes dividam o mesmo balde.
+public class RateLimitInterceptor implements HandlerInterceptor {
+    
+    private static final Logger log = LoggerFactory.getLogger(RateLimitInterceptor.class);
+    
+    private final Cache<String, TokenBucket> buckets;
+    private final int capacity;
+    private final double refillPerSecond;
+    private final String clientHeader;
+    private final int trustedProxies;
+    private final MeterRegistry meterRegistry;
+    
+    public RateLimitInterceptor(int capacity, double refillPerSecond, String clientHeader, int trustedProxies,
+                                int maxClients, MeterRegistry meterRegistry) {
+        if (trustedProxies < 1) {
+            throw new IllegalArgumentException("kanban.rate-limit.trusted-proxies deve ser pelo menos 1: " + trustedProxies);
+        }
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = trustedProxies;
+        this.meterRegistry = meterRegistry;
+        // Balde sem uso some depois do tempo de enchê-lo: ao voltar, o cliente recebe um balde cheio, como teria
+        long refillSeconds = (long) Math.ceil(capacity / refillPerSecond);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(Math.max(refillSeconds, 1)))
+                .maximumSize(maxClients)
+                .build();
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isMutation(request.getMethod())) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        String key = clientOf(request) + " " + endpoint;
+        
+        long waitNanos = buckets.get(key, k -> new TokenBucket(capacity, refillPerSecond)).tryConsume(System.nanoTime());
+        if (waitNanos == 0) {
+            return true;
+        }
+        long retryAfter = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        log.debug("Limite de requisições atingido: {} ({}s)", key, retryAfter);
+        meterRegistry.counter("kanban.ratelimit.rejected", "endpoint", endpoint).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        return false;
+    }
+    
+    private static boolean isMutation(String method) {
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+    
+    // Atrás de um proxy o endereço remoto é o do proxy: kanban.rate-limit.client-header (ex.: X-Forwarded-For).
+    // Cada proxy acrescenta à direita o endereço de quem o chamou e o cliente pode enviar o cabeçalho já
+    // preenchido, então só valem as entradas dos trusted-proxies proxies confiáveis, contadas da direita:
+    // o cliente é a entrada acrescentada pelo primeiro deles.
+    String clientOf(HttpServletRequest request) {
+        if (clientHeader != null && !clientHeader.isEmpty()) {
+            String value = request.getHeader(clientHeader);
+            if (value != null && !value.isBlank()) {
+                String[] hops = value.split(",");
+                return hops[Math.max(0, hops.length - trustedProxies)].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+    
+    static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+        
+        TokenBucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+        
+        // 0 quando consumiu uma ficha; senão, nanossegundos até haver uma
+        synchronized long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+    }
+}
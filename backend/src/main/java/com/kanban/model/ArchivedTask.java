@@ -0,0 +1,165 @@
+package com.kanban.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Tarefa concluída movida para o arquivo; id é o mesmo que tinha em tasks.
+// Gravada e removida só por SQL em lote (ArchivedTaskRepository), por isso sem @Version nem callbacks
+@Entity
+@Table(name = "archived_tasks", indexes = {
+    @Index(name = "idx_archived_tasks_board_archived_at", columnList = "board_id, archived_at, id")
+})
+public class ArchivedTask {
+    
+    @Id
+    private Long id;
+    
+    // Quadro da tarefa; copiado de tasks e usado em todas as consultas
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long boardId;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    private String assignee;
+    
+    @Enumerated(EnumType.STRING)
+    private Task.Priority priority;
+    
+    @Enumerated(EnumType.STRING)
+    private Task.Status status;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dueDate;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "column_id")
+    private String columnId;
+    
+    private Long version;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    // Construtores
+    public ArchivedTask() {}
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getBoardId() {
+        return boardId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public Task.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Task.Status status) {
+        this.status = status;
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(String columnId) {
+        this.columnId = columnId;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+    
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
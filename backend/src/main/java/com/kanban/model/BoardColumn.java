@@ -1,17 +1,35 @@
 package com.kanban.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kanban.service.SyncRevisionListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "columns")
+@EntityListeners(SyncRevisionListener.class)
+@Table(name = "columns", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_columns_board_column_id", columnNames = {"board_id", "column_id"})
+}, indexes = {
+    @Index(name = "idx_columns_board_updated_at", columnList = "board_id, updated_at"),
+    @Index(name = "idx_columns_board_sync_revision", columnList = "board_id, sync_revision"),
+    @Index(name = "idx_columns_board_display_order", columnList = "board_id, display_order")
+})
 public class BoardColumn {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @jakarta.persistence.Column(unique = true, nullable = false)
+    // Quadro da coluna; preenchido pelo Hibernate com o quadro da sessão e usado em todas as consultas
+    @TenantId
+    @jakarta.persistence.Column(name = "board_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long boardId;
+    
+    // Único dentro do quadro (uk_columns_board_column_id)
+    @jakarta.persistence.Column(nullable = false)
     private String columnId;
     
     @jakarta.persistence.Column(nullable = false)
@@ -26,6 +44,14 @@ public class BoardColumn {
     @jakarta.persistence.Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Version
+    private Long version;
+    
+    // Revisão da sincronização incremental em que a linha foi gravada por último (SyncRevisions)
+    @jakarta.persistence.Column(name = "sync_revision", nullable = false)
+    @JsonIgnore
+    private long syncRevision;
+    
     // Construtores
     public BoardColumn() {}
     
@@ -46,6 +72,10 @@ public class BoardColumn {
         this.id = id;
     }
     
+    public Long getBoardId() {
+        return boardId;
+    }
+    
     public String getColumnId() {
         return columnId;
     }
@@ -86,6 +116,32 @@ public class BoardColumn {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public long getSyncRevision() {
+        return syncRevision;
+    }
+    
+    public void setSyncRevision(long syncRevision) {
+        this.syncRevision = syncRevision;
+    }
+    
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = this.createdAt;
+        }
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -1,21 +1,40 @@
 package com.kanban.model;
 
+import com.kanban.service.SyncRevisionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@EntityListeners(SyncRevisionListener.class)
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_board_updated_at", columnList = "board_id, updated_at"),
+    @Index(name = "idx_tasks_board_sync_revision", columnList = "board_id, sync_revision"),
+    @Index(name = "idx_tasks_board_column_rank", columnList = "board_id, column_id, card_rank"),
+    @Index(name = "idx_tasks_board_status_priority_created", columnList = "board_id, status, priority DESC, created_at"),
+    @Index(name = "idx_tasks_board_assignee", columnList = "board_id, assignee"),
+    @Index(name = "idx_tasks_board_created_at", columnList = "board_id, created_at"),
+    @Index(name = "idx_tasks_board_due_status", columnList = "board_id, due_date, status"),
+    @Index(name = "idx_tasks_board_status_updated", columnList = "board_id, status, updated_at")
+})
 public class Task {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Quadro da tarefa; preenchido pelo Hibernate com o quadro da sessão e usado em todas as consultas
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long boardId;
+    
     @NotBlank(message = "Título é obrigatório")
     @Column(nullable = false)
     private String title;
@@ -47,12 +66,35 @@ public class Task {
     @Column(name = "column_id")
     private String columnId;
     
+    // Posição dentro da coluna (CardRank); a ordem da coluna é card_rank, depois created_at
+    @Column(name = "card_rank")
+    private String cardRank;
+    
+    // Incrementada a cada alteração; enviada como ETag e conferida no If-Match
+    @Version
+    private Long version;
+    
+    // Revisão da sincronização incremental em que a linha foi gravada por último (SyncRevisions)
+    @Column(name = "sync_revision", nullable = false)
+    @JsonIgnore
+    private long syncRevision;
+    
     public enum Priority {
         BAIXA, MEDIA, ALTA
     }
     
     public enum Status {
-        TODO, DOING, DONE
+        TODO, DOING, DONE;
+        
+        // Status correspondente a uma das colunas padrão, ou null para colunas customizadas
+        public static Status fromColumnId(String columnId) {
+            for (Status status : values()) {
+                if (status.name().toLowerCase().equals(columnId)) {
+                    return status;
+                }
+            }
+            return null;
+        }
     }
     
     // Constructors
@@ -82,6 +124,14 @@ public class Task {
         this.id = id;
     }
     
+    public Long getBoardId() {
+        return boardId;
+    }
+    
+    public void setBoardId(Long boardId) {
+        this.boardId = boardId;
+    }
+    
     public String getTitle() {
         return title;
     }
@@ -155,6 +205,30 @@ public class Task {
         this.columnId = columnId;
     }
     
+    public String getCardRank() {
+        return cardRank;
+    }
+    
+    public void setCardRank(String cardRank) {
+        this.cardRank = cardRank;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public long getSyncRevision() {
+        return syncRevision;
+    }
+    
+    public void setSyncRevision(long syncRevision) {
+        this.syncRevision = syncRevision;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
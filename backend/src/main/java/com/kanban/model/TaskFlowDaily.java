@@ -0,0 +1,142 @@
+package com.kanban.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+
+// Agregado diário por coluna, responsável e prioridade: entradas, saídas, conclusões e soma dos tempos de ciclo.
+// Responsável e prioridade ausentes ficam como '' (fazem parte da chave única)
+@Entity
+@Table(name = "task_flow_daily", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_task_flow_daily", columnNames = {"board_id", "flow_date", "column_id", "assignee", "priority"})
+})
+public class TaskFlowDaily {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Quadro da linha; preenchido pelo Hibernate com o quadro da sessão e usado em todas as consultas
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long boardId;
+    
+    @Column(name = "flow_date", nullable = false)
+    private LocalDate flowDate;
+    
+    @Column(name = "column_id", nullable = false)
+    private String columnId;
+    
+    @Column(nullable = false)
+    private String assignee;
+    
+    @Column(nullable = false, length = 16)
+    private String priority;
+    
+    @Column(nullable = false)
+    private int entered;
+    
+    @Column(nullable = false)
+    private int exited;
+    
+    @Column(nullable = false)
+    private int completed;
+    
+    @Column(name = "cycle_time_seconds", nullable = false)
+    private long cycleTimeSeconds;
+    
+    // Construtores
+    public TaskFlowDaily() {}
+    
+    public TaskFlowDaily(LocalDate flowDate, String columnId, String assignee, String priority,
+                         int entered, int exited, int completed, long cycleTimeSeconds) {
+        this.flowDate = flowDate;
+        this.columnId = columnId;
+        this.assignee = assignee;
+        this.priority = priority;
+        this.entered = entered;
+        this.exited = exited;
+        this.completed = completed;
+        this.cycleTimeSeconds = cycleTimeSeconds;
+    }
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getBoardId() {
+        return boardId;
+    }
+    
+    public LocalDate getFlowDate() {
+        return flowDate;
+    }
+    
+    public void setFlowDate(LocalDate flowDate) {
+        this.flowDate = flowDate;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(String columnId) {
+        this.columnId = columnId;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+    
+    public String getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+    
+    public int getEntered() {
+        return entered;
+    }
+    
+    public void setEntered(int entered) {
+        this.entered = entered;
+    }
+    
+    public int getExited() {
+        return exited;
+    }
+    
+    public void setExited(int exited) {
+        this.exited = exited;
+    }
+    
+    public int getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+    
+    public long getCycleTimeSeconds() {
+        return cycleTimeSeconds;
+    }
+    
+    public void setCycleTimeSeconds(long cycleTimeSeconds) {
+        this.cycleTimeSeconds = cycleTimeSeconds;
+    }
+}
@@ -0,0 +1,144 @@
+package com.kanban.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+// Uma linha do histórico de uma tarefa: coluna/status de origem e destino (origem nula na criação, destino na exclusão)
+@Entity
+@Table(name = "task_transitions", indexes = {
+    @Index(name = "idx_task_transitions_task", columnList = "task_id, to_status, occurred_at"),
+    @Index(name = "idx_task_transitions_board_occurred_at", columnList = "board_id, occurred_at")
+})
+public class TaskTransition {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Quadro da transição; preenchido pelo Hibernate com o quadro da sessão e usado em todas as consultas
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long boardId;
+    
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+    
+    @Column(name = "from_column_id")
+    private String fromColumnId;
+    
+    @Column(name = "to_column_id")
+    private String toColumnId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 16)
+    private Task.Status fromStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 16)
+    private Task.Status toStatus;
+    
+    private String assignee;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Task.Priority priority;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    // Construtores
+    public TaskTransition() {}
+    
+    public TaskTransition(Long taskId, String fromColumnId, String toColumnId, Task.Status fromStatus,
+                          Task.Status toStatus, String assignee, Task.Priority priority, LocalDateTime occurredAt) {
+        this.taskId = taskId;
+        this.fromColumnId = fromColumnId;
+        this.toColumnId = toColumnId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.assignee = assignee;
+        this.priority = priority;
+        this.occurredAt = occurredAt;
+    }
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getBoardId() {
+        return boardId;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public String getFromColumnId() {
+        return fromColumnId;
+    }
+    
+    public void setFromColumnId(String fromColumnId) {
+        this.fromColumnId = fromColumnId;
+    }
+    
+    public String getToColumnId() {
+        return toColumnId;
+    }
+    
+    public void setToColumnId(String toColumnId) {
+        this.toColumnId = toColumnId;
+    }
+    
+    public Task.Status getFromStatus() {
+        return fromStatus;
+    }
+    
+    public void setFromStatus(Task.Status fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+    
+    public Task.Status getToStatus() {
+        return toStatus;
+    }
+    
+    public void setToStatus(Task.Status toStatus) {
+        this.toStatus = toStatus;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,102 @@
+package com.kanban.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+// Quantidade atual de tarefas por coluna, status, responsável e prioridade ('' quando ausentes)
+@Entity
+@Table(name = "task_wip", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_task_wip", columnNames = {"board_id", "column_id", "status", "assignee", "priority"})
+})
+public class TaskWip {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Quadro da linha; preenchido pelo Hibernate com o quadro da sessão e usado em todas as consultas
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long boardId;
+    
+    @Column(name = "column_id", nullable = false)
+    private String columnId;
+    
+    @Column(nullable = false, length = 16)
+    private String status;
+    
+    @Column(nullable = false)
+    private String assignee;
+    
+    @Column(nullable = false, length = 16)
+    private String priority;
+    
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+    
+    // Construtores
+    public TaskWip() {}
+    
+    public TaskWip(String columnId, String status, String assignee, String priority, long taskCount) {
+        this.columnId = columnId;
+        this.status = status;
+        this.assignee = assignee;
+        this.priority = priority;
+        this.taskCount = taskCount;
+    }
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getBoardId() {
+        return boardId;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(String columnId) {
+        this.columnId = columnId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getAssignee() {
+        return assignee;
+    }
+    
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+    
+    public String getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+    
+    public long getTaskCount() {
+        return taskCount;
+    }
+    
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+}
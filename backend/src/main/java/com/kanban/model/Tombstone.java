@@ -0,0 +1,113 @@
+package com.kanban.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kanban.service.SyncRevisionListener;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+// Registro de exclusão, para que a sincronização incremental também entregue o que foi removido
+@Entity
+@EntityListeners(SyncRevisionListener.class)
+@Table(name = "tombstones", indexes = {
+    @Index(name = "idx_tombstones_board_deleted_at", columnList = "board_id, deleted_at"),
+    @Index(name = "idx_tombstones_board_sync_revision", columnList = "board_id, sync_revision")
+})
+public class Tombstone {
+    
+    public enum EntityType {
+        TASK, COLUMN
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Quadro da exclusão; preenchido pelo Hibernate com o quadro da sessão e usado em todas as consultas
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long boardId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+    
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Column(name = "column_id")
+    private String columnId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Revisão da sincronização incremental em que a linha foi gravada por último (SyncRevisions)
+    @Column(name = "sync_revision", nullable = false)
+    @JsonIgnore
+    private long syncRevision;
+    
+    // Construtores
+    public Tombstone() {}
+    
+    public Tombstone(EntityType entityType, Long taskId, String columnId, LocalDateTime deletedAt) {
+        this.entityType = entityType;
+        this.taskId = taskId;
+        this.columnId = columnId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getBoardId() {
+        return boardId;
+    }
+    
+    public EntityType getEntityType() {
+        return entityType;
+    }
+    
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(String columnId) {
+        this.columnId = columnId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+    
+    public long getSyncRevision() {
+        return syncRevision;
+    }
+    
+    public void setSyncRevision(long syncRevision) {
+        this.syncRevision = syncRevision;
+    }
+}
@@ -0,0 +1,50 @@
+package com.kanban.repository;
+
+import com.kanban.model.ArchivedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    
+    // Busca por id dentro do quadro atual (ver TaskRepository.findById)
+    @Override
+    @Query("SELECT a FROM ArchivedTask a WHERE a.id = :id")
+    Optional<ArchivedTask> findById(Long id);
+    
+    // Mais recentes primeiro (índice archived_at, id)
+    Page<ArchivedTask> findAllByOrderByArchivedAtDescIdDesc(Pageable pageable);
+    
+    // Copia as tarefas para o arquivo em um único INSERT ... SELECT; a remoção de tasks é feita em seguida.
+    // Repete as condições do arquivamento: tarefa reaberta ou movida depois de selecionada fica no quadro.
+    @Modifying
+    @Query(value = "INSERT INTO archived_tasks (id, board_id, title, description, assignee, priority, status, due_date, " +
+                   "created_at, updated_at, column_id, version, archived_at) " +
+                   "SELECT id, board_id, title, description, assignee, priority, status, due_date, " +
+                   "created_at, updated_at, column_id, version, :archivedAt FROM tasks " +
+                   "WHERE id IN (:ids) AND status = :status AND updated_at < :before",
+           nativeQuery = true)
+    int copyFromTasks(Collection<Long> ids, String status, LocalDateTime before, LocalDateTime archivedAt);
+    
+    // Quais dessas tarefas estão no arquivo (as copiadas por copyFromTasks)
+    @Query("SELECT a.id FROM ArchivedTask a WHERE a.id IN :ids")
+    List<Long> findArchivedIds(Collection<Long> ids);
+    
+    // Devolve a tarefa a tasks com o mesmo id, na coluna e posição informadas e com nova versão
+    @Modifying
+    @Query(value = "INSERT INTO tasks (id, board_id, title, description, assignee, priority, status, due_date, " +
+                   "created_at, updated_at, column_id, card_rank, version, sync_revision) " +
+                   "SELECT id, board_id, title, description, assignee, priority, status, due_date, " +
+                   "created_at, :now, :columnId, :cardRank, version + 1, :syncToken FROM archived_tasks WHERE board_id = :boardId AND id = :id",
+           nativeQuery = true)
+    int copyToTasks(long boardId, Long id, String columnId, String cardRank, LocalDateTime now, long syncToken);
+}
@@ -0,0 +1,19 @@
+package com.kanban.repository;
+
+import com.kanban.model.Board;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Catálogo de quadros; fica no shard do quadro padrão
+@Repository
+public interface BoardRepository extends JpaRepository<Board, Long> {
+    
+    @Query("SELECT b FROM Board b ORDER BY b.id ASC")
+    List<Board> findAllOrderById();
+    
+    @Query("SELECT b.id FROM Board b ORDER BY b.id ASC")
+    List<Long> findAllIds();
+}
@@ -5,14 +5,26 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ColumnRepository extends JpaRepository<BoardColumn, Long> {
     
+    // Busca por id dentro do quadro atual (ver TaskRepository.findById)
+    @Override
+    @Query("SELECT c FROM BoardColumn c WHERE c.id = :id")
+    Optional<BoardColumn> findById(Long id);
+    
     Optional<BoardColumn> findByColumnId(String columnId);
     
+    List<BoardColumn> findByColumnIdIn(Collection<String> columnIds);
+    
+    // Gravadas depois de since, até a revisão lida (SyncRevisions)
+    @Query("SELECT c FROM BoardColumn c WHERE c.syncRevision > :since AND c.syncRevision <= :revision")
+    List<BoardColumn> findChangedSince(long since, long revision);
+    
     @Query("SELECT c FROM BoardColumn c ORDER BY c.displayOrder ASC")
     List<BoardColumn> findAllOrderByDisplayOrder();
     
@@ -0,0 +1,79 @@
+package com.kanban.repository;
+
+import com.kanban.config.BoardContext;
+import com.kanban.model.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+// Inserção em lote de tarefas via JDBC. O id IDENTITY impede o Hibernate de agrupar inserts,
+// então os lotes são enviados diretamente (um único INSERT multi-linha com rewriteBatchedStatements)
+// e os ids gerados são lidos de volta para as entidades.
+@Repository
+public class TaskBatchInserter {
+    
+    public static final int BATCH_SIZE = 500;
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO tasks (title, description, assignee, priority, status, due_date, created_at, updated_at, column_id, card_rank, board_id, version, sync_revision) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // syncToken: token da transação para as tarefas do quadro atual (SyncRevisions)
+    public void insertAll(List<Task> tasks, long syncToken) {
+        for (int from = 0; from < tasks.size(); from += BATCH_SIZE) {
+            insertBatch(tasks.subList(from, Math.min(from + BATCH_SIZE, tasks.size())), syncToken);
+        }
+    }
+    
+    // Tarefas do quadro atual
+    private void insertBatch(List<Task> tasks, long syncToken) {
+        long boardId = BoardContext.current();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Task task : tasks) {
+                    statement.setString(1, task.getTitle());
+                    statement.setString(2, task.getDescription());
+                    statement.setString(3, task.getAssignee());
+                    statement.setString(4, task.getPriority().name());
+                    statement.setString(5, task.getStatus().name());
+                    if (task.getDueDate() != null) {
+                        statement.setDate(6, Date.valueOf(task.getDueDate()));
+                    } else {
+                        statement.setNull(6, Types.DATE);
+                    }
+                    statement.setTimestamp(7, Timestamp.valueOf(task.getCreatedAt()));
+                    statement.setTimestamp(8, Timestamp.valueOf(task.getUpdatedAt()));
+                    statement.setString(9, task.getColumnId());
+                    statement.setString(10, task.getCardRank());
+                    statement.setLong(11, boardId);
+                    statement.setLong(12, syncToken);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < tasks.size()) {
+                        Task task = tasks.get(i++);
+                        task.setId(keys.getLong(1));
+                        task.setBoardId(boardId);
+                        task.setVersion(0L);
+                        task.setSyncRevision(syncToken);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
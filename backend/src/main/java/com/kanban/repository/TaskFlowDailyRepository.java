@@ -0,0 +1,37 @@
+package com.kanban.repository;
+
+import com.kanban.model.TaskFlowDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TaskFlowDailyRepository extends JpaRepository<TaskFlowDaily, Long> {
+    
+    // Soma os incrementos na linha existente; 0 quando a linha ainda não existe
+    @Modifying
+    @Query("UPDATE TaskFlowDaily f SET f.entered = f.entered + :entered, f.exited = f.exited + :exited, " +
+           "f.completed = f.completed + :completed, f.cycleTimeSeconds = f.cycleTimeSeconds + :cycleTimeSeconds " +
+           "WHERE f.flowDate = :flowDate AND f.columnId = :columnId AND f.assignee = :assignee AND f.priority = :priority")
+    int increment(LocalDate flowDate, String columnId, String assignee, String priority,
+                  int entered, int exited, int completed, long cycleTimeSeconds);
+    
+    // As consultas abaixo percorrem só o período pedido (chave única começa por flow_date)
+    @Query("SELECT f FROM TaskFlowDaily f WHERE f.flowDate BETWEEN :from AND :to " +
+           "AND (:columnId IS NULL OR f.columnId = :columnId) AND (:assignee IS NULL OR f.assignee = :assignee) " +
+           "ORDER BY f.flowDate, f.columnId, f.assignee, f.priority")
+    List<TaskFlowDaily> findInPeriod(LocalDate from, LocalDate to, String columnId, String assignee);
+    
+    @Query("SELECT f.flowDate, SUM(f.completed), SUM(f.cycleTimeSeconds) FROM TaskFlowDaily f " +
+           "WHERE f.flowDate BETWEEN :from AND :to GROUP BY f.flowDate ORDER BY f.flowDate")
+    List<Object[]> sumCompletedByDay(LocalDate from, LocalDate to);
+    
+    @Query("SELECT f.assignee, f.priority, SUM(f.completed), SUM(f.cycleTimeSeconds) FROM TaskFlowDaily f " +
+           "WHERE f.flowDate BETWEEN :from AND :to AND f.completed > 0 " +
+           "GROUP BY f.assignee, f.priority ORDER BY f.assignee, f.priority")
+    List<Object[]> sumCompletedByAssigneeAndPriority(LocalDate from, LocalDate to);
+}
@@ -1,29 +1,180 @@
 package com.kanban.repository;
 
+import com.kanban.dto.TaskCard;
 import com.kanban.model.Task;
+import com.kanban.model.Task.Priority;
 import com.kanban.model.Task.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    
+    // Busca por id dentro do quadro atual: a carga pela chave primária (em.find) ignora o filtro de @TenantId
+    @Override
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findById(Long id);
+    
+    // Mesma busca, com a linha bloqueada até o fim da transação: o estado lido é o que a alteração substitui
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(Long id);
+    
+    @Override
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids")
+    List<Task> findAllById(Iterable<Long> ids);
     
     List<Task> findByStatus(Status status);
     
     List<Task> findByAssignee(String assignee);
     
-    @Query("SELECT t FROM Task t WHERE t.status = :status ORDER BY t.priority DESC, t.createdAt ASC")
+    @Query("SELECT t FROM Task t WHERE t.status = :status ORDER BY t.priority DESC, t.createdAt ASC, t.id ASC")
     List<Task> findByStatusOrderByPriorityAndCreatedAt(Status status);
     
-    @Query("SELECT t FROM Task t ORDER BY t.status, t.priority DESC, t.createdAt ASC")
+    // Ordem de TaskOrdering: status e prioridade seguem a declaração das colunas ENUM (V11)
+    @Query("SELECT t FROM Task t ORDER BY t.status, t.priority DESC, t.createdAt ASC, t.id ASC")
     List<Task> findAllOrderByStatusAndPriority();
     
+    // Só as colunas dos cartões; description (TEXT) não é lida
+    @Query("SELECT new com.kanban.dto.TaskCard(t.id, t.title, t.assignee, t.priority, t.dueDate, t.columnId) " +
+           "FROM Task t ORDER BY t.status, t.priority DESC, t.createdAt ASC, t.id ASC")
+    List<TaskCard> findAllCardsOrderByStatusAndPriority();
+    
+    // Mesmo ordenamento de findAllOrderByStatusAndPriority, mas lido do cursor do banco aos poucos
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.status, t.priority DESC, t.createdAt ASC, t.id ASC")
+    Stream<Task> streamAllOrderByStatusAndPriority();
+    
+    // Todas as tarefas na ordem das colunas e das posições, lidas do cursor do banco aos poucos (exportação)
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.columnId ASC, t.cardRank ASC, t.createdAt ASC, t.id ASC")
+    Stream<Task> streamAllInColumnOrder();
+    
+    // Página de um grupo (status, prioridade), continuando após a chave (createdAt, id) informada
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.priority = :priority " +
+           "AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)) " +
+           "ORDER BY t.createdAt ASC, t.id ASC")
+    List<Task> findPageAfter(Status status, Priority priority, LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.priority = :priority " +
+           "ORDER BY t.createdAt ASC, t.id ASC")
+    List<Task> findPageFirst(Status status, Priority priority, Pageable pageable);
+    
+    // Ordem dos cartões nas colunas: card_rank (sem chave primeiro), depois criação
+    @Query("SELECT t FROM Task t ORDER BY t.cardRank ASC, t.createdAt ASC, t.id ASC")
+    List<Task> findAllInRankOrder();
+    
+    @Query("SELECT new com.kanban.dto.TaskCard(t.id, t.title, t.assignee, t.priority, t.dueDate, t.columnId) " +
+           "FROM Task t ORDER BY t.cardRank ASC, t.createdAt ASC, t.id ASC")
+    List<TaskCard> findAllCardsInRankOrder();
+    
+    @Query("SELECT t.columnId, COUNT(t) FROM Task t GROUP BY t.columnId")
+    List<Object[]> countGroupByColumnId();
+    
+    @Query("SELECT t.status, COUNT(t) FROM Task t GROUP BY t.status")
+    List<Object[]> countGroupByStatus();
+    
     long countByStatus(Status status);
     
-    List<Task> findByColumnIdOrderByCreatedAt(String columnId);
+    @Query("SELECT t FROM Task t WHERE t.columnId = :columnId ORDER BY t.cardRank ASC, t.createdAt ASC, t.id ASC")
+    List<Task> findByColumnIdInRankOrder(String columnId);
+    
+    // Posições na coluna (índice board_id, column_id, card_rank): última chave, vizinhos e ordem completa
+    @Query("SELECT MAX(t.cardRank) FROM Task t WHERE t.columnId = :columnId")
+    String findLastRankInColumn(String columnId);
+    
+    @Query("SELECT t FROM Task t WHERE t.columnId = :columnId AND t.id <> :excludedId AND (t.cardRank > :rank " +
+           "OR (t.cardRank = :rank AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)))) " +
+           "ORDER BY t.cardRank ASC, t.createdAt ASC, t.id ASC")
+    List<Task> findNextInColumn(String columnId, String rank, LocalDateTime createdAt, Long id, Long excludedId,
+                                Pageable pageable);
+    
+    @Query("SELECT t FROM Task t WHERE t.columnId = :columnId AND t.id <> :excludedId AND (t.cardRank < :rank " +
+           "OR (t.cardRank = :rank AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)))) " +
+           "ORDER BY t.cardRank DESC, t.createdAt DESC, t.id DESC")
+    List<Task> findPreviousInColumn(String columnId, String rank, LocalDateTime createdAt, Long id, Long excludedId,
+                                    Pageable pageable);
+    
+    @Query("SELECT t.id FROM Task t WHERE t.columnId = :columnId ORDER BY t.cardRank ASC, t.createdAt ASC, t.id ASC")
+    List<Long> findIdsInRankOrder(String columnId);
+    
+    // Colunas com tarefas anteriores ao card_rank, que o CardRankService numera na inicialização
+    @Query("SELECT DISTINCT t.columnId FROM Task t WHERE t.cardRank IS NULL AND t.columnId IS NOT NULL")
+    List<String> findColumnIdsWithUnrankedTasks();
     
     long countByColumnId(String columnId);
+    
+    // Prazos (índice board_id, due_date, status): com o status fixo, (dueDate, id) é a ordem do próprio índice
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.dueDate >= :from AND t.dueDate <= :to " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findDueBetween(Status status, LocalDate from, LocalDate to, Pageable pageable);
+    
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.dueDate <= :to ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findDueUntil(Status status, LocalDate to, Pageable pageable);
+    
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.dueDate <= :to " +
+           "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findDueAfter(Status status, LocalDate to, LocalDate dueDate, Long id, Pageable pageable);
+    
+    // Tarefas não concluídas com prazo no intervalo, carregadas pelo DueDateNotifier a cada janela:
+    // {TaskCard, versão}, a versão para descartar o que um evento já atualizou durante a carga
+    @Query("SELECT new com.kanban.dto.TaskCard(t.id, t.title, t.assignee, t.priority, t.dueDate, t.columnId), t.version " +
+           "FROM Task t WHERE t.dueDate >= :from AND t.dueDate <= :to AND t.status <> :excluded")
+    List<Object[]> findCardsDueBetween(LocalDate from, LocalDate to, Status excluded);
+    
+    // Próximo lote a arquivar, bloqueado até o fim da transação (índice status, updated_at)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.updatedAt < :before ORDER BY t.updatedAt ASC, t.id ASC")
+    List<Task> findForArchival(Status status, LocalDateTime before, Pageable pageable);
+    
+    // Remove as tarefas copiadas para o arquivo, com as mesmas condições da cópia
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids AND t.status = :status AND t.updatedAt < :before")
+    int deleteArchived(Collection<Long> ids, Status status, LocalDateTime before);
+    
+    // Estado das tarefas de uma coluna antes de uma operação em massa, para o histórico de transições
+    @Query("SELECT t.id, t.createdAt, t.status, t.assignee, t.priority FROM Task t WHERE t.columnId = :columnId")
+    List<Object[]> findTransitionStatesByColumnId(String columnId);
+    
+    // Gravadas depois de since, até a revisão lida (SyncRevisions)
+    @Query("SELECT t FROM Task t WHERE t.syncRevision > :since AND t.syncRevision <= :revision")
+    List<Task> findChangedSince(long since, long revision);
+    
+    @Modifying
+    @Query("UPDATE Task t SET t.columnId = :targetColumnId, t.updatedAt = :now, t.version = t.version + 1, " +
+           "t.syncRevision = :syncToken WHERE t.columnId = :columnId")
+    int moveAllToColumn(String columnId, String targetColumnId, LocalDateTime now, long syncToken);
+    
+    @Modifying
+    @Query("UPDATE Task t SET t.columnId = :targetColumnId, t.status = :status, t.updatedAt = :now, t.version = t.version + 1, " +
+           "t.syncRevision = :syncToken WHERE t.columnId = :columnId")
+    int moveAllToColumnWithStatus(String columnId, String targetColumnId, Status status, LocalDateTime now, long syncToken);
+    
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.columnId = :columnId")
+    int deleteAllByColumnId(String columnId);
 }
@@ -0,0 +1,79 @@
+package com.kanban.repository;
+
+import com.kanban.config.FullTextFunctionContributor;
+import com.kanban.dto.TaskSearchCriteria;
+import com.kanban.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Filtros da busca de tarefas. Cada filtro vira um predicado simples sobre a coluna (sem funções),
+// então o otimizador do banco pode escolher o índice mais seletivo entre status/prioridade, coluna,
+// responsável, prazo e FULLTEXT.
+public final class TaskSpecifications {
+    
+    // Termos menores que o innodb_ft_min_token_size padrão não entram no índice FULLTEXT
+    private static final int MIN_FULLTEXT_TERM = 3;
+    
+    private TaskSpecifications() {}
+    
+    public static Specification<Task> matching(TaskSearchCriteria criteria, boolean fullText) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+                predicates.add(root.get("status").in(criteria.getStatus()));
+            }
+            if (criteria.getPriority() != null && !criteria.getPriority().isEmpty()) {
+                predicates.add(root.get("priority").in(criteria.getPriority()));
+            }
+            if (criteria.getColumnId() != null && !criteria.getColumnId().isEmpty()) {
+                predicates.add(root.get("columnId").in(criteria.getColumnId()));
+            }
+            if (criteria.getAssignee() != null && !criteria.getAssignee().isBlank()) {
+                predicates.add(cb.equal(root.get("assignee"), criteria.getAssignee()));
+            }
+            if (criteria.getDueFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), criteria.getDueFrom()));
+            }
+            if (criteria.getDueTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), criteria.getDueTo()));
+            }
+            if (criteria.getQ() != null && !criteria.getQ().isBlank()) {
+                predicates.addAll(textPredicates(criteria.getQ(), fullText, root, cb));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    // Todos os termos precisam aparecer (como prefixo) no título ou na descrição
+    private static List<Predicate> textPredicates(String text, boolean fullText, Root<Task> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String term : text.toLowerCase().split("\\s+")) {
+            // Operadores do modo booleano e curingas do LIKE não podem vir do usuário
+            String clean = term.replaceAll("[+\\-<>()~*\"@%_\\\\]", "");
+            if (clean.isEmpty()) {
+                continue;
+            }
+            if (fullText && clean.length() >= MIN_FULLTEXT_TERM) {
+                booleanQuery.append(booleanQuery.length() > 0 ? " " : "").append('+').append(clean).append('*');
+            } else {
+                String pattern = "%" + clean + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("title")), pattern),
+                        cb.like(cb.lower(root.get("description")), pattern)));
+            }
+        }
+        if (booleanQuery.length() > 0) {
+            predicates.add(cb.greaterThan(
+                    cb.function(FullTextFunctionContributor.MATCH_AGAINST, Double.class,
+                            root.get("title"), root.get("description"), cb.literal(booleanQuery.toString())),
+                    0.0));
+        }
+        return predicates;
+    }
+}
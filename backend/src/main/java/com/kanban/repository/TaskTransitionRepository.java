@@ -0,0 +1,21 @@
+package com.kanban.repository;
+
+import com.kanban.model.Task;
+import com.kanban.model.TaskTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTransitionRepository extends JpaRepository<TaskTransition, Long> {
+    
+    List<TaskTransition> findByTaskIdOrderByOccurredAtAscIdAsc(Long taskId);
+    
+    // Início do ciclo: primeira entrada no status até o instante informado (índice task_id, to_status, occurred_at)
+    @Query("SELECT MIN(t.occurredAt) FROM TaskTransition t " +
+           "WHERE t.taskId = :taskId AND t.toStatus = :status AND t.occurredAt <= :until")
+    LocalDateTime findFirstEntry(Long taskId, Task.Status status, LocalDateTime until);
+}
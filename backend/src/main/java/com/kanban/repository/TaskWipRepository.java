@@ -0,0 +1,27 @@
+package com.kanban.repository;
+
+import com.kanban.model.TaskWip;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskWipRepository extends JpaRepository<TaskWip, Long> {
+    
+    // Soma o incremento na linha existente; 0 quando a linha ainda não existe
+    @Modifying
+    @Query("UPDATE TaskWip w SET w.taskCount = w.taskCount + :delta " +
+           "WHERE w.columnId = :columnId AND w.status = :status AND w.assignee = :assignee AND w.priority = :priority")
+    int increment(String columnId, String status, String assignee, String priority, long delta);
+    
+    @Query("SELECT w FROM TaskWip w WHERE w.taskCount <> 0 ORDER BY w.columnId, w.status, w.assignee, w.priority")
+    List<TaskWip> findNonEmpty();
+    
+    // Em andamento por responsável: tudo que não está concluído
+    @Query("SELECT w.assignee, SUM(w.taskCount) FROM TaskWip w WHERE w.status <> 'DONE' " +
+           "GROUP BY w.assignee HAVING SUM(w.taskCount) <> 0 ORDER BY w.assignee")
+    List<Object[]> sumOpenByAssignee();
+}
@@ -0,0 +1,33 @@
+package com.kanban.repository;
+
+import com.kanban.model.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    
+    // Gravadas depois de since, até a revisão lida (SyncRevisions)
+    @Query("SELECT t FROM Tombstone t WHERE t.syncRevision > :since AND t.syncRevision <= :revision")
+    List<Tombstone> findChangedSince(long since, long revision);
+    
+    // Registra a exclusão de todas as tarefas de uma coluna antes do DELETE em massa
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (board_id, entity_type, task_id, deleted_at, sync_revision) " +
+                   "SELECT board_id, 'TASK', id, :now, :syncToken FROM tasks WHERE board_id = :boardId AND column_id = :columnId",
+           nativeQuery = true)
+    int insertForTasksInColumn(long boardId, String columnId, LocalDateTime now, long syncToken);
+    
+    // Maior revisão entre as exclusões que a retenção vai remover
+    @Query("SELECT MAX(t.syncRevision) FROM Tombstone t WHERE t.deletedAt < :before")
+    Long findMaxSyncRevisionBefore(LocalDateTime before);
+    
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(LocalDateTime before);
+}
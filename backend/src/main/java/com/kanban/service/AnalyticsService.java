@@ -0,0 +1,487 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.dto.AssigneeWip;
+import com.kanban.dto.CycleTimeStat;
+import com.kanban.dto.ThroughputDay;
+import com.kanban.event.TaskTransitionEvent;
+import com.kanban.model.Task;
+import com.kanban.model.TaskFlowDaily;
+import com.kanban.model.TaskTransition;
+import com.kanban.model.TaskWip;
+import com.kanban.repository.TaskFlowDailyRepository;
+import com.kanban.repository.TaskTransitionRepository;
+import com.kanban.repository.TaskWipRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Histórico de transições e agregados de análise (fluxo diário e WIP), mantidos de forma incremental.
+// Cada transição entra no histórico na própria transação da alteração (outbox), com o token de SyncRevisions:
+// só existe se a alteração for confirmada e não se perde numa queda. Um agregador lê o histórico de cada quadro
+// a partir da última revisão já agregada (analytics_watermarks), em ordem de commit, e soma os incrementos nas
+// linhas de agregado na mesma transação em que avança a marca; as consultas leem poucas linhas já prontas em
+// vez de varrer tasks ou o histórico. O WIP é reconstruído de tasks periodicamente (rebuildWip), o que corrige
+// mudanças que não passaram por uma transição.
+@Service
+@Timed("kanban.service")
+public class AnalyticsService {
+    
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+    
+    // Valor gravado nos agregados para responsável, prioridade ou coluna ausentes
+    private static final String NONE = "";
+    
+    private static final String INSERT_TRANSITION_SQL =
+        "INSERT INTO task_transitions (board_id, task_id, from_column_id, to_column_id, from_status, to_status, " +
+        "from_assignee, assignee, from_priority, priority, occurred_at, task_created_at, sync_revision) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String SELECT_TRANSITIONS_SQL =
+        "SELECT task_id, from_column_id, to_column_id, from_status, to_status, from_assignee, assignee, " +
+        "from_priority, priority, occurred_at, task_created_at, sync_revision FROM task_transitions ";
+    
+    // Quadros com revisões confirmadas depois da marca; gravações sem transição também contam (a marca só avança)
+    private static final String PENDING_BOARDS_SQL =
+        "SELECT s.board_id FROM sync_revisions s LEFT JOIN analytics_watermarks w ON w.board_id = s.board_id " +
+        "WHERE s.revision > COALESCE(w.sync_revision, 0)";
+    
+    // WIP atual: tarefas por chave, menos o efeito das transições confirmadas que ainda não foram agregadas
+    // (já estão em tasks, mas só entram no WIP quando agregadas). Uma só consulta, para ler as duas tabelas
+    // no mesmo instante.
+    private static final String WIP_SOURCE_SQL =
+        "SELECT column_id, status, assignee, priority, COUNT(*) FROM tasks WHERE board_id = ? " +
+        "GROUP BY column_id, status, assignee, priority " +
+        "UNION ALL " +
+        "SELECT to_column_id, to_status, assignee, priority, -COUNT(*) FROM task_transitions " +
+        "WHERE board_id = ? AND sync_revision > ? AND (to_column_id IS NOT NULL OR to_status IS NOT NULL) " +
+        "GROUP BY to_column_id, to_status, assignee, priority " +
+        "UNION ALL " +
+        "SELECT from_column_id, from_status, from_assignee, from_priority, COUNT(*) FROM task_transitions " +
+        "WHERE board_id = ? AND sync_revision > ? AND (from_column_id IS NOT NULL OR from_status IS NOT NULL) " +
+        "GROUP BY from_column_id, from_status, from_assignee, from_priority";
+    
+    private static final String INSERT_WIP_SQL =
+        "INSERT INTO task_wip (board_id, column_id, status, assignee, priority, task_count) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private TaskTransitionRepository taskTransitionRepository;
+    
+    @Autowired
+    private TaskFlowDailyRepository taskFlowDailyRepository;
+    
+    @Autowired
+    private TaskWipRepository taskWipRepository;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${kanban.analytics.batch-size:1000}")
+    private int batchSize;
+    
+    // Limita o custo das consultas: no máximo (dias x colunas x responsáveis x prioridades) linhas
+    @Value("${kanban.analytics.max-period-days:366}")
+    private int maxPeriodDays;
+    
+    // Na transação de quem publica: desfeita a alteração, a transição também some. Fora de transação, é
+    // gravada em uma transação própria.
+    @EventListener
+    public void onTaskTransition(TaskTransitionEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            record(event);
+        } else {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> record(event));
+        }
+    }
+    
+    private void record(TaskTransitionEvent event) {
+        long token = syncRevisions.token(event.getBoardId(), SyncRevisions.TRANSITIONS);
+        Outbox outbox = (Outbox) TransactionSynchronizationManager.getResource(this);
+        if (outbox == null) {
+            outbox = new Outbox(token);
+            TransactionSynchronizationManager.bindResource(this, outbox);
+            TransactionSynchronizationManager.registerSynchronization(outbox);
+        }
+        outbox.events.add(event);
+    }
+    
+    // Transições confirmadas do quadro atual e ainda não agregadas; usado por escritas em massa para não deixar
+    // o agregador muito para trás
+    public long getPendingCount() {
+        long boardId = BoardContext.current();
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_transitions WHERE board_id = ? AND sync_revision > " +
+                "COALESCE((SELECT w.sync_revision FROM analytics_watermarks w WHERE w.board_id = ?), 0)",
+                Long.class, boardId, boardId);
+    }
+    
+    @Scheduled(fixedDelayString = "${kanban.analytics.aggregate-interval-ms:1000}")
+    public void aggregatePending() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (Long boardId : jdbcTemplate.queryForList(PENDING_BOARDS_SQL, Long.class)) {
+            // Uma transação por lote, no contexto do quadro (agregados e histórico são por quadro)
+            try {
+                boolean more;
+                do {
+                    more = BoardContext.callAs(boardId, () -> transaction.execute(status -> aggregateNext(boardId)));
+                } while (more);
+            } catch (RuntimeException e) {
+                // Nem os incrementos nem a marca do lote foram gravados; o lote é lido de novo no próximo ciclo
+                log.error("Falha ao agregar as transições do quadro {}; nova tentativa no próximo ciclo", boardId, e);
+            }
+        }
+    }
+    
+    // Agrega o próximo lote do quadro e avança a marca; true quando ainda há transições depois do lote
+    private boolean aggregateNext(long boardId) {
+        long watermark = lockWatermark(boardId);
+        // Lida antes das linhas: toda revisão até ela já foi confirmada (SyncRevisions)
+        long committed = syncRevisions.current();
+        List<TaskTransitionEvent> batch = new ArrayList<>();
+        List<Long> revisions = new ArrayList<>();
+        jdbcTemplate.query(SELECT_TRANSITIONS_SQL +
+                "WHERE board_id = ? AND sync_revision > ? AND sync_revision <= ? ORDER BY sync_revision, id LIMIT ?",
+                rs -> {
+                    batch.add(toEvent(rs));
+                    revisions.add(rs.getLong("sync_revision"));
+                }, boardId, watermark, committed, batchSize);
+        
+        long reached = committed;
+        boolean more = batch.size() >= batchSize;
+        List<TaskTransitionEvent> aggregated = batch;
+        if (more) {
+            // Lote cheio: a marca avança só por revisões inteiras
+            long last = revisions.get(revisions.size() - 1);
+            int end = revisions.indexOf(last);
+            if (end > 0) {
+                aggregated = batch.subList(0, end);
+                reached = revisions.get(end - 1);
+            } else {
+                // Uma transação com mais transições que o lote entra inteira
+                aggregated = new ArrayList<>();
+                List<TaskTransitionEvent> whole = aggregated;
+                jdbcTemplate.query(SELECT_TRANSITIONS_SQL + "WHERE board_id = ? AND sync_revision = ? ORDER BY id",
+                        rs -> {
+                            whole.add(toEvent(rs));
+                        }, boardId, last);
+                reached = last;
+            }
+        }
+        if (!aggregated.isEmpty()) {
+            aggregate(aggregated);
+        }
+        jdbcTemplate.update("UPDATE analytics_watermarks SET sync_revision = ? WHERE board_id = ?", reached, boardId);
+        return more;
+    }
+    
+    // Marca do quadro, bloqueada até o fim da transação: um agregador por quadro, mesmo com várias instâncias
+    private long lockWatermark(long boardId) {
+        List<Long> watermark = jdbcTemplate.queryForList(
+                "SELECT sync_revision FROM analytics_watermarks WHERE board_id = ? FOR UPDATE", Long.class, boardId);
+        if (!watermark.isEmpty()) {
+            return watermark.get(0);
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO analytics_watermarks (board_id, sync_revision) VALUES (?, 0)", boardId);
+            return 0;
+        } catch (DuplicateKeyException e) {
+            // Criada por outra instância ao mesmo tempo
+            return jdbcTemplate.queryForObject(
+                    "SELECT sync_revision FROM analytics_watermarks WHERE board_id = ? FOR UPDATE", Long.class, boardId);
+        }
+    }
+    
+    private static TaskTransitionEvent toEvent(ResultSet rs) throws SQLException {
+        TaskTransitionEvent.State from = state(rs.getString("from_column_id"), rs.getString("from_status"),
+                rs.getString("from_assignee"), rs.getString("from_priority"));
+        TaskTransitionEvent.State to = state(rs.getString("to_column_id"), rs.getString("to_status"),
+                rs.getString("assignee"), rs.getString("priority"));
+        Timestamp createdAt = rs.getTimestamp("task_created_at");
+        return new TaskTransitionEvent(rs.getLong("task_id"), createdAt != null ? createdAt.toLocalDateTime() : null,
+                from, to, rs.getTimestamp("occurred_at").toLocalDateTime());
+    }
+    
+    // null para o lado ausente: origem na criação, destino na exclusão
+    private static TaskTransitionEvent.State state(String columnId, String status, String assignee, String priority) {
+        if (columnId == null && status == null) {
+            return null;
+        }
+        return new TaskTransitionEvent.State(columnId, status != null ? Task.Status.valueOf(status) : null, assignee,
+                priority != null ? Task.Priority.valueOf(priority) : null);
+    }
+    
+    // Reconstrói o WIP de cada quadro a partir de tasks. A soma incremental não vê o que mudou sem transição:
+    // movimentações reaplicadas do log depois de uma queda, alterações feitas direto no banco.
+    @Scheduled(cron = "${kanban.analytics.wip-rebuild-cron:0 15 3 * * *}")
+    public void rebuildWip() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        boardRegistry.forEachBoard(() -> {
+            // Movimentações ainda no write-behind já têm a transição no histórico, mas não estão em tasks.
+            // Uma movimentação feita durante a reconstrução ainda pode deixar a diferença dela até a próxima.
+            boardProjection.flushPendingWrites();
+            transaction.executeWithoutResult(status -> rebuildWip(BoardContext.current()));
+        });
+    }
+    
+    private void rebuildWip(long boardId) {
+        // Com a marca bloqueada, nenhum lote é agregado entre a leitura e a gravação do WIP
+        long watermark = lockWatermark(boardId);
+        Map<List<String>, Long> wip = new HashMap<>();
+        jdbcTemplate.query(WIP_SOURCE_SQL, rs -> {
+            wip.merge(List.of(orNone(rs.getString(1)), orNone(rs.getString(2)), orNone(rs.getString(3)),
+                    orNone(rs.getString(4))), rs.getLong(5), Long::sum);
+        }, boardId, boardId, watermark, boardId, watermark);
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<List<String>, Long> entry : wip.entrySet()) {
+            List<String> key = entry.getKey();
+            if (entry.getValue() != 0) {
+                rows.add(new Object[]{boardId, key.get(0), key.get(1), key.get(2), key.get(3), entry.getValue()});
+            }
+        }
+        jdbcTemplate.update("DELETE FROM task_wip WHERE board_id = ?", boardId);
+        jdbcTemplate.batchUpdate(INSERT_WIP_SQL, rows);
+    }
+    
+    private void aggregate(List<TaskTransitionEvent> batch) {
+        // Chaves: (dia, coluna, responsável, prioridade) -> {entradas, saídas, conclusões, segundos de ciclo}
+        // e (coluna, status, responsável, prioridade) -> variação do WIP
+        Map<List<Object>, long[]> flow = new LinkedHashMap<>();
+        Map<List<String>, Long> wip = new HashMap<>();
+        for (TaskTransitionEvent event : batch) {
+            TaskTransitionEvent.State from = event.getFrom();
+            TaskTransitionEvent.State to = event.getTo();
+            LocalDate day = event.getOccurredAt().toLocalDate();
+            boolean moved = from == null || to == null || event.isMove();
+            if (from != null) {
+                wip.merge(wipKey(from), -1L, Long::sum);
+                if (moved) {
+                    flow.computeIfAbsent(flowKey(day, from), key -> new long[4])[1]++;
+                }
+            }
+            if (to != null) {
+                wip.merge(wipKey(to), 1L, Long::sum);
+                if (moved) {
+                    long[] counters = flow.computeIfAbsent(flowKey(day, to), key -> new long[4]);
+                    counters[0]++;
+                    if (from != null && from.getStatus() != Task.Status.DONE && to.getStatus() == Task.Status.DONE) {
+                        counters[2]++;
+                        counters[3] += cycleTimeSeconds(event);
+                    }
+                }
+            }
+        }
+        
+        for (Map.Entry<List<Object>, long[]> entry : flow.entrySet()) {
+            LocalDate day = (LocalDate) entry.getKey().get(0);
+            String columnId = (String) entry.getKey().get(1);
+            String assignee = (String) entry.getKey().get(2);
+            String priority = (String) entry.getKey().get(3);
+            long[] c = entry.getValue();
+            if (taskFlowDailyRepository.increment(day, columnId, assignee, priority,
+                    (int) c[0], (int) c[1], (int) c[2], c[3]) == 0) {
+                taskFlowDailyRepository.save(new TaskFlowDaily(day, columnId, assignee, priority,
+                        (int) c[0], (int) c[1], (int) c[2], c[3]));
+            }
+        }
+        for (Map.Entry<List<String>, Long> entry : wip.entrySet()) {
+            List<String> key = entry.getKey();
+            long delta = entry.getValue();
+            if (delta != 0 && taskWipRepository.increment(key.get(0), key.get(1), key.get(2), key.get(3), delta) == 0) {
+                taskWipRepository.save(new TaskWip(key.get(0), key.get(1), key.get(2), key.get(3), delta));
+            }
+        }
+    }
+    
+    private void insertTransitions(List<TaskTransitionEvent> events, long syncToken) {
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (TaskTransitionEvent event : events) {
+            TaskTransitionEvent.State from = event.getFrom();
+            TaskTransitionEvent.State to = event.getTo();
+            TaskTransitionEvent.State current = to != null ? to : from;
+            args.add(new Object[]{
+                event.getBoardId(),
+                event.getTaskId(),
+                from != null ? from.getColumnId() : null,
+                to != null ? to.getColumnId() : null,
+                from != null && from.getStatus() != null ? from.getStatus().name() : null,
+                to != null && to.getStatus() != null ? to.getStatus().name() : null,
+                from != null ? from.getAssignee() : null,
+                current.getAssignee(),
+                from != null && from.getPriority() != null ? from.getPriority().name() : null,
+                current.getPriority() != null ? current.getPriority().name() : null,
+                Timestamp.valueOf(event.getOccurredAt()),
+                event.getTaskCreatedAt() != null ? Timestamp.valueOf(event.getTaskCreatedAt()) : null,
+                syncToken
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSITION_SQL, args);
+    }
+    
+    // Transições da transação atual, gravadas em lote logo antes do commit
+    private class Outbox implements TransactionSynchronization {
+        final List<TaskTransitionEvent> events = new ArrayList<>();
+        final long syncToken;
+        
+        Outbox(long syncToken) {
+            this.syncToken = syncToken;
+        }
+        
+        // Antes de SyncRevisions, que troca o token das linhas pela revisão do commit
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+        
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AnalyticsService.this);
+        }
+        
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AnalyticsService.this, this);
+        }
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insertTransitions(events, syncToken);
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AnalyticsService.this);
+        }
+    }
+    
+    // Da primeira entrada em DOING até a conclusão; sem passagem por DOING, conta desde a criação
+    private long cycleTimeSeconds(TaskTransitionEvent event) {
+        LocalDateTime started = taskTransitionRepository.findFirstEntry(event.getTaskId(), Task.Status.DOING, event.getOccurredAt());
+        if (started == null) {
+            started = event.getTaskCreatedAt();
+        }
+        if (started == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(started, event.getOccurredAt()).getSeconds());
+    }
+    
+    private static List<Object> flowKey(LocalDate day, TaskTransitionEvent.State state) {
+        return List.of(day, orNone(state.getColumnId()), orNone(state.getAssignee()), orNone(state.getPriority()));
+    }
+    
+    private static List<String> wipKey(TaskTransitionEvent.State state) {
+        return List.of(orNone(state.getColumnId()), orNone(state.getStatus()), orNone(state.getAssignee()),
+                orNone(state.getPriority()));
+    }
+    
+    private static String orNone(Object value) {
+        return value != null ? value.toString() : NONE;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TaskTransition> getTaskHistory(Long taskId) {
+        return taskTransitionRepository.findByTaskIdOrderByOccurredAtAscIdAsc(taskId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TaskWip> getWip() {
+        return taskWipRepository.findNonEmpty();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AssigneeWip> getWipByAssignee() {
+        List<AssigneeWip> result = new ArrayList<>();
+        for (Object[] row : taskWipRepository.sumOpenByAssignee()) {
+            result.add(new AssigneeWip(fromNone((String) row[0]), ((Number) row[1]).longValue()));
+        }
+        return result;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TaskFlowDaily> getDailyFlow(LocalDate from, LocalDate to, String columnId, String assignee) {
+        checkPeriod(from, to);
+        return taskFlowDailyRepository.findInPeriod(from, to, columnId, assignee);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ThroughputDay> getThroughput(LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        List<ThroughputDay> result = new ArrayList<>();
+        for (Object[] row : taskFlowDailyRepository.sumCompletedByDay(from, to)) {
+            long completed = ((Number) row[1]).longValue();
+            result.add(new ThroughputDay((LocalDate) row[0], completed, averageHours(completed, (Number) row[2])));
+        }
+        return result;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<CycleTimeStat> getCycleTime(LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        List<CycleTimeStat> result = new ArrayList<>();
+        for (Object[] row : taskFlowDailyRepository.sumCompletedByAssigneeAndPriority(from, to)) {
+            String priority = (String) row[1];
+            long completed = ((Number) row[2]).longValue();
+            result.add(new CycleTimeStat(fromNone((String) row[0]),
+                    NONE.equals(priority) ? null : Task.Priority.valueOf(priority),
+                    completed, averageHours(completed, (Number) row[3])));
+        }
+        return result;
+    }
+    
+    private void checkPeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Período inválido: " + from + " > " + to);
+        }
+        if (from.plusDays(maxPeriodDays).isBefore(to)) {
+            throw new IllegalArgumentException("Período maior que " + maxPeriodDays + " dias");
+        }
+    }
+    
+    private static double averageHours(long completed, Number totalSeconds) {
+        if (completed == 0 || totalSeconds == null) {
+            return 0;
+        }
+        return Math.round(totalSeconds.doubleValue() / completed / 36.0) / 100.0;
+    }
+    
+    private static String fromNone(String value) {
+        return Objects.equals(value, NONE) ? null : value;
+    }
+}
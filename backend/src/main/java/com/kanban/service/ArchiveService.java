@@ -0,0 +1,183 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.dto.ArchivedTaskPage;
+import com.kanban.event.BoardChangeEvent;
+import com.kanban.event.TaskTransitionEvent;
+import com.kanban.model.ArchivedTask;
+import com.kanban.model.Task;
+import com.kanban.repository.ArchivedTaskRepository;
+import com.kanban.repository.ColumnRepository;
+import com.kanban.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Arquivamento de tarefas concluídas: tarefas DONE sem alteração há kanban.archive.after-days dias saem de tasks
+// para archived_tasks em lotes de kanban.archive.batch-size, cada lote em sua própria transação, para que o
+// quadro mantenha só o conjunto de trabalho. Para os clientes, arquivar é uma exclusão (tombstone e TASK_DELETED)
+// e restaurar é uma criação com o mesmo id.
+@Service
+@Timed("kanban.service")
+public class ArchiveService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+    
+    @Autowired
+    private ColumnRepository columnRepository;
+    
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private BoardCache boardCache;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private CardRankService cardRankService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Value("${kanban.archive.after-days:30}")
+    private int afterDays;
+    
+    @Value("${kanban.archive.batch-size:500}")
+    private int batchSize;
+    
+    // Limite de lotes por execução; o restante fica para a próxima
+    @Value("${kanban.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+    
+    // Execução agendada: todos os quadros, um de cada vez
+    @Scheduled(cron = "${kanban.archive.cron:0 0 4 * * *}")
+    public void archiveAllBoards() {
+        boardRegistry.forEachBoard(this::archiveCompletedTasks);
+    }
+    
+    // Quadro atual
+    public int archiveCompletedTasks() {
+        // Movimentações ainda no write-behind podem ter tirado a tarefa de DONE
+        boardProjection.flushPendingWrites();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer archived = transaction.execute(status -> archiveBatch(cutoff));
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("{} tarefas concluídas antes de {} arquivadas no quadro {}", total, cutoff, BoardContext.current());
+        }
+        return total;
+    }
+    
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Task> tasks = taskRepository.findForArchival(Task.Status.DONE, cutoff, PageRequest.of(0, batchSize));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        // As linhas estão bloqueadas desde a seleção, mas cópia e remoção conferem de novo status e updated_at
+        // e só as tarefas de fato arquivadas geram exclusões e eventos
+        archivedTaskRepository.copyFromTasks(ids, Task.Status.DONE.name(), cutoff, LocalDateTime.now());
+        Set<Long> archived = new HashSet<>(archivedTaskRepository.findArchivedIds(ids));
+        if (archived.isEmpty()) {
+            return tasks.size();
+        }
+        int deleted = taskRepository.deleteArchived(archived, Task.Status.DONE, cutoff);
+        if (deleted != archived.size()) {
+            throw new IllegalStateException("Arquivamento inconsistente: " + archived.size() + " tarefas copiadas e "
+                    + deleted + " removidas do quadro");
+        }
+        syncService.recordTaskDeletions(archived);
+        
+        for (Task task : tasks) {
+            if (archived.contains(task.getId())) {
+                boardCache.evictTasks(task);
+                eventPublisher.publishEvent(BoardChangeEvent.task(BoardChangeEvent.Type.TASK_DELETED, task));
+                eventPublisher.publishEvent(TaskTransitionEvent.deleted(task));
+            }
+        }
+        // Lotes contam as tarefas selecionadas, para que uma tarefa que ficou no quadro não encerre a execução
+        return tasks.size();
+    }
+    
+    @Transactional(readOnly = true)
+    public ArchivedTaskPage getArchivedTasks(int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, TaskService.MAX_PAGE_SIZE));
+        Page<ArchivedTask> result = archivedTaskRepository.findAllByOrderByArchivedAtDescIdDesc(
+                PageRequest.of(Math.max(0, page), pageSize));
+        return new ArchivedTaskPage(result.getContent(), result.getNumber(), pageSize,
+                result.getTotalElements(), result.getTotalPages());
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ArchivedTask> getArchivedTask(Long id) {
+        return archivedTaskRepository.findById(id);
+    }
+    
+    // Devolve a tarefa ao quadro com o mesmo id, no fim da coluna; se a coluna original foi excluída, vai para a
+    // coluna do status
+    @Transactional
+    public Task restoreTask(Long id) {
+        ArchivedTask archived = archivedTaskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarefa arquivada não encontrada com id: " + id));
+        String columnId = archived.getColumnId();
+        if (columnId == null || !columnRepository.existsByColumnId(columnId)) {
+            columnId = archived.getStatus().name().toLowerCase();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        archivedTaskRepository.copyToTasks(BoardContext.current(), id, columnId, cardRankService.endOf(columnId), now,
+                syncRevisions.token(SyncRevisions.TASKS));
+        archivedTaskRepository.delete(archived);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada com id: " + id));
+        
+        boardCache.evictTasks(task);
+        eventPublisher.publishEvent(BoardChangeEvent.task(BoardChangeEvent.Type.TASK_CREATED, task));
+        eventPublisher.publishEvent(new TaskTransitionEvent(task.getId(), task.getCreatedAt(), null,
+                TaskTransitionEvent.State.of(task), now));
+        return task;
+    }
+}
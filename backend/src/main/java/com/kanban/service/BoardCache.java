@@ -0,0 +1,90 @@
+package com.kanban.service;
+
+import com.kanban.config.CacheConfig;
+import com.kanban.model.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Remove dos caches apenas as entradas afetadas por uma alteração e encerra o compartilhamento das leituras
+// em andamento do quadro (SingleFlight). Dentro de uma transação a remoção acontece após o commit, para que
+// uma leitura concorrente não volte a cachear o estado anterior.
+@Component
+public class BoardCache {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    public void evictColumns(String... columnIds) {
+        afterCommit(() -> {
+            singleFlight.forgetBoard();
+            evict(CacheConfig.COLUMNS, CacheConfig.ALL_COLUMNS_KEY);
+            for (String columnId : columnIds) {
+                evict(CacheConfig.COLUMN_BY_COLUMN_ID, columnId);
+            }
+        });
+    }
+    
+    public void evictTasks(String columnId, Task.Status status) {
+        afterCommit(() -> {
+            singleFlight.forgetBoard();
+            if (columnId != null) {
+                evict(CacheConfig.TASKS_BY_COLUMN, columnId);
+                evict(CacheConfig.TASK_COUNT_BY_COLUMN, columnId);
+            }
+            if (status != null) {
+                evict(CacheConfig.TASKS_BY_STATUS, status);
+                evict(CacheConfig.TASK_COUNT_BY_STATUS, status);
+            }
+        });
+    }
+    
+    public void evictTasks(Task task) {
+        evictTasks(task.getColumnId(), task.getStatus());
+    }
+    
+    // Limpa os caches de tarefas de todos os quadros
+    public void evictAllTasks() {
+        afterCommit(() -> {
+            singleFlight.forgetAll();
+            clear(CacheConfig.TASKS_BY_COLUMN);
+            clear(CacheConfig.TASK_COUNT_BY_COLUMN);
+            clear(CacheConfig.TASKS_BY_STATUS);
+            clear(CacheConfig.TASK_COUNT_BY_STATUS);
+        });
+    }
+    
+    // Entradas do quadro atual (CacheConfig.boardKey); após o commit a thread continua no mesmo quadro
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(CacheConfig.boardKey(key));
+        }
+    }
+    
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+    
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.config.BoardContext;
+import com.kanban.event.BoardChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Distribui as alterações do quadro por Server-Sent Events, com um feed separado por quadro.
+// Cada evento recebe uma revisão crescente no feed do seu quadro e fica num histórico limitado para retomada (Last-Event-ID).
+// As revisões recomeçam do zero a cada inicialização: o id SSE leva também a época da execução, e um id de outra
+// execução (reinício, outra instância) recebe "resync" em vez de uma retomada a partir de uma revisão alheia.
+// Cada assinante tem um buffer limitado; eventos da mesma entidade são agrupados enquanto ele não consome,
+// e se o buffer estourar o assinante recebe "resync" para recarregar o quadro.
+// A entrega é independente por assinante: cada um tem no máximo uma thread enviando, e quem fica preso num envio
+// por mais de send-timeout-ms é desconectado (o cliente reconecta com Last-Event-ID), sem atrasar os demais.
+@Service
+public class BoardEventService {
+    
+    public static final String RESYNC_EVENT = "resync";
+    
+    private static final Logger log = LoggerFactory.getLogger(BoardEventService.class);
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${kanban.events.history-size:1024}")
+    private int historySize;
+    
+    @Value("${kanban.events.subscriber-buffer:256}")
+    private int subscriberBuffer;
+    
+    @Value("${kanban.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+    
+    @Value("${kanban.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    
+    // Início desta execução, prefixo dos ids dos eventos
+    private final long epoch = System.currentTimeMillis();
+    // Um feed por quadro: revisões, histórico e assinantes independentes
+    private final Map<Long, Feed> feeds = new ConcurrentHashMap<>();
+    // Sem limite de threads: um envio bloqueado ocupa só a thread do seu assinante
+    private final ExecutorService dispatcher = Executors.newCachedThreadPool(daemon("board-events"));
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("board-events-heartbeat"));
+    
+    public BoardEventService() {
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, 25, 25, TimeUnit.SECONDS);
+        heartbeat.scheduleAtFixedRate(this::dropStalledSubscribers, 1, 1, TimeUnit.SECONDS);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        // Serializado uma única vez, fora do lock, e compartilhado por todos os assinantes
+        feed(event.getBoardId()).publish(event.getType().name(), event.getCoalescingKey(), toJson(event));
+    }
+    
+    // Revisão do feed do quadro atual
+    public long getRevision() {
+        return feed(BoardContext.current()).getRevision();
+    }
+    
+    // Registra um assinante no feed do quadro atual; com lastEventId, reenvia o que ele perdeu
+    // ou pede resync se o id é de outra execução ou o histórico não cobre
+    public SseEmitter subscribe(String lastEventId) {
+        return feed(BoardContext.current()).subscribe(lastEventId);
+    }
+    
+    // Id SSE do evento com a revisão informada, nesta execução; "since" de quem leu o quadro nessa revisão
+    public String eventId(long revision) {
+        return epoch + "-" + revision;
+    }
+    
+    // Revisão de um id desta execução; null para id de outra execução ou mal formado
+    private Long revisionOf(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            if (Long.parseLong(eventId.substring(0, separator)) != epoch) {
+                return null;
+            }
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private Feed feed(long boardId) {
+        return feeds.computeIfAbsent(boardId, id -> new Feed());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        for (Feed feed : feeds.values()) {
+            for (Subscriber subscriber : feed.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+    
+    private void sendHeartbeats() {
+        for (Feed feed : feeds.values()) {
+            for (Subscriber subscriber : feed.subscribers) {
+                subscriber.requestPing();
+            }
+        }
+    }
+    
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Feed feed : feeds.values()) {
+            for (Subscriber subscriber : feed.subscribers) {
+                if (subscriber.sending && now - subscriber.sendStartedAt > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                    log.debug("Assinante de eventos sem consumir há mais de {} ms; desconectado", sendTimeoutMs);
+                    subscriber.disconnect(new TimeoutException("Envio de evento excedeu " + sendTimeoutMs + " ms"));
+                }
+            }
+        }
+    }
+    
+    private String toJson(BoardChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao serializar evento do quadro", e);
+        }
+    }
+    
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static class Message {
+        final long revision;
+        final String type;
+        final String key;
+        final String json;
+        
+        Message(long revision, String type, String key, String json) {
+            this.revision = revision;
+            this.type = type;
+            this.key = key;
+            this.json = json;
+        }
+    }
+    
+    private class Feed {
+        final ArrayDeque<Message> history = new ArrayDeque<>();
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        long revision;
+        
+        void publish(String type, String key, String body) {
+            synchronized (this) {
+                long next = ++revision;
+                String json = "{\"revision\":" + next + (body.length() > 2 ? "," + body.substring(1) : "}");
+                Message message = new Message(next, type, key, json);
+                history.addLast(message);
+                if (history.size() > historySize) {
+                    history.removeFirst();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(message);
+                }
+            }
+        }
+        
+        synchronized long getRevision() {
+            return revision;
+        }
+        
+        SseEmitter subscribe(String lastEventId) {
+            SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+            Subscriber subscriber = new Subscriber(this, emitter);
+            emitter.onCompletion(() -> subscribers.remove(subscriber));
+            emitter.onTimeout(() -> subscribers.remove(subscriber));
+            emitter.onError(e -> subscribers.remove(subscriber));
+            
+            synchronized (this) {
+                if (lastEventId != null) {
+                    Long lastRevision = revisionOf(lastEventId);
+                    long oldest = history.isEmpty() ? revision + 1 : history.peekFirst().revision;
+                    if (lastRevision == null || lastRevision > revision || lastRevision < oldest - 1) {
+                        subscriber.requestResync();
+                    } else {
+                        for (Message message : history) {
+                            if (message.revision > lastRevision) {
+                                subscriber.offer(message);
+                            }
+                        }
+                    }
+                }
+                subscribers.add(subscriber);
+            }
+            return emitter;
+        }
+    }
+    
+    private class Subscriber {
+        final Feed feed;
+        final SseEmitter emitter;
+        // Pendentes por chave de agrupamento, na ordem da última alteração
+        final LinkedHashMap<String, Message> pending = new LinkedHashMap<>();
+        boolean resync;
+        boolean ping;
+        boolean draining;
+        // Envio em andamento, lido pela verificação de assinantes travados
+        volatile boolean sending;
+        volatile long sendStartedAt;
+        
+        Subscriber(Feed feed, SseEmitter emitter) {
+            this.feed = feed;
+            this.emitter = emitter;
+        }
+        
+        synchronized void offer(Message message) {
+            if (!resync) {
+                pending.remove(message.key);
+                pending.put(message.key, message);
+                if (pending.size() > subscriberBuffer) {
+                    requestResync();
+                }
+            }
+            scheduleDrain();
+        }
+        
+        synchronized void requestResync() {
+            pending.clear();
+            resync = true;
+            scheduleDrain();
+        }
+        
+        // O heartbeat passa pela mesma fila de envio, para não disputar o emitter com um envio travado
+        synchronized void requestPing() {
+            ping = true;
+            scheduleDrain();
+        }
+        
+        private void scheduleDrain() {
+            if (!draining) {
+                draining = true;
+                dispatcher.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            while (true) {
+                List<Message> batch;
+                boolean sendResync;
+                boolean sendPing;
+                synchronized (this) {
+                    if (pending.isEmpty() && !resync && !ping) {
+                        draining = false;
+                        return;
+                    }
+                    sendResync = resync;
+                    sendPing = ping && pending.isEmpty() && !resync;
+                    resync = false;
+                    ping = false;
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                }
+                if (sendPing && !send(SseEmitter.event().comment("ping"))) {
+                    return;
+                }
+                if (sendResync) {
+                    long revision = feed.getRevision();
+                    String json = "{\"revision\":" + revision + ",\"eventId\":\"" + eventId(revision) + "\"}";
+                    if (!send(SseEmitter.event().name(RESYNC_EVENT).data(json, MediaType.APPLICATION_JSON))) {
+                        return;
+                    }
+                }
+                for (Message message : batch) {
+                    SseEmitter.SseEventBuilder event = SseEmitter.event()
+                            .id(eventId(message.revision))
+                            .name(message.type)
+                            .data(message.json, MediaType.APPLICATION_JSON);
+                    if (!send(event)) {
+                        return;
+                    }
+                }
+            }
+        }
+        
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            sendStartedAt = System.nanoTime();
+            sending = true;
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Assinante de eventos desconectado: {}", e.getMessage());
+                disconnect(e);
+                return false;
+            } finally {
+                sending = false;
+            }
+        }
+        
+        void disconnect(Throwable cause) {
+            feed.subscribers.remove(this);
+            emitter.completeWithError(cause);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.dto.BoardSnapshot;
+import com.kanban.dto.ImportProgress;
+import com.kanban.event.BoardChangeEvent;
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+import com.kanban.repository.ColumnRepository;
+import com.kanban.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Projeção em memória do quadro (opcional, kanban.projection.enabled).
+// Leituras usam um snapshot imutável sem lock (colunas, tarefas por coluna e por id); cada alteração cria um novo
+// snapshot copiando só as colunas e a parte do índice afetadas.
+// A projeção acompanha o banco pelos BoardChangeEvent dos serviços; movimentações (com If-Match conferido aqui,
+// sob o mesmo lock) são aplicadas aqui primeiro e persistidas depois pelo TaskMoveWriteBehind.
+// Cobre só o quadro padrão; os demais quadros são sempre lidos e gravados direto no banco.
+@Service
+public class BoardProjection {
+    
+    private static final Logger log = LoggerFactory.getLogger(BoardProjection.class);
+    
+    // Ordem dos cartões na coluna; tarefas sem posição (anteriores ao card_rank) primeiro, como NULL no MySQL.
+    // As listas por status e a lista completa seguem TaskOrdering, como as consultas do TaskRepository
+    static final Comparator<Task> COLUMN_ORDER = Comparator
+            .comparing(Task::getCardRank, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TaskOrdering.CREATED);
+    
+    @Autowired
+    private ColumnRepository columnRepository;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private TaskMoveWriteBehind writeBehind;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${kanban.projection.enabled:false}")
+    private boolean enabled;
+    
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    
+    // Resultado de move: a tarefa antes e depois, lidas sob o mesmo lock da gravação no log
+    public static final class Move {
+        private final Task previous;
+        private final Task moved;
+        
+        Move(Task previous, Task moved) {
+            this.previous = previous;
+            this.moved = moved;
+        }
+        
+        public Task getPrevious() {
+            return previous;
+        }
+        
+        public Task getMoved() {
+            return moved;
+        }
+    }
+    
+    private static final class Snapshot {
+        // Momento da carga + número da alteração: identifica o conteúdo (ETag do quadro)
+        final long loadedAt;
+        final long sequence;
+        final List<BoardColumn> columns;
+        // Inclui colunas inexistentes referenciadas por tarefas (tarefas sem coluna no quadro)
+        final Map<String, ProjectedColumn> tasksByColumn;
+        // Mesmas tarefas de tasksByColumn, por id; publicado junto para que as leituras sejam consistentes
+        final ProjectedIndex tasksById;
+        
+        Snapshot(long loadedAt, long sequence, List<BoardColumn> columns, Map<String, ProjectedColumn> tasksByColumn,
+                 ProjectedIndex tasksById) {
+            this.loadedAt = loadedAt;
+            this.sequence = sequence;
+            this.columns = columns;
+            this.tasksByColumn = tasksByColumn;
+            this.tasksById = tasksById;
+        }
+        
+        Snapshot next(List<BoardColumn> newColumns, Map<String, ProjectedColumn> newTasksByColumn, ProjectedIndex newTasksById) {
+            return new Snapshot(loadedAt, sequence + 1, newColumns, newTasksByColumn, newTasksById);
+        }
+        
+        String version() {
+            return "p" + loadedAt + "-" + sequence;
+        }
+    }
+    
+    // O log que restou de uma queda já foi reaplicado pelo TaskMoveWriteBehind, antes de o servidor subir
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        writeBehind.start();
+        reload();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (enabled) {
+            writeBehind.stop();
+        }
+    }
+    
+    // Até a carga inicial terminar (e fora do quadro padrão) os serviços continuam lendo do banco
+    public boolean isReady() {
+        return snapshot.get() != null && BoardContext.isDefault();
+    }
+    
+    public String getVersion() {
+        return snapshot.get().version();
+    }
+    
+    public List<BoardColumn> getColumns() {
+        return snapshot.get().columns;
+    }
+    
+    public Optional<Task> getTask(Long id) {
+        return Optional.ofNullable(snapshot.get().tasksById.get(id));
+    }
+    
+    public List<Task> getTasksByColumn(String columnId) {
+        return snapshot.get().tasksByColumn.getOrDefault(columnId, ProjectedColumn.EMPTY).tasks();
+    }
+    
+    public long countByColumn(String columnId) {
+        return snapshot.get().tasksByColumn.getOrDefault(columnId, ProjectedColumn.EMPTY).size();
+    }
+    
+    public List<Task> getTasksByStatus(Task.Status status) {
+        List<Task> tasks = new ArrayList<>();
+        for (ProjectedColumn column : snapshot.get().tasksByColumn.values()) {
+            column.collectByStatus(status, tasks);
+        }
+        tasks.sort(TaskOrdering.PRIORITY_CREATED);
+        return tasks;
+    }
+    
+    public long countByStatus(Task.Status status) {
+        long count = 0;
+        for (ProjectedColumn column : snapshot.get().tasksByColumn.values()) {
+            count += column.countByStatus(status);
+        }
+        return count;
+    }
+    
+    public List<Task> getAllTasks() {
+        Snapshot current = snapshot.get();
+        List<Task> tasks = new ArrayList<>(current.tasksById.size());
+        for (ProjectedColumn column : current.tasksByColumn.values()) {
+            tasks.addAll(column.tasks());
+        }
+        tasks.sort(TaskOrdering.STATUS_PRIORITY_CREATED);
+        return tasks;
+    }
+    
+    public BoardSnapshot<Task> getBoardSnapshot(long revision, String eventId) {
+        Snapshot current = snapshot.get();
+        List<BoardSnapshot.ColumnSnapshot<Task>> columns = new ArrayList<>(current.columns.size());
+        Map<String, Long> countsByColumn = new LinkedHashMap<>();
+        Map<Task.Status, Long> countsByStatus = new EnumMap<>(Task.Status.class);
+        for (Task.Status status : Task.Status.values()) {
+            countsByStatus.put(status, 0L);
+        }
+        Map<String, ProjectedColumn> remaining = new LinkedHashMap<>(current.tasksByColumn);
+        for (BoardColumn column : current.columns) {
+            ProjectedColumn tasks = remaining.getOrDefault(column.getColumnId(), ProjectedColumn.EMPTY);
+            remaining.remove(column.getColumnId());
+            columns.add(new BoardSnapshot.ColumnSnapshot<>(column, tasks.tasks()));
+            countsByColumn.put(column.getColumnId(), (long) tasks.size());
+        }
+        List<Task> unassignedTasks = new ArrayList<>();
+        for (Map.Entry<String, ProjectedColumn> entry : remaining.entrySet()) {
+            unassignedTasks.addAll(entry.getValue().tasks());
+            if (entry.getKey() != null) {
+                countsByColumn.put(entry.getKey(), (long) entry.getValue().size());
+            }
+        }
+        unassignedTasks.sort(COLUMN_ORDER);
+        for (ProjectedColumn column : current.tasksByColumn.values()) {
+            for (Task.Status status : Task.Status.values()) {
+                countsByStatus.merge(status, column.countByStatus(status), Long::sum);
+            }
+        }
+        return new BoardSnapshot<>(current.version(), revision, eventId, columns, unassignedTasks, countsByColumn, countsByStatus);
+    }
+    
+    // Movimentação com persistência assíncrona: registrada no log, aplicada na projeção e devolvida.
+    // A posição na coluna segue CardRankService.rankFor; null quando a coluna precisa ser redistribuída antes.
+    // Leitura do estado atual, conferência da versão (expectedVersion, se informada) e escrita no log acontecem
+    // sob o lock, então duas movimentações simultâneas não partem da mesma versão. O fsync do log é esperado
+    // fora do lock, em grupo com as movimentações concorrentes; quem movimentou só recebe a resposta (e o
+    // evento só é publicado) depois dele. Uma leitura da projeção pode ver a movimentação instantes antes, mas o
+    // log é sequencial: nenhuma movimentação posterior fica no disco sem as anteriores.
+    public Move move(Long taskId, String columnId, Task.Status status, Long afterId, Long beforeId, Long expectedVersion) {
+        Move result;
+        long seq;
+        synchronized (writeLock) {
+            Task current = snapshot.get().tasksById.get(taskId);
+            if (current == null) {
+                throw new RuntimeException("Tarefa não encontrada com id: " + taskId);
+            }
+            if (expectedVersion != null && !Objects.equals(expectedVersion, current.getVersion())) {
+                throw new OptimisticLockingFailureException("Tarefa alterada por outra requisição: " + taskId);
+            }
+            String rank;
+            if (afterId == null && beforeId == null) {
+                rank = Objects.equals(current.getColumnId(), columnId) && current.getCardRank() != null
+                        ? current.getCardRank() : CardRank.after(lastRank(columnId));
+            } else {
+                List<Task> tasks = snapshot.get().tasksByColumn.getOrDefault(columnId, ProjectedColumn.EMPTY)
+                        .without(taskId).tasks();
+                List<Long> ids = new ArrayList<>(tasks.size());
+                List<String> keys = new ArrayList<>(tasks.size());
+                for (Task task : tasks) {
+                    ids.add(task.getId());
+                    keys.add(task.getCardRank());
+                }
+                rank = CardRankService.rankIn(ids, keys, afterId, beforeId);
+                if (rank == null) {
+                    return null;
+                }
+            }
+            Task moved = copyOf(current);
+            moved.setColumnId(columnId);
+            moved.setCardRank(rank);
+            if (status != null) {
+                moved.setStatus(status);
+            }
+            moved.setUpdatedAt(LocalDateTime.now());
+            moved.setVersion(current.getVersion() + 1);
+            // Log antes da projeção, na mesma ordem
+            seq = writeBehind.write(new TaskMoveWriteBehind.PendingMove(taskId, moved.getColumnId(), moved.getStatus(),
+                    moved.getCardRank(), moved.getUpdatedAt(), moved.getVersion(), current.getVersion()));
+            put(moved);
+            result = new Move(current, moved);
+        }
+        writeBehind.awaitDurable(seq);
+        return result;
+    }
+    
+    // Posição do último cartão da coluna (null se vazia ou ainda sem posições)
+    public String lastRank(String columnId) {
+        List<Task> tasks = getTasksByColumn(columnId);
+        return tasks.isEmpty() ? null : tasks.get(tasks.size() - 1).getCardRank();
+    }
+    
+    // Redistribuição das posições de uma coluna (CardRankService.respace). No quadro padrão com a projeção ativa,
+    // grava antes as movimentações pendentes (que trazem posições antigas) e aplica as novas posições na projeção
+    // sem liberar o lock; o evento CARDS_RERANKED, que chega depois, não é reaplicado aqui.
+    public Map<Long, String> rerank(String columnId, Supplier<Map<Long, String>> writer) {
+        if (!enabled || !BoardContext.isDefault()) {
+            return writer.get();
+        }
+        synchronized (writeLock) {
+            writeBehind.flush();
+            Map<Long, String> ranks = writer.get();
+            Snapshot current = snapshot.get();
+            if (current != null) {
+                List<Task> tasks = new ArrayList<>();
+                ProjectedIndex tasksById = current.tasksById;
+                for (Task task : current.tasksByColumn.getOrDefault(columnId, ProjectedColumn.EMPTY).tasks()) {
+                    Task copy = copyOf(task);
+                    copy.setCardRank(ranks.getOrDefault(task.getId(), task.getCardRank()));
+                    tasks.add(copy);
+                    tasksById = tasksById.with(copy);
+                }
+                tasks.sort(COLUMN_ORDER);
+                Map<String, ProjectedColumn> tasksByColumn = new LinkedHashMap<>(current.tasksByColumn);
+                tasksByColumn.put(columnId, ProjectedColumn.of(tasks));
+                snapshot.set(current.next(current.columns, tasksByColumn, tasksById));
+            }
+            return ranks;
+        }
+    }
+    
+    // Antes de uma escrita síncrona no banco, para que ela parta do estado já movimentado
+    public void flushPendingWrites() {
+        if (enabled && BoardContext.isDefault() && writeBehind.hasPending()) {
+            writeBehind.flush();
+        }
+    }
+    
+    // Executado antes do BoardEventService: quando a revisão do feed avança, a projeção já reflete o evento
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        if (event.getBoardId() != BoardContext.DEFAULT_BOARD_ID || snapshot.get() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case TASK_CREATED, TASK_UPDATED, TASK_MOVED -> upsert((Task) event.getData());
+            case TASK_DELETED -> remove(event.getTaskId());
+            case COLUMN_CREATED, COLUMN_UPDATED, COLUMNS_REORDERED -> reloadColumns();
+            // As tarefas da coluna foram movidas ou excluídas em massa no banco
+            case COLUMN_DELETED -> reload();
+            // Tarefas inseridas em massa, sem eventos individuais
+            case TASKS_IMPORTED -> {
+                if (((ImportProgress) event.getData()).isDone()) {
+                    reload();
+                }
+            }
+            default -> { }
+        }
+    }
+    
+    // Carrega colunas e tarefas do banco, depois de gravar as movimentações pendentes
+    public void reload() {
+        synchronized (writeLock) {
+            writeBehind.flush();
+            List<BoardColumn> columns = readOnly(() -> columnRepository.findAllOrderByDisplayOrder());
+            List<Task> tasks = readOnly(() -> taskRepository.findAllInRankOrder());
+            Map<String, List<Task>> grouped = new LinkedHashMap<>();
+            for (BoardColumn column : columns) {
+                grouped.put(column.getColumnId(), new ArrayList<>());
+            }
+            for (Task task : tasks) {
+                grouped.computeIfAbsent(task.getColumnId(), key -> new ArrayList<>()).add(task);
+            }
+            Map<String, ProjectedColumn> tasksByColumn = new LinkedHashMap<>();
+            grouped.forEach((columnId, columnTasks) -> tasksByColumn.put(columnId, ProjectedColumn.of(columnTasks)));
+            // O snapshot anterior (com o índice anterior) segue publicado até este substituí-lo
+            snapshot.set(new Snapshot(System.currentTimeMillis(), 0, Collections.unmodifiableList(columns), tasksByColumn,
+                    ProjectedIndex.of(tasks)));
+            log.info("Projeção do quadro carregada: {} colunas, {} tarefas", columns.size(), tasks.size());
+        }
+    }
+    
+    private void reloadColumns() {
+        synchronized (writeLock) {
+            List<BoardColumn> columns = readOnly(() -> columnRepository.findAllOrderByDisplayOrder());
+            Snapshot current = snapshot.get();
+            snapshot.set(current.next(Collections.unmodifiableList(columns), current.tasksByColumn, current.tasksById));
+        }
+    }
+    
+    private void upsert(Task task) {
+        synchronized (writeLock) {
+            Task copy = copyOf(task);
+            // Movimentação ainda não gravada é mais nova que o estado lido do banco
+            TaskMoveWriteBehind.PendingMove pendingMove = writeBehind.pendingFor(copy.getId());
+            if (pendingMove != null) {
+                copy.setColumnId(pendingMove.columnId);
+                copy.setStatus(pendingMove.status);
+                if (pendingMove.cardRank != null) {
+                    copy.setCardRank(pendingMove.cardRank);
+                }
+                copy.setUpdatedAt(pendingMove.updatedAt);
+                copy.setVersion(Math.max(copy.getVersion() != null ? copy.getVersion() : 0L, pendingMove.version));
+            }
+            put(copy);
+        }
+    }
+    
+    private void put(Task task) {
+        Snapshot current = snapshot.get();
+        Map<String, ProjectedColumn> tasksByColumn = new LinkedHashMap<>(current.tasksByColumn);
+        Task previous = current.tasksById.get(task.getId());
+        if (previous != null && !Objects.equals(previous.getColumnId(), task.getColumnId())) {
+            tasksByColumn.computeIfPresent(previous.getColumnId(), (key, column) -> column.without(task.getId()));
+        }
+        tasksByColumn.put(task.getColumnId(), tasksByColumn.getOrDefault(task.getColumnId(), ProjectedColumn.EMPTY).with(task));
+        snapshot.set(current.next(current.columns, tasksByColumn, current.tasksById.with(task)));
+    }
+    
+    private void remove(Long taskId) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot.get();
+            Task previous = current.tasksById.get(taskId);
+            if (previous == null) {
+                return;
+            }
+            Map<String, ProjectedColumn> tasksByColumn = new LinkedHashMap<>(current.tasksByColumn);
+            tasksByColumn.computeIfPresent(previous.getColumnId(), (key, column) -> column.without(taskId));
+            snapshot.set(current.next(current.columns, tasksByColumn, current.tasksById.without(taskId)));
+        }
+    }
+    
+    private <T> T readOnly(Supplier<T> query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        return BoardContext.callAs(BoardContext.DEFAULT_BOARD_ID, () -> transaction.execute(status -> query.get()));
+    }
+    
+    // As instâncias da projeção não podem ser entidades gerenciadas nem objetos que o chamador ainda altera
+    private static Task copyOf(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setBoardId(task.getBoardId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setAssignee(task.getAssignee());
+        copy.setPriority(task.getPriority());
+        copy.setStatus(task.getStatus());
+        copy.setDueDate(task.getDueDate());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        copy.setColumnId(task.getColumnId());
+        copy.setCardRank(task.getCardRank());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,49 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.config.CacheConfig;
+import com.kanban.model.Board;
+import com.kanban.repository.BoardRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+// Catálogo de quadros. A tabela boards fica com o quadro padrão (e no shard dele), então as consultas do
+// catálogo rodam no contexto do quadro padrão; o restante da aplicação trabalha sempre dentro de um quadro.
+@Service
+@Timed("kanban.service")
+public class BoardRegistry {
+    
+    @Autowired
+    private BoardRepository boardRepository;
+    
+    public List<Board> getAllBoards() {
+        return BoardContext.callAs(BoardContext.DEFAULT_BOARD_ID, boardRepository::findAllOrderById);
+    }
+    
+    // Consultado a cada requisição da API (BoardContextFilter); quadros inexistentes também ficam em cache
+    @Cacheable(cacheNames = CacheConfig.BOARDS, key = "#id")
+    public Optional<Board> getBoard(Long id) {
+        return BoardContext.callAs(BoardContext.DEFAULT_BOARD_ID, () -> boardRepository.findById(id));
+    }
+    
+    // Só o registro no catálogo; as colunas padrão são criadas por BoardService.createBoard
+    @CacheEvict(cacheNames = CacheConfig.BOARDS, key = "#result.id")
+    public Board register(String name) {
+        return BoardContext.callAs(BoardContext.DEFAULT_BOARD_ID, () -> boardRepository.save(new Board(name)));
+    }
+    
+    // Executa a ação em cada quadro, um de cada vez, com o contexto do quadro definido.
+    // Para processos em segundo plano: a ação deve abrir suas próprias transações (sessão por quadro).
+    public void forEachBoard(Runnable action) {
+        List<Long> boardIds = BoardContext.callAs(BoardContext.DEFAULT_BOARD_ID, boardRepository::findAllIds);
+        for (Long boardId : boardIds) {
+            BoardContext.runAs(boardId, action);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.dto.BoardSnapshot;
+import com.kanban.dto.TaskCard;
+import com.kanban.model.Board;
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+import com.kanban.repository.ColumnRepository;
+import com.kanban.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Service
+@Timed("kanban.service")
+public class BoardService {
+    
+    @Autowired
+    private ColumnRepository columnRepository;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private BoardEventService boardEventService;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Autowired
+    private ColumnService columnService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    // Registra o quadro no catálogo e cria as colunas padrão nele
+    public Board createBoard(Board board) {
+        Board saved = boardRegistry.register(board.getName());
+        // Uma sessão já presa à thread (open-in-view, se ligado) pertence ao quadro em que foi aberta: fica de
+        // lado enquanto a transação abre uma sessão própria no novo quadro
+        Object requestSession = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            BoardContext.runAs(saved.getId(),
+                    () -> transaction.executeWithoutResult(status -> columnService.initializeDefaultColumns()));
+        } finally {
+            if (requestSession != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestSession);
+            }
+        }
+        return saved;
+    }
+    
+    // Versão do quadro: a revisão de sincronização (SyncRevisions), que avança a cada criação, alteração ou
+    // exclusão de tarefa ou coluna. Uma linha lida pela chave, mesmo nas respostas 304.
+    @Transactional(readOnly = true)
+    public String getBoardVersion() {
+        if (boardProjection.isReady()) {
+            return boardProjection.getVersion();
+        }
+        return "r" + BoardContext.current() + "-" + syncRevisions.current();
+    }
+    
+    @Transactional(readOnly = true)
+    public BoardSnapshot<Task> getBoardSnapshot() {
+        // Lida antes das consultas: alterações posteriores terão revisão maior e chegarão pelo feed
+        long revision = boardEventService.getRevision();
+        String eventId = boardEventService.eventId(revision);
+        if (boardProjection.isReady()) {
+            return boardProjection.getBoardSnapshot(revision, eventId);
+        }
+        return loadSnapshot(revision, eventId, taskRepository::findAllInRankOrder, Task::getColumnId);
+    }
+    
+    // Mesmo quadro com TaskCard: sem descrição, que no banco nem é lida
+    @Transactional(readOnly = true)
+    public BoardSnapshot<TaskCard> getBoardCards() {
+        long revision = boardEventService.getRevision();
+        String eventId = boardEventService.eventId(revision);
+        if (boardProjection.isReady()) {
+            return boardProjection.getBoardSnapshot(revision, eventId).mapTasks(TaskCard::of);
+        }
+        return loadSnapshot(revision, eventId, taskRepository::findAllCardsInRankOrder, TaskCard::getColumnId);
+    }
+    
+    // Versão lida antes das tarefas, como no ETag: no pior caso o cliente recarrega dados que já tem
+    private <T> BoardSnapshot<T> loadSnapshot(long revision, String eventId, Supplier<List<T>> tasks,
+                                              Function<T, String> columnIdOf) {
+        String version = getBoardVersion();
+        List<BoardColumn> columns = columnRepository.findAllOrderByDisplayOrder();
+        
+        Map<String, List<T>> tasksByColumn = new LinkedHashMap<>();
+        for (BoardColumn column : columns) {
+            tasksByColumn.put(column.getColumnId(), new ArrayList<>());
+        }
+        List<T> unassignedTasks = new ArrayList<>();
+        for (T task : tasks.get()) {
+            String columnId = columnIdOf.apply(task);
+            List<T> columnTasks = columnId != null ? tasksByColumn.get(columnId) : null;
+            (columnTasks != null ? columnTasks : unassignedTasks).add(task);
+        }
+        
+        List<BoardSnapshot.ColumnSnapshot<T>> columnSnapshots = new ArrayList<>(columns.size());
+        for (BoardColumn column : columns) {
+            columnSnapshots.add(new BoardSnapshot.ColumnSnapshot<>(column, tasksByColumn.get(column.getColumnId())));
+        }
+        
+        Map<String, Long> countsByColumn = new LinkedHashMap<>();
+        for (BoardColumn column : columns) {
+            countsByColumn.put(column.getColumnId(), 0L);
+        }
+        for (Object[] row : taskRepository.countGroupByColumnId()) {
+            if (row[0] != null) {
+                countsByColumn.put((String) row[0], (Long) row[1]);
+            }
+        }
+        
+        Map<Task.Status, Long> countsByStatus = new EnumMap<>(Task.Status.class);
+        for (Task.Status status : Task.Status.values()) {
+            countsByStatus.put(status, 0L);
+        }
+        for (Object[] row : taskRepository.countGroupByStatus()) {
+            if (row[0] != null) {
+                countsByStatus.put((Task.Status) row[0], (Long) row[1]);
+            }
+        }
+        
+        return new BoardSnapshot<>(version, revision, eventId, columnSnapshots, unassignedTasks, countsByColumn, countsByStatus);
+    }
+}
@@ -0,0 +1,596 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.dto.ImportResult;
+import com.kanban.event.BoardChangeEvent;
+import com.kanban.event.TaskTransitionEvent;
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+import com.kanban.repository.ColumnRepository;
+import com.kanban.repository.TaskBatchInserter;
+import com.kanban.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+// Exportação e importação do quadro em NDJSON (um objeto JSON por linha) ou CSV, com memória constante:
+// a exportação escreve as linhas à medida que saem do cursor do banco, e a importação lê um registro por vez
+// e grava em lotes de batch-size tarefas, cada lote em sua própria transação (um arquivo grande não segura
+// uma transação longa). Os dois formatos têm os mesmos campos (FIELDS): primeiro as colunas, depois as
+// tarefas na ordem das colunas, então importar um arquivo exportado mantém a ordem dos cartões.
+@Service
+@Timed("kanban.service")
+public class BoardTransferService {
+    
+    // Campos de cada registro, na ordem das colunas do CSV; type é "column" ou "task"
+    static final String[] FIELDS = {
+        "type", "id", "columnId", "title", "description", "assignee", "priority", "status",
+        "dueDate", "cardRank", "displayOrder", "createdAt", "updatedAt"
+    };
+    
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private static final int BUFFER_SIZE = 65536;
+    
+    // Registros escritos entre um flush e outro na exportação
+    private static final int FLUSH_INTERVAL = 1000;
+    
+    private static final long BACKPRESSURE_PAUSE_MS = 50;
+    
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String mediaType;
+        private final String extension;
+        
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        public String getMediaType() {
+            return mediaType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Formato inválido: " + name + " (use ndjson ou csv)");
+        }
+        
+        // Formato indicado pelo Content-Type, ou null quando não é nenhum dos dois
+        public static Format fromContentType(String contentType) {
+            if (contentType == null) {
+                return null;
+            }
+            String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (Format format : values()) {
+                if (format.mediaType.equals(type)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private ColumnRepository columnRepository;
+    
+    @Autowired
+    private ColumnService columnService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private CardRankService cardRankService;
+    
+    @Autowired
+    private TaskBatchInserter taskBatchInserter;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Autowired
+    private BoardCache boardCache;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${kanban.transfer.batch-size:1000}")
+    private int batchSize;
+    
+    // Registros maiores que isso são recusados sem serem lidos para a memória
+    @Value("${kanban.transfer.max-record-chars:262144}")
+    private int maxRecordChars;
+    
+    // Erros devolvidos na resposta; os demais só são contados
+    @Value("${kanban.transfer.max-errors:100}")
+    private int maxErrors;
+    
+    // A importação espera enquanto o agregador de análise tiver mais transições por agregar que isso
+    @Value("${kanban.transfer.max-pending-transitions:20000}")
+    private int maxPendingTransitions;
+    
+    // Exportação
+    
+    // Escreve colunas e tarefas do quadro atual em out (que não é fechado)
+    public void export(Format format, OutputStream out) throws IOException {
+        // Movimentações ainda na projeção entram no arquivo
+        boardProjection.flushPendingWrites();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rows = format == Format.CSV ? csvRows(writer) : ndjsonRows(writer);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> {
+                try {
+                    for (BoardColumn column : columnRepository.findAllOrderByDisplayOrder()) {
+                        rows.write(values(column));
+                    }
+                    try (Stream<Task> tasks = taskRepository.streamAllInColumnOrder()) {
+                        Iterator<Task> iterator = tasks.iterator();
+                        long written = 0;
+                        while (iterator.hasNext()) {
+                            Task task = iterator.next();
+                            rows.write(values(task));
+                            // Liberar a entidade já escrita para manter a memória constante
+                            entityManager.detach(task);
+                            if (++written % FLUSH_INTERVAL == 0) {
+                                rows.flush();
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rows.finish();
+    }
+    
+    private static Object[] values(BoardColumn column) {
+        return new Object[]{
+            "column", column.getId(), column.getColumnId(), column.getTitle(), null, null, null, null,
+            null, null, column.getDisplayOrder(), timestamp(column.getCreatedAt()), timestamp(column.getUpdatedAt())
+        };
+    }
+    
+    private static Object[] values(Task task) {
+        return new Object[]{
+            "task", task.getId(), task.getColumnId(), task.getTitle(), task.getDescription(), task.getAssignee(),
+            task.getPriority() != null ? task.getPriority().name() : null,
+            task.getStatus() != null ? task.getStatus().name() : null,
+            task.getDueDate() != null ? task.getDueDate().toString() : null,
+            task.getCardRank(), null, timestamp(task.getCreatedAt()), timestamp(task.getUpdatedAt())
+        };
+    }
+    
+    private static String timestamp(LocalDateTime value) {
+        return value != null ? value.format(TIMESTAMP) : null;
+    }
+    
+    // Um objeto por linha, sem os campos nulos
+    private RowWriter ndjsonRows(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        return new RowWriter() {
+            @Override
+            public void write(Object[] values) throws IOException {
+                generator.writeStartObject();
+                for (int i = 0; i < FIELDS.length; i++) {
+                    Object value = values[i];
+                    if (value instanceof Number) {
+                        generator.writeNumberField(FIELDS[i], ((Number) value).longValue());
+                    } else if (value != null) {
+                        generator.writeStringField(FIELDS[i], (String) value);
+                    }
+                }
+                generator.writeEndObject();
+            }
+            
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+            
+            @Override
+            public void finish() throws IOException {
+                generator.writeRaw('\n');
+                generator.flush();
+            }
+        };
+    }
+    
+    // RFC 4180: cabeçalho com FIELDS; campos com vírgula, aspas ou quebra de linha vão entre aspas
+    private static RowWriter csvRows(Writer writer) throws IOException {
+        writeCsvRow(writer, FIELDS);
+        return new RowWriter() {
+            @Override
+            public void write(Object[] values) throws IOException {
+                writeCsvRow(writer, values);
+            }
+            
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+    
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                String value = values[i].toString();
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(value.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(value);
+                }
+            }
+        }
+        writer.write("\r\n");
+    }
+    
+    private interface RowWriter {
+        
+        void write(Object[] values) throws IOException;
+        
+        void flush() throws IOException;
+        
+        default void finish() throws IOException {
+            flush();
+        }
+    }
+    
+    // Importação
+    
+    // Importa o arquivo (gzip detectado pelo conteúdo) para o quadro atual. Colunas que ainda não existem são
+    // criadas; tarefas ganham novos ids e entram no fim da coluna, na ordem do arquivo, com updatedAt do
+    // momento da importação. Registros inválidos não interrompem a importação: entram no resultado com a
+    // linha em que começam. O progresso é publicado no feed do quadro (TASKS_IMPORTED) a cada lote.
+    public ImportResult importBoard(Format format, InputStream in) throws IOException {
+        boardProjection.flushPendingWrites();
+        InputStreamReader text = new InputStreamReader(decompressIfNeeded(in), StandardCharsets.UTF_8);
+        RecordReader reader = format == Format.CSV
+                ? RecordReader.csv(text, maxRecordChars) : RecordReader.lines(text, maxRecordChars);
+        String[] header = format == Format.CSV ? readCsvHeader(reader) : null;
+        
+        ImportResult result = new ImportResult(UUID.randomUUID().toString(), maxErrors);
+        Set<String> columnIds = new HashSet<>();
+        for (BoardColumn column : columnService.getAllColumns()) {
+            columnIds.add(column.getColumnId());
+        }
+        // Última posição atribuída por coluna: as tarefas entram no fim, na ordem do arquivo
+        Map<String, String> lastRanks = new HashMap<>();
+        List<Task> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        try {
+            RecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                result.addLine();
+                try {
+                    if (record.getError() != null) {
+                        throw new IllegalArgumentException(record.getError());
+                    }
+                    Map<String, String> values = header != null
+                            ? csvValues(header, record.getFields()) : jsonValues(record.getFields().get(0));
+                    String type = values.get("type");
+                    if ("column".equals(type)) {
+                        importColumn(values, columnIds, result);
+                    } else if ("task".equals(type)) {
+                        Task task = toTask(values, columnIds);
+                        task.setCardRank(appendRank(lastRanks, task.getColumnId()));
+                        batch.add(task);
+                        batchLines.add(record.getLine());
+                        if (batch.size() >= batchSize) {
+                            writeBatch(batch, batchLines, result);
+                        }
+                    } else {
+                        throw new IllegalArgumentException("Tipo de registro inválido: " + type + " (use column ou task)");
+                    }
+                } catch (IllegalArgumentException e) {
+                    result.addError(record.getLine(), e.getMessage());
+                }
+            }
+            writeBatch(batch, batchLines, result);
+        } finally {
+            // Também quando a leitura falha no meio: o que já foi gravado entra no quadro
+            eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.TASKS_IMPORTED, null, result.progress(true)));
+        }
+        return result;
+    }
+    
+    private static InputStream decompressIfNeeded(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        return first == 0x1f && second == 0x8b ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+    
+    private static String[] readCsvHeader(RecordReader reader) throws IOException {
+        RecordReader.Record record = reader.next();
+        if (record == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio");
+        }
+        if (record.getError() != null) {
+            throw new IllegalArgumentException("Cabeçalho CSV inválido: " + record.getError());
+        }
+        String[] header = record.getFields().stream().map(String::trim).toArray(String[]::new);
+        if (!List.of(header).contains("type")) {
+            throw new IllegalArgumentException("Cabeçalho CSV sem o campo type");
+        }
+        return header;
+    }
+    
+    // Campos vazios contam como ausentes
+    private static Map<String, String> csvValues(String[] header, List<String> fields) {
+        if (fields.size() != header.length) {
+            throw new IllegalArgumentException("Esperados " + header.length + " campos, encontrados " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            if (!fields.get(i).isEmpty()) {
+                values.put(header[i], fields.get(i));
+            }
+        }
+        return values;
+    }
+    
+    private Map<String, String> jsonValues(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Registro deve ser um objeto JSON");
+        }
+        Map<String, String> values = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (!value.isValueNode()) {
+                throw new IllegalArgumentException("Campo " + field.getKey() + " deve ser texto ou número");
+            }
+            if (!value.isNull() && !value.asText().isEmpty()) {
+                values.put(field.getKey(), value.asText());
+            }
+        }
+        return values;
+    }
+    
+    // Coluna existente é mantida como está
+    private void importColumn(Map<String, String> values, Set<String> columnIds, ImportResult result) {
+        String columnId = values.get("columnId");
+        if (columnId == null || columnId.isBlank()) {
+            throw new IllegalArgumentException("columnId é obrigatório");
+        }
+        if (columnIds.contains(columnId)) {
+            return;
+        }
+        String title = values.getOrDefault("title", columnId);
+        String displayOrder = values.get("displayOrder");
+        BoardColumn column = new BoardColumn(columnId, title, displayOrder != null ? parseInteger("displayOrder", displayOrder) : null);
+        try {
+            columnService.createColumn(column);
+        } catch (DataAccessException e) {
+            throw new IllegalArgumentException("Coluna recusada pelo banco: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } catch (RuntimeException e) {
+            // Criada por outra requisição depois da leitura das colunas
+            columnIds.add(columnId);
+            return;
+        }
+        columnIds.add(columnId);
+        result.addColumnCreated();
+    }
+    
+    // Tarefa nova (id e cardRank do arquivo são ignorados), com os mesmos padrões e validações da criação
+    private Task toTask(Map<String, String> values, Set<String> columnIds) {
+        Task task = new Task();
+        task.setTitle(values.get("title"));
+        task.setDescription(values.get("description"));
+        task.setAssignee(values.get("assignee"));
+        String priority = values.get("priority");
+        if (priority != null) {
+            task.setPriority(parseEnum(Task.Priority.class, "Prioridade inválida: ", priority));
+        }
+        String status = values.get("status");
+        String columnId = values.get("columnId");
+        if (status != null) {
+            task.setStatus(parseEnum(Task.Status.class, "Status inválido: ", status));
+        } else if (columnId != null) {
+            task.setStatus(Task.Status.fromColumnId(columnId));
+        }
+        task.setColumnId(columnId);
+        String dueDate = values.get("dueDate");
+        task.setDueDate(dueDate != null ? parseDate(dueDate) : null);
+        String createdAt = values.get("createdAt");
+        task.setCreatedAt(createdAt != null ? parseTimestamp(createdAt) : null);
+        TaskService.applyCreateDefaults(task);
+        // Para a sincronização (GET /api/board/changes) a tarefa é nova agora
+        task.setUpdatedAt(LocalDateTime.now());
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        if (!columnIds.contains(task.getColumnId())) {
+            throw new IllegalArgumentException("Coluna não encontrada: " + task.getColumnId());
+        }
+        return task;
+    }
+    
+    private String appendRank(Map<String, String> lastRanks, String columnId) {
+        String rank = lastRanks.containsKey(columnId)
+                ? CardRank.after(lastRanks.get(columnId)) : cardRankService.endOf(columnId);
+        lastRanks.put(columnId, rank);
+        return rank;
+    }
+    
+    // Grava o lote em uma transação. Se o banco recusar alguma linha, o lote é refeito uma tarefa por vez
+    // para gravar as demais e apontar as linhas recusadas. Depois espera o agregador de análise, que recebe
+    // uma transição por tarefa criada.
+    private void writeBatch(List<Task> batch, List<Long> batchLines, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> insert(batch));
+            result.addImported(batch.size());
+        } catch (DataAccessException e) {
+            for (int i = 0; i < batch.size(); i++) {
+                Task task = batch.get(i);
+                try {
+                    transaction.executeWithoutResult(status -> insert(List.of(task)));
+                    result.addImported(1);
+                } catch (DataAccessException rowError) {
+                    result.addError(batchLines.get(i), "Tarefa recusada pelo banco: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+        eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.TASKS_IMPORTED, null, result.progress(false)));
+        awaitAnalytics();
+    }
+    
+    private void insert(List<Task> tasks) {
+        taskBatchInserter.insertAll(tasks, syncRevisions.token(SyncRevisions.TASKS));
+        Set<String> columnIds = new HashSet<>();
+        Set<Task.Status> statuses = new HashSet<>();
+        for (Task task : tasks) {
+            columnIds.add(task.getColumnId());
+            statuses.add(task.getStatus());
+            eventPublisher.publishEvent(TaskTransitionEvent.created(task));
+        }
+        for (String columnId : columnIds) {
+            boardCache.evictTasks(columnId, null);
+        }
+        for (Task.Status status : statuses) {
+            boardCache.evictTasks(null, status);
+        }
+    }
+    
+    private void awaitAnalytics() {
+        while (analyticsService.getPendingCount() > maxPendingTransitions) {
+            try {
+                Thread.sleep(BACKPRESSURE_PAUSE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importação interrompida", e);
+            }
+        }
+    }
+    
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String message, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(message + value);
+        }
+    }
+    
+    private static Integer parseInteger(String field, String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " inválido: " + value);
+        }
+    }
+    
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("dueDate inválido (use aaaa-mm-dd): " + value);
+        }
+    }
+    
+    // Formato da exportação (o mesmo do JSON da API) ou ISO-8601
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return value.indexOf('T') >= 0 ? LocalDateTime.parse(value.trim()) : LocalDateTime.parse(value.trim(), TIMESTAMP);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("createdAt inválido (use aaaa-mm-dd hh:mm:ss): " + value);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.kanban.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Chaves de posição dos cartões dentro da coluna (card_rank), comparadas como texto: sempre existe uma chave
+// entre duas outras, então mover um cartão grava só a linha dele. Dígitos 0-9a-z (base 36), que têm a mesma
+// ordem em Java e nas collations do MySQL, e nenhuma chave termina em '0' (senão não haveria nada antes dela).
+// Inserções repetidas no mesmo ponto alongam as chaves; o CardRankService redistribui a coluna.
+final class CardRank {
+    
+    // Tamanho de tasks.card_rank; chaves maiores exigem redistribuir a coluna antes de gravar
+    static final int MAX_LENGTH = 255;
+    
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int MAX_WIDTH = 12;
+    private static final int STEP_WIDTH = 4;
+    private static final long STEP_RANGE = (long) BASE * BASE * BASE * BASE;
+    
+    private CardRank() {}
+    
+    // Chave entre after e before (exclusive); null significa início ou fim da coluna
+    static String between(String after, String before) {
+        if (after != null && before != null && after.compareTo(before) >= 0) {
+            throw new IllegalArgumentException("Posições fora de ordem: " + after + " >= " + before);
+        }
+        String low = after != null ? after : "";
+        String high = before;
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int lowDigit = i < low.length() ? digit(low.charAt(i)) : 0;
+            int highDigit = high == null ? BASE : i < high.length() ? digit(high.charAt(i)) : 0;
+            if (lowDigit == highDigit) {
+                key.append(DIGITS.charAt(lowDigit));
+                continue;
+            }
+            int middle = (lowDigit + highDigit) / 2;
+            if (middle > lowDigit) {
+                return key.append(DIGITS.charAt(middle)).toString();
+            }
+            // Dígitos vizinhos: fica com o de baixo e, a partir daqui, qualquer sufixo maior que o de after serve
+            key.append(DIGITS.charAt(lowDigit));
+            high = null;
+        }
+    }
+    
+    // Depois da última chave da coluna: soma um nos primeiros STEP_WIDTH dígitos, então cartões adicionados
+    // sempre no fim mantêm chaves curtas (36^4 inserções) em vez de alongar a cada divisão do intervalo
+    static String after(String last) {
+        if (last == null) {
+            return between(null, null);
+        }
+        long next = prefixValue(last) + 1;
+        if (next >= STEP_RANGE) {
+            return between(last, null);
+        }
+        return encode(next, STEP_WIDTH);
+    }
+    
+    // Antes da primeira chave da coluna, pelo mesmo princípio de after
+    static String before(String first) {
+        if (first == null) {
+            return between(null, null);
+        }
+        long previous = prefixValue(first) - 1;
+        if (previous <= 0) {
+            return between(null, first);
+        }
+        return encode(previous, STEP_WIDTH);
+    }
+    
+    // Chave para um cartão entre os vizinhos after e before (null = ponta da coluna), ou null quando não há
+    // chave válida entre eles (chaves iguais ou longa demais) e a coluna precisa ser redistribuída antes
+    static String place(String after, String before) {
+        if (after != null && before != null && after.compareTo(before) >= 0) {
+            return null;
+        }
+        String key = after == null ? before(before) : before == null ? after(after) : between(after, before);
+        return key.length() <= MAX_LENGTH ? key : null;
+    }
+    
+    // count chaves igualmente espaçadas, curtas e com folga dos dois lados, para redistribuir uma coluna
+    static List<String> spaced(int count) {
+        int width = 1;
+        long range = BASE;
+        while (range / (count + 1) < BASE && width < MAX_WIDTH) {
+            range *= BASE;
+            width++;
+        }
+        long step = range / (count + 1);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(encode(step * i, width));
+        }
+        return keys;
+    }
+    
+    // Valor em base 36 com width dígitos, sem os zeros finais (a ordem entre as chaves não muda)
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int length = width;
+        while (length > 1 && chars[length - 1] == '0') {
+            length--;
+        }
+        return new String(chars, 0, length);
+    }
+    
+    // Primeiros STEP_WIDTH dígitos da chave como número (completando com zeros)
+    private static long prefixValue(String key) {
+        long value = 0;
+        for (int i = 0; i < STEP_WIDTH; i++) {
+            value = value * BASE + (i < key.length() ? digit(key.charAt(i)) : 0);
+        }
+        return value;
+    }
+    
+    private static int digit(char c) {
+        int value = DIGITS.indexOf(c);
+        if (value < 0) {
+            throw new IllegalArgumentException("Posição inválida: caractere '" + c + "'");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,291 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.event.BoardChangeEvent;
+import com.kanban.model.Task;
+import com.kanban.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Posições dos cartões dentro das colunas (card_rank, ver CardRank).
+// Mover um cartão lê no máximo os dois vizinhos pelo índice (board_id, column_id, card_rank) e grava só a
+// linha dele. Quando não cabe uma chave entre os vizinhos a coluna é redistribuída na hora; quando as chaves
+// ficam longas, a redistribuição é agendada e feita em segundo plano, fora das requisições.
+@Service
+@Timed("kanban.service")
+public class CardRankService {
+    
+    private static final Logger log = LoggerFactory.getLogger(CardRankService.class);
+    
+    // Não incrementa version: a posição não é editada pelo cliente e If-Match concorrentes não devem falhar
+    private static final String UPDATE_RANK_SQL = "UPDATE tasks SET card_rank = ?, updated_at = ?, sync_revision = ? WHERE board_id = ? AND id = ?";
+    
+    private static final PageRequest FIRST = PageRequest.ofSize(1);
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private BoardCache boardCache;
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Chaves maiores que isso agendam a redistribuição da coluna
+    @Value("${kanban.ranking.rebalance-length:16}")
+    private int rebalanceLength;
+    
+    // Em produção o backfill roda no job de migração (perfil migrate), não na inicialização de cada instância
+    @Value("${kanban.ranking.rank-legacy-on-startup:true}")
+    private boolean rankLegacyOnStartup;
+    
+    // Colunas a redistribuir, como "quadro\tcoluna"
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    
+    // Posição no fim da coluna: novas tarefas e movimentações sem vizinhos informados
+    public String endOf(String columnId) {
+        if (boardProjection.isReady()) {
+            return CardRank.after(boardProjection.lastRank(columnId));
+        }
+        return CardRank.after(taskRepository.findLastRankInColumn(columnId));
+    }
+    
+    // Posição de task em columnId logo depois de afterId e/ou logo antes de beforeId (sem nenhum dos dois:
+    // mantém a posição na mesma coluna, ou vai para o fim de outra). Redistribui a coluna se preciso.
+    public String rankFor(Task task, String columnId, Long afterId, Long beforeId) {
+        if (afterId == null && beforeId == null) {
+            return Objects.equals(task.getColumnId(), columnId) && task.getCardRank() != null
+                    ? task.getCardRank() : endOf(columnId);
+        }
+        Task after = afterId != null ? neighbour(afterId, task.getId(), columnId) : null;
+        Task before = beforeId != null ? neighbour(beforeId, task.getId(), columnId) : null;
+        if (after != null && before != null && after.getCardRank() != null && before.getCardRank() != null
+                && after.getCardRank().compareTo(before.getCardRank()) > 0) {
+            throw new IllegalArgumentException("Tarefa " + afterId + " vem depois de " + beforeId + " na coluna " + columnId);
+        }
+        String rank = null;
+        // Vizinhos sem chave (anteriores ao card_rank) só se resolvem redistribuindo a coluna
+        if ((after == null || after.getCardRank() != null) && (before == null || before.getCardRank() != null)) {
+            if (before == null) {
+                before = first(taskRepository.findNextInColumn(columnId, after.getCardRank(), after.getCreatedAt(),
+                        after.getId(), task.getId(), FIRST));
+            } else if (after == null) {
+                after = first(taskRepository.findPreviousInColumn(columnId, before.getCardRank(), before.getCreatedAt(),
+                        before.getId(), task.getId(), FIRST));
+            }
+            rank = CardRank.place(after != null ? after.getCardRank() : null, before != null ? before.getCardRank() : null);
+        }
+        if (rank == null) {
+            // Os vizinhos vêm da ordem devolvida pela redistribuição: as leituras desta transação ainda
+            // enxergam as chaves anteriores
+            Map<Long, String> ranks = respace(columnId);
+            List<Long> ids = new ArrayList<>(ranks.size());
+            List<String> keys = new ArrayList<>(ranks.size());
+            ranks.forEach((id, key) -> {
+                if (!id.equals(task.getId())) {
+                    ids.add(id);
+                    keys.add(key);
+                }
+            });
+            rank = rankIn(ids, keys, afterId, beforeId);
+            if (rank == null) {
+                throw new IllegalArgumentException("Não foi possível posicionar a tarefa " + task.getId()
+                        + " na coluna " + columnId);
+            }
+        }
+        scheduleIfLong(columnId, rank);
+        return rank;
+    }
+    
+    // Posição junto aos vizinhos em uma coluna já ordenada (ids e chaves, sem a tarefa movida); o vizinho não
+    // informado é o adjacente. null quando algum vizinho não tem chave ou não há chave entre eles.
+    static String rankIn(List<Long> ids, List<String> keys, Long afterId, Long beforeId) {
+        int afterIndex = afterId != null ? indexOf(ids, afterId) : -1;
+        int beforeIndex = beforeId != null ? indexOf(ids, beforeId) : -1;
+        if (afterId != null && beforeId != null && afterIndex > beforeIndex) {
+            throw new IllegalArgumentException("Tarefa " + afterId + " vem depois de " + beforeId + " na coluna");
+        }
+        if (afterId == null) {
+            afterIndex = beforeIndex - 1;
+        } else if (beforeId == null) {
+            beforeIndex = afterIndex + 1 < ids.size() ? afterIndex + 1 : -1;
+        }
+        String afterRank = afterIndex >= 0 ? keys.get(afterIndex) : null;
+        String beforeRank = beforeIndex >= 0 ? keys.get(beforeIndex) : null;
+        if ((afterIndex >= 0 && afterRank == null) || (beforeIndex >= 0 && beforeRank == null)) {
+            return null;
+        }
+        return CardRank.place(afterRank, beforeRank);
+    }
+    
+    // Cartões movidos em bloco para columnId (ids, na ordem da coluna de origem) passam para o fim dela, na
+    // transação atual; se as chaves ficariam longas demais, a coluna inteira é renumerada na mesma transação
+    public void appendAll(String columnId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> moved = new HashSet<>(ids);
+        List<Long> order = new ArrayList<>();
+        String last = null;
+        for (Task task : taskRepository.findByColumnIdInRankOrder(columnId)) {
+            if (!moved.contains(task.getId())) {
+                order.add(task.getId());
+                if (task.getCardRank() != null) {
+                    last = task.getCardRank();
+                }
+            }
+        }
+        List<String> keys = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            last = CardRank.place(last, null);
+            if (last == null || last.length() > rebalanceLength) {
+                break;
+            }
+            keys.add(last);
+        }
+        List<Long> assignedIds = ids;
+        if (keys.size() < ids.size()) {
+            order.addAll(ids);
+            assignedIds = order;
+            keys = CardRank.spaced(order.size());
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long boardId = BoardContext.current();
+        long syncToken = syncRevisions.token(boardId, SyncRevisions.TASKS);
+        List<Object[]> args = new ArrayList<>(assignedIds.size());
+        for (int i = 0; i < assignedIds.size(); i++) {
+            args.add(new Object[]{keys.get(i), now, syncToken, boardId, assignedIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, args);
+    }
+    
+    // Agenda a redistribuição da coluna do quadro atual quando a chave passa do tamanho configurado
+    public void scheduleIfLong(String columnId, String rank) {
+        if (rank != null && rank.length() > rebalanceLength) {
+            scheduled.add(BoardContext.current() + "\t" + columnId);
+        }
+    }
+    
+    // Novas chaves igualmente espaçadas para a coluna, na ordem atual, em uma transação própria.
+    // Com a projeção ativa, as movimentações pendentes são gravadas antes e a projeção recebe as novas chaves
+    // sem liberar o lock, para que nenhuma movimentação use chaves antigas no meio da troca.
+    public Map<Long, String> respace(String columnId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Map<Long, String> ranks = boardProjection.rerank(columnId, () -> transaction.execute(status -> {
+            List<Long> ids = taskRepository.findIdsInRankOrder(columnId);
+            List<String> keys = CardRank.spaced(ids.size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            long boardId = BoardContext.current();
+            long syncToken = syncRevisions.token(boardId, SyncRevisions.TASKS);
+            Map<Long, String> assigned = new LinkedHashMap<>();
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                assigned.put(ids.get(i), keys.get(i));
+                args.add(new Object[]{keys.get(i), now, syncToken, boardId, ids.get(i)});
+            }
+            jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, args);
+            boardCache.evictTasks(columnId, null);
+            eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.CARDS_RERANKED, columnId, assigned));
+            return assigned;
+        }));
+        log.debug("Coluna {} do quadro {} redistribuída: {} cartões", columnId, BoardContext.current(), ranks.size());
+        return ranks;
+    }
+    
+    // Redistribui as colunas agendadas, uma de cada vez
+    @Scheduled(fixedDelayString = "${kanban.ranking.rebalance-interval-ms:60000}")
+    public void rebalanceScheduled() {
+        Iterator<String> iterator = scheduled.iterator();
+        while (iterator.hasNext()) {
+            String entry = iterator.next();
+            iterator.remove();
+            String[] parts = entry.split("\t", 2);
+            try {
+                BoardContext.runAs(Long.parseLong(parts[0]), () -> respace(parts[1]));
+            } catch (RuntimeException e) {
+                log.error("Falha ao redistribuir a coluna {} do quadro {}", parts[1], parts[0], e);
+            }
+        }
+    }
+    
+    // Tarefas criadas antes do card_rank recebem chaves na ordem em que já apareciam (criação)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rankLegacyTasks() {
+        if (!rankLegacyOnStartup) {
+            return;
+        }
+        boardRegistry.forEachBoard(() -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            List<String> columnIds = transaction.execute(status -> taskRepository.findColumnIdsWithUnrankedTasks());
+            for (String columnId : columnIds) {
+                respace(columnId);
+            }
+            if (!columnIds.isEmpty()) {
+                log.info("Posições atribuídas às tarefas de {} colunas do quadro {}", columnIds.size(), BoardContext.current());
+            }
+        });
+    }
+    
+    private Task neighbour(Long id, Long taskId, String columnId) {
+        Task neighbour = taskRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Tarefa vizinha não encontrada com id: " + id));
+        if (id.equals(taskId) || !Objects.equals(neighbour.getColumnId(), columnId)) {
+            throw new IllegalArgumentException("Tarefa " + id + " não é vizinha válida na coluna " + columnId);
+        }
+        return neighbour;
+    }
+    
+    private static int indexOf(List<Long> ids, Long id) {
+        int index = ids.indexOf(id);
+        if (index < 0) {
+            throw new IllegalArgumentException("Tarefa " + id + " não é vizinha válida na coluna");
+        }
+        return index;
+    }
+    
+    private static Task first(List<Task> tasks) {
+        return tasks.isEmpty() ? null : tasks.get(0);
+    }
+}
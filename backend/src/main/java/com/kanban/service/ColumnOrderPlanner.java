@@ -0,0 +1,113 @@
+package com.kanban.service;
+
+import com.kanban.model.BoardColumn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Calcula os novos displayOrder de uma reordenação alterando o mínimo de colunas.
+// As colunas que já formam a maior sequência crescente mantêm sua ordem; as demais recebem
+// valores nos intervalos entre elas. Sem espaço livre, todas são renumeradas com espaçamento STEP.
+final class ColumnOrderPlanner {
+    
+    static final int STEP = 1024;
+    
+    private ColumnOrderPlanner() {}
+    
+    static Map<BoardColumn, Integer> plan(List<BoardColumn> ordered) {
+        int n = ordered.size();
+        boolean[] keep = longestIncreasingRun(ordered);
+        Map<BoardColumn, Integer> changes = new IdentityHashMap<>();
+        
+        int previous = 0;
+        int i = 0;
+        while (i < n) {
+            if (keep[i]) {
+                previous = ordered.get(i).getDisplayOrder();
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < n && !keep[i]) {
+                i++;
+            }
+            int count = i - start;
+            long gap;
+            if (i < n) {
+                long next = ordered.get(i).getDisplayOrder();
+                gap = (next - previous) / (count + 1);
+                if (gap < 1) {
+                    return renumber(ordered);
+                }
+            } else {
+                gap = STEP;
+            }
+            for (int j = 0; j < count; j++) {
+                long value = previous + gap * (j + 1);
+                if (value > Integer.MAX_VALUE) {
+                    return renumber(ordered);
+                }
+                changes.put(ordered.get(start + j), (int) value);
+            }
+            previous = (int) (previous + gap * count);
+        }
+        return changes;
+    }
+    
+    private static Map<BoardColumn, Integer> renumber(List<BoardColumn> ordered) {
+        Map<BoardColumn, Integer> changes = new IdentityHashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            int value = (i + 1) * STEP;
+            if (!Integer.valueOf(value).equals(ordered.get(i).getDisplayOrder())) {
+                changes.put(ordered.get(i), value);
+            }
+        }
+        return changes;
+    }
+    
+    // Maior subsequência estritamente crescente (e positiva) de displayOrder, em O(n log n)
+    private static boolean[] longestIncreasingRun(List<BoardColumn> ordered) {
+        int n = ordered.size();
+        int[] tailIndex = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        List<Integer> tails = new ArrayList<>();
+        
+        for (int i = 0; i < n; i++) {
+            Integer order = ordered.get(i).getDisplayOrder();
+            if (order == null || order <= 0) {
+                continue;
+            }
+            int lo = 0;
+            int hi = tails.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (tails.get(mid) < order) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            if (lo > 0) {
+                parent[i] = tailIndex[lo - 1];
+            }
+            if (lo == tails.size()) {
+                tails.add(order);
+            } else {
+                tails.set(lo, order);
+            }
+            tailIndex[lo] = i;
+        }
+        
+        boolean[] keep = new boolean[n];
+        if (!tails.isEmpty()) {
+            for (int i = tailIndex[tails.size() - 1]; i >= 0; i = parent[i]) {
+                keep[i] = true;
+            }
+        }
+        return keep;
+    }
+}
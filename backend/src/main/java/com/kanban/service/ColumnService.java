@@ -1,19 +1,60 @@
 package com.kanban.service;
 
+import com.kanban.config.CacheConfig;
+import com.kanban.dto.ColumnDeletionResult;
+import com.kanban.event.BoardChangeEvent;
+import com.kanban.event.TaskTransitionEvent;
 import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
 import com.kanban.repository.ColumnRepository;
+import com.kanban.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
+@Timed("kanban.service")
 public class ColumnService {
     
     @Autowired
     private ColumnRepository columnRepository;
     
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private BoardCache boardCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private CardRankService cardRankService;
+    
+    @Cacheable(cacheNames = CacheConfig.COLUMNS, key = "T(com.kanban.config.CacheConfig).boardKey('" + CacheConfig.ALL_COLUMNS_KEY + "')", sync = true)
     public List<BoardColumn> getAllColumns() {
         return columnRepository.findAllOrderByDisplayOrder();
     }
@@ -22,6 +63,7 @@ public class ColumnService {
         return columnRepository.findById(id);
     }
     
+    @Cacheable(cacheNames = CacheConfig.COLUMN_BY_COLUMN_ID, key = "T(com.kanban.config.CacheConfig).boardKey(#columnId)", sync = true)
     public Optional<BoardColumn> getColumnByColumnId(String columnId) {
         return columnRepository.findByColumnId(columnId);
     }
@@ -35,56 +77,172 @@ public class ColumnService {
         // Se não foi especificada uma ordem, colocar no final
         if (column.getDisplayOrder() == null) {
             Integer maxOrder = columnRepository.findMaxDisplayOrder();
-            column.setDisplayOrder(maxOrder + 1);
+            column.setDisplayOrder(maxOrder + ColumnOrderPlanner.STEP);
         }
         
-        return columnRepository.save(column);
+        BoardColumn savedColumn = columnRepository.save(column);
+        boardCache.evictColumns(savedColumn.getColumnId());
+        eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.COLUMN_CREATED, savedColumn.getColumnId(), savedColumn));
+        return savedColumn;
     }
     
-    public BoardColumn updateColumn(Long id, BoardColumn columnDetails) {
+    @Transactional
+    public BoardColumn updateColumn(Long id, BoardColumn columnDetails, Long expectedVersion) {
         Optional<BoardColumn> optionalColumn = columnRepository.findById(id);
         if (optionalColumn.isPresent()) {
             BoardColumn column = optionalColumn.get();
+            if (expectedVersion != null && !Objects.equals(expectedVersion, column.getVersion())) {
+                throw new OptimisticLockingFailureException("Coluna alterada por outra requisição: " + id);
+            }
             column.setTitle(columnDetails.getTitle());
             if (columnDetails.getDisplayOrder() != null) {
                 column.setDisplayOrder(columnDetails.getDisplayOrder());
             }
-            return columnRepository.save(column);
+            BoardColumn savedColumn = columnRepository.save(column);
+            boardCache.evictColumns(savedColumn.getColumnId());
+            eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.COLUMN_UPDATED, savedColumn.getColumnId(), savedColumn));
+            return savedColumn;
         }
         throw new RuntimeException("Coluna não encontrada com id: " + id);
     }
     
-    public void deleteColumn(Long id) {
-        if (columnRepository.existsById(id)) {
-            columnRepository.deleteById(id);
-        } else {
+    // O que fazer com as tarefas de uma coluna excluída
+    public enum TaskHandling {
+        MOVE, DELETE
+    }
+    
+    // Exclui a coluna e trata todas as suas tarefas com um único UPDATE/DELETE na mesma transação
+    @Transactional
+    public ColumnDeletionResult deleteColumn(Long id, TaskHandling taskHandling, String targetColumnId) {
+        boardProjection.flushPendingWrites();
+        Optional<BoardColumn> optionalColumn = columnRepository.findById(id);
+        if (optionalColumn.isEmpty()) {
             throw new RuntimeException("Coluna não encontrada com id: " + id);
         }
+        BoardColumn column = optionalColumn.get();
+        String columnId = column.getColumnId();
+        
+        String target = null;
+        int affectedTasks = 0;
+        List<Object[]> previousStates = taskRepository.findTransitionStatesByColumnId(columnId);
+        if (taskHandling == TaskHandling.DELETE) {
+            syncService.recordTaskDeletionsInColumn(columnId);
+            affectedTasks = taskRepository.deleteAllByColumnId(columnId);
+        } else {
+            target = resolveTargetColumn(columnId, targetColumnId);
+            if (target != null) {
+                Task.Status targetStatus = Task.Status.fromColumnId(target);
+                long syncToken = syncRevisions.token(SyncRevisions.TASKS);
+                List<Long> movedIds = taskRepository.findIdsInRankOrder(columnId);
+                affectedTasks = targetStatus != null
+                        ? taskRepository.moveAllToColumnWithStatus(columnId, target, targetStatus, LocalDateTime.now(), syncToken)
+                        : taskRepository.moveAllToColumn(columnId, target, LocalDateTime.now(), syncToken);
+                // As chaves da coluna excluída não se misturam com as do destino: os cartões vão para o fim dele
+                cardRankService.appendAll(target, movedIds);
+            }
+        }
+        columnRepository.delete(column);
+        syncService.recordColumnDeletion(columnId);
+        
+        boardCache.evictColumns(columnId);
+        if (affectedTasks > 0) {
+            boardCache.evictTasks(columnId, null);
+            boardCache.evictTasks(target, null);
+            for (Task.Status status : Task.Status.values()) {
+                boardCache.evictTasks(null, status);
+            }
+        }
+        ColumnDeletionResult result = new ColumnDeletionResult(columnId, target, affectedTasks);
+        eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.COLUMN_DELETED, columnId, result));
+        if (affectedTasks > 0) {
+            publishTransitions(columnId, taskHandling == TaskHandling.DELETE ? null : target, previousStates);
+        }
+        return result;
+    }
+    
+    // Uma transição por tarefa afetada (para a coluna de destino, ou exclusão quando targetColumnId é null)
+    private void publishTransitions(String columnId, String targetColumnId, List<Object[]> previousStates) {
+        LocalDateTime now = LocalDateTime.now();
+        Task.Status targetStatus = targetColumnId != null ? Task.Status.fromColumnId(targetColumnId) : null;
+        for (Object[] row : previousStates) {
+            Task.Status status = (Task.Status) row[2];
+            String assignee = (String) row[3];
+            Task.Priority priority = (Task.Priority) row[4];
+            TaskTransitionEvent.State from = new TaskTransitionEvent.State(columnId, status, assignee, priority);
+            TaskTransitionEvent.State to = targetColumnId == null ? null : new TaskTransitionEvent.State(
+                    targetColumnId, targetStatus != null ? targetStatus : status, assignee, priority);
+            eventPublisher.publishEvent(new TaskTransitionEvent((Long) row[0], (LocalDateTime) row[1], from, to, now));
+        }
+    }
+    
+    // Destino informado, ou "todo", ou a primeira coluna restante; null se não houver outra coluna
+    private String resolveTargetColumn(String columnId, String targetColumnId) {
+        if (targetColumnId != null && !targetColumnId.isEmpty()) {
+            if (targetColumnId.equals(columnId) || !columnRepository.existsByColumnId(targetColumnId)) {
+                throw new IllegalArgumentException("Coluna de destino inválida: " + targetColumnId);
+            }
+            return targetColumnId;
+        }
+        if (!"todo".equals(columnId) && columnRepository.existsByColumnId("todo")) {
+            return "todo";
+        }
+        for (BoardColumn candidate : columnRepository.findAllOrderByDisplayOrder()) {
+            if (!candidate.getColumnId().equals(columnId)) {
+                return candidate.getColumnId();
+            }
+        }
+        return null;
     }
     
+    // Uma consulta IN para carregar as colunas; as alterações são enviadas em um único lote JDBC no commit
+    @Transactional
     public void reorderColumns(List<String> orderedColumnIds) {
-        for (int i = 0; i < orderedColumnIds.size(); i++) {
-            String columnId = orderedColumnIds.get(i);
-            Optional<BoardColumn> optionalColumn = columnRepository.findByColumnId(columnId);
-            if (optionalColumn.isPresent()) {
-                BoardColumn column = optionalColumn.get();
-                column.setDisplayOrder(i + 1);
-                columnRepository.save(column);
+        Map<String, BoardColumn> columnsById = new HashMap<>();
+        for (BoardColumn column : columnRepository.findByColumnIdIn(orderedColumnIds)) {
+            columnsById.put(column.getColumnId(), column);
+        }
+        
+        List<BoardColumn> ordered = new ArrayList<>(columnsById.size());
+        for (String columnId : new LinkedHashSet<>(orderedColumnIds)) {
+            BoardColumn column = columnsById.get(columnId);
+            if (column != null) {
+                ordered.add(column);
             }
         }
+        
+        Map<BoardColumn, Integer> changes = ColumnOrderPlanner.plan(ordered);
+        List<String> changedIds = new ArrayList<>(changes.size());
+        for (Map.Entry<BoardColumn, Integer> change : changes.entrySet()) {
+            change.getKey().setDisplayOrder(change.getValue());
+            changedIds.add(change.getKey().getColumnId());
+        }
+        boardCache.evictColumns(changedIds.toArray(new String[0]));
+        if (!changedIds.isEmpty()) {
+            // A ordem completa do quadro, não só as colunas que mudaram: os eventos de reordenação são agrupados
+            // por assinante (mesma chave), e o último precisa bastar sozinho
+            Map<String, Integer> fullOrder = new LinkedHashMap<>();
+            for (BoardColumn column : columnRepository.findAllOrderByDisplayOrder()) {
+                fullOrder.put(column.getColumnId(), column.getDisplayOrder());
+            }
+            eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.COLUMNS_REORDERED, null, fullOrder));
+        }
     }
     
     public void initializeDefaultColumns() {
         // Verificar se já existem colunas
         if (columnRepository.count() == 0) {
             // Criar as colunas padrão
-            BoardColumn todoColumn = new BoardColumn("todo", "A Fazer", 1);
-            BoardColumn doingColumn = new BoardColumn("doing", "Em Progresso", 2);
-            BoardColumn doneColumn = new BoardColumn("done", "Concluído", 3);
+            BoardColumn todoColumn = new BoardColumn("todo", "A Fazer", ColumnOrderPlanner.STEP);
+            BoardColumn doingColumn = new BoardColumn("doing", "Em Progresso", 2 * ColumnOrderPlanner.STEP);
+            BoardColumn doneColumn = new BoardColumn("done", "Concluído", 3 * ColumnOrderPlanner.STEP);
             
             columnRepository.save(todoColumn);
             columnRepository.save(doingColumn);
             columnRepository.save(doneColumn);
+            boardCache.evictColumns("todo", "doing", "done");
+            for (BoardColumn column : List.of(todoColumn, doingColumn, doneColumn)) {
+                eventPublisher.publishEvent(BoardChangeEvent.column(BoardChangeEvent.Type.COLUMN_CREATED, column.getColumnId(), column));
+            }
         }
     }
 }
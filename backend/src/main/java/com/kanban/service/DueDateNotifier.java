@@ -0,0 +1,353 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.dto.ImportProgress;
+import com.kanban.dto.TaskCard;
+import com.kanban.event.BoardChangeEvent;
+import com.kanban.model.Task;
+import com.kanban.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Avisos de prazo: TASK_DUE quando começa o dia do prazo e TASK_OVERDUE quando ele termina sem a tarefa
+// estar concluída, publicados no feed do quadro (GET /api/board/events).
+// Os prazos ficam numa roda de temporização (TimingWheel) carregada uma janela de dias por vez pelo índice
+// (board_id, due_date, status); depois disso a roda acompanha as alterações das tarefas pelos eventos do
+// quadro, então o custo é por alteração e por aviso, sem varrer a tabela.
+@Service
+public class DueDateNotifier {
+    
+    private static final Logger log = LoggerFactory.getLogger(DueDateNotifier.class);
+    
+    private static final int WHEEL_SIZE = 60;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${kanban.due.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${kanban.due.tick-ms:1000}")
+    private long tickMs;
+    
+    @Value("${kanban.due.window-days:1}")
+    private int windowDays;
+    
+    // A próxima janela é carregada com essa antecedência, antes que a roda chegue ao fim da atual
+    @Value("${kanban.due.load-ahead-ms:600000}")
+    private long loadAheadMs;
+    
+    // Fuso em que os prazos (datas) começam e terminam; vazio usa o do servidor
+    @Value("${kanban.due.zone:}")
+    private String zoneName;
+    
+    private ZoneId zone;
+    
+    // Protegidos pelo lock da própria roda
+    private volatile TimingWheel<String, Notice> wheel;
+    // Primeiro dia ainda não carregado: prazos a partir do início dele ficam para a próxima janela
+    private LocalDate loadedUntil;
+    // As cargas consultam o banco sem o lock; enquanto alguma está em andamento, os eventos registram aqui a
+    // versão que aplicaram (quadro:tarefa -> versão; exclusão: Long.MAX_VALUE) e a carga descarta o que leu
+    // numa versão igual ou anterior
+    private int loadsInProgress;
+    private final Map<String, Long> changedDuringLoad = new HashMap<>();
+    
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "due-date-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PostConstruct
+    void resolveZone() {
+        zone = zoneName == null || zoneName.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zoneName);
+    }
+    
+    // Data de hoje no fuso dos prazos
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, now);
+        meterRegistry.gauge("kanban.due.scheduled", this, notifier -> notifier.scheduledCount());
+        synchronized (wheel) {
+            loadedUntil = today();
+        }
+        loadWindows(now);
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+    
+    // Mantém a roda em dia com as tarefas; executado depois do commit, como o feed do quadro
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        if (wheel == null) {
+            return;
+        }
+        long boardId = event.getBoardId();
+        switch (event.getType()) {
+            case TASK_CREATED, TASK_UPDATED, TASK_MOVED -> {
+                Task task = (Task) event.getData();
+                synchronized (wheel) {
+                    changed(boardId, task.getId(), task.getVersion() != null ? task.getVersion() : 0L);
+                    unschedule(boardId, task.getId());
+                    if (task.getStatus() != Task.Status.DONE && task.getDueDate() != null) {
+                        schedule(boardId, TaskCard.of(task));
+                    }
+                }
+            }
+            case TASK_DELETED -> {
+                synchronized (wheel) {
+                    changed(boardId, event.getTaskId(), Long.MAX_VALUE);
+                    unschedule(boardId, event.getTaskId());
+                }
+            }
+            // As tarefas da coluna foram movidas (com outro status) ou excluídas em massa no banco
+            case COLUMN_DELETED -> reloadBoard(boardId);
+            // Tarefas importadas em massa: a janela é recarregada uma vez, no fim da importação
+            case TASKS_IMPORTED -> {
+                if (((ImportProgress) event.getData()).isDone()) {
+                    reloadBoard(boardId);
+                }
+            }
+            default -> { }
+        }
+    }
+    
+    // Recarrega os avisos de um quadro nas janelas já carregadas, depois de uma alteração em massa
+    private void reloadBoard(long boardId) {
+        LocalDate from = today();
+        LocalDate until;
+        synchronized (wheel) {
+            until = loadedUntil;
+            loadsInProgress++;
+        }
+        List<Due> loaded = null;
+        try {
+            loaded = BoardContext.callAs(boardId, () -> loadBoard(from, until));
+        } finally {
+            synchronized (wheel) {
+                if (loaded != null) {
+                    // Avisos antigos do quadro saem, exceto os de tarefas que um evento já atualizou
+                    String prefix = boardId + ":";
+                    wheel.removeIf(key -> key.startsWith(prefix)
+                            && !changedDuringLoad.containsKey(key.substring(0, key.lastIndexOf(':'))));
+                    merge(loaded, startOf(from), startOf(until));
+                }
+                finishLoad();
+            }
+        }
+    }
+    
+    // Registra a versão aplicada por um evento durante uma carga; chamado com o lock da roda
+    private void changed(long boardId, Long taskId, long version) {
+        if (loadsInProgress > 0) {
+            changedDuringLoad.merge(boardId + ":" + taskId, version, Math::max);
+        }
+    }
+    
+    private void finishLoad() {
+        if (--loadsInProgress == 0) {
+            changedDuringLoad.clear();
+        }
+    }
+    
+    int scheduledCount() {
+        TimingWheel<String, Notice> current = wheel;
+        if (current == null) {
+            return 0;
+        }
+        synchronized (current) {
+            return current.size();
+        }
+    }
+    
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            loadWindows(now);
+            List<Notice> due;
+            synchronized (wheel) {
+                due = wheel.advance(now);
+            }
+            for (Notice notice : due) {
+                BoardContext.runAs(notice.boardId, () -> eventPublisher.publishEvent(
+                        new BoardChangeEvent(notice.type, notice.card.getId(), notice.card.getColumnId(), notice.card)));
+                meterRegistry.counter("kanban.due.notifications", "type", notice.type.name()).increment();
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao processar os prazos", e);
+        }
+    }
+    
+    // Carrega as janelas cujo início está a menos de loadAheadMs. A janela passa a valer antes da consulta,
+    // que roda sem o lock da roda: uma alteração confirmada durante a consulta já é agendada pelo evento, e a
+    // linha que a consulta leu antes dela é descartada pela versão ao juntar o resultado.
+    private void loadWindows(long now) {
+        while (true) {
+            LocalDate from;
+            LocalDate until;
+            synchronized (wheel) {
+                if (startOf(loadedUntil) - loadAheadMs > now) {
+                    return;
+                }
+                from = loadedUntil;
+                until = from.plusDays(windowDays);
+                loadedUntil = until;
+                loadsInProgress++;
+            }
+            long started = System.nanoTime();
+            List<Due> loaded = new ArrayList<>();
+            boolean complete = false;
+            try {
+                boardRegistry.forEachBoard(() -> loaded.addAll(loadBoard(from, until)));
+                complete = true;
+            } finally {
+                synchronized (wheel) {
+                    if (complete) {
+                        merge(loaded, startOf(from), startOf(until));
+                    } else if (loadedUntil.equals(until)) {
+                        // A janela volta a faltar e é consultada de novo no próximo tick; o que os eventos já
+                        // agendaram nela é substituído pela mesma chave
+                        loadedUntil = from;
+                    }
+                    finishLoad();
+                }
+            }
+            log.debug("Prazos de {} a {} carregados em {} ms: {} avisos agendados", from, until.minusDays(1),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), scheduledCount());
+        }
+    }
+    
+    // Tarefas do quadro atual com aviso em [início de from, início de until): TASK_DUE de prazos em
+    // [from, until) e TASK_OVERDUE de prazos em [from - 1, until - 1)
+    private List<Due> loadBoard(LocalDate from, LocalDate until) {
+        List<Due> loaded = new ArrayList<>();
+        if (!from.isBefore(until)) {
+            return loaded;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        List<Object[]> rows = transaction.execute(status ->
+                taskRepository.findCardsDueBetween(from.minusDays(1), until.minusDays(1), Task.Status.DONE));
+        long boardId = BoardContext.current();
+        for (Object[] row : rows) {
+            loaded.add(new Due(boardId, (TaskCard) row[0], row[1] != null ? (Long) row[1] : 0L));
+        }
+        return loaded;
+    }
+    
+    // Agenda o resultado de uma carga na janela [windowStart, windowEnd); chamado com o lock da roda
+    private void merge(List<Due> loaded, long windowStart, long windowEnd) {
+        for (Due due : loaded) {
+            Long applied = changedDuringLoad.get(due.boardId + ":" + due.card.getId());
+            if (applied != null && applied >= due.version) {
+                continue;
+            }
+            TaskCard card = due.card;
+            add(due.boardId, card, BoardChangeEvent.Type.TASK_DUE, startOf(card.getDueDate()), windowStart, windowEnd);
+            add(due.boardId, card, BoardChangeEvent.Type.TASK_OVERDUE, startOf(card.getDueDate().plusDays(1)), windowStart, windowEnd);
+        }
+    }
+    
+    // Agenda os avisos da tarefa que caem nas janelas já carregadas; os de janelas futuras virão da consulta
+    private void schedule(long boardId, TaskCard card) {
+        long windowEnd = startOf(loadedUntil);
+        add(boardId, card, BoardChangeEvent.Type.TASK_DUE, startOf(card.getDueDate()), Long.MIN_VALUE, windowEnd);
+        add(boardId, card, BoardChangeEvent.Type.TASK_OVERDUE, startOf(card.getDueDate().plusDays(1)), Long.MIN_VALUE, windowEnd);
+    }
+    
+    private void add(long boardId, TaskCard card, BoardChangeEvent.Type type, long deadline, long windowStart, long windowEnd) {
+        if (deadline >= windowStart && deadline < windowEnd) {
+            // Prazos já passados não são agendados (false): o aviso vale só para o que vence com a aplicação no ar
+            wheel.schedule(key(boardId, card.getId(), type), deadline, new Notice(boardId, type, card));
+        }
+    }
+    
+    private void unschedule(long boardId, Long taskId) {
+        wheel.remove(key(boardId, taskId, BoardChangeEvent.Type.TASK_DUE));
+        wheel.remove(key(boardId, taskId, BoardChangeEvent.Type.TASK_OVERDUE));
+    }
+    
+    private long startOf(LocalDate date) {
+        return date.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+    
+    private static String key(long boardId, Long taskId, BoardChangeEvent.Type type) {
+        return boardId + ":" + taskId + ":" + type.name();
+    }
+    
+    // Tarefa lida por uma carga, na versão em que foi lida
+    private static class Due {
+        
+        private final long boardId;
+        private final TaskCard card;
+        private final long version;
+        
+        Due(long boardId, TaskCard card, long version) {
+            this.boardId = boardId;
+            this.card = card;
+            this.version = version;
+        }
+    }
+    
+    private static class Notice {
+        
+        private final long boardId;
+        private final BoardChangeEvent.Type type;
+        private final TaskCard card;
+        
+        Notice(long boardId, BoardChangeEvent.Type type, TaskCard card) {
+            this.boardId = boardId;
+            this.type = type;
+            this.card = card;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Tarefas de uma coluna na projeção em memória, em arrays paralelos na ordem da coluna (cardRank, createdAt, id).
+// Ids em long[] e prioridade/status como ordinal em byte[], para buscas e contagens sem tocar nas tarefas.
+// Imutável: cada alteração cria uma nova instância, e leitores concorrentes continuam com a anterior.
+final class ProjectedColumn {
+    
+    static final ProjectedColumn EMPTY = new ProjectedColumn(new long[0], new byte[0], new byte[0], new Task[0]);
+    
+    private final long[] ids;
+    private final byte[] priorities;
+    private final byte[] statuses;
+    private final Task[] tasks;
+    
+    private ProjectedColumn(long[] ids, byte[] priorities, byte[] statuses, Task[] tasks) {
+        this.ids = ids;
+        this.priorities = priorities;
+        this.statuses = statuses;
+        this.tasks = tasks;
+    }
+    
+    // Tarefas já na ordem da coluna
+    static ProjectedColumn of(List<Task> sortedTasks) {
+        int size = sortedTasks.size();
+        long[] ids = new long[size];
+        byte[] priorities = new byte[size];
+        byte[] statuses = new byte[size];
+        Task[] tasks = new Task[size];
+        for (int i = 0; i < size; i++) {
+            Task task = sortedTasks.get(i);
+            ids[i] = task.getId();
+            priorities[i] = (byte) task.getPriority().ordinal();
+            statuses[i] = (byte) task.getStatus().ordinal();
+            tasks[i] = task;
+        }
+        return new ProjectedColumn(ids, priorities, statuses, tasks);
+    }
+    
+    int size() {
+        return ids.length;
+    }
+    
+    List<Task> tasks() {
+        return Collections.unmodifiableList(Arrays.asList(tasks));
+    }
+    
+    long countByStatus(Task.Status status) {
+        byte ordinal = (byte) status.ordinal();
+        long count = 0;
+        for (byte value : statuses) {
+            if (value == ordinal) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    void collectByStatus(Task.Status status, List<Task> target) {
+        byte ordinal = (byte) status.ordinal();
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] == ordinal) {
+                target.add(tasks[i]);
+            }
+        }
+    }
+    
+    // Nova coluna com a tarefa inserida (ou substituída) na sua posição
+    ProjectedColumn with(Task task) {
+        ProjectedColumn base = without(task.getId());
+        int size = base.ids.length;
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (BoardProjection.COLUMN_ORDER.compare(base.tasks[middle], task) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int position = low;
+        long[] newIds = new long[size + 1];
+        byte[] newPriorities = new byte[size + 1];
+        byte[] newStatuses = new byte[size + 1];
+        Task[] newTasks = new Task[size + 1];
+        copyAround(base, position, newIds, newPriorities, newStatuses, newTasks);
+        newIds[position] = task.getId();
+        newPriorities[position] = (byte) task.getPriority().ordinal();
+        newStatuses[position] = (byte) task.getStatus().ordinal();
+        newTasks[position] = task;
+        return new ProjectedColumn(newIds, newPriorities, newStatuses, newTasks);
+    }
+    
+    ProjectedColumn without(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return this;
+        }
+        int size = ids.length - 1;
+        long[] newIds = new long[size];
+        byte[] newPriorities = new byte[size];
+        byte[] newStatuses = new byte[size];
+        Task[] newTasks = new Task[size];
+        System.arraycopy(ids, 0, newIds, 0, index);
+        System.arraycopy(ids, index + 1, newIds, index, size - index);
+        System.arraycopy(priorities, 0, newPriorities, 0, index);
+        System.arraycopy(priorities, index + 1, newPriorities, index, size - index);
+        System.arraycopy(statuses, 0, newStatuses, 0, index);
+        System.arraycopy(statuses, index + 1, newStatuses, index, size - index);
+        System.arraycopy(tasks, 0, newTasks, 0, index);
+        System.arraycopy(tasks, index + 1, newTasks, index, size - index);
+        return new ProjectedColumn(newIds, newPriorities, newStatuses, newTasks);
+    }
+    
+    private int indexOf(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    // Copia a coluna base deixando livre o índice position
+    private static void copyAround(ProjectedColumn base, int position, long[] ids, byte[] priorities,
+                                   byte[] statuses, Task[] tasks) {
+        int tail = base.ids.length - position;
+        System.arraycopy(base.ids, 0, ids, 0, position);
+        System.arraycopy(base.ids, position, ids, position + 1, tail);
+        System.arraycopy(base.priorities, 0, priorities, 0, position);
+        System.arraycopy(base.priorities, position, priorities, position + 1, tail);
+        System.arraycopy(base.statuses, 0, statuses, 0, position);
+        System.arraycopy(base.statuses, position, statuses, position + 1, tail);
+        System.arraycopy(base.tasks, 0, tasks, 0, position);
+        System.arraycopy(base.tasks, position, tasks, position + 1, tail);
+    }
+}
@@ -0,0 +1,72 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Índice id -> tarefa da projeção em memória, publicado no mesmo snapshot que as colunas.
+// Imutável e dividido em PARTS mapas pelo id: cada alteração copia só o mapa da tarefa (e a lista de
+// referências), em vez do índice inteiro.
+final class ProjectedIndex {
+    
+    private static final int PARTS = 64;
+    
+    private final List<Map<Long, Task>> parts;
+    private final int size;
+    
+    private ProjectedIndex(List<Map<Long, Task>> parts, int size) {
+        this.parts = parts;
+        this.size = size;
+    }
+    
+    static ProjectedIndex of(Collection<Task> tasks) {
+        List<Map<Long, Task>> parts = new ArrayList<>(PARTS);
+        for (int i = 0; i < PARTS; i++) {
+            parts.add(new HashMap<>());
+        }
+        for (Task task : tasks) {
+            parts.get(partOf(task.getId())).put(task.getId(), task);
+        }
+        return new ProjectedIndex(parts, tasks.size());
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    Task get(Long id) {
+        return id != null ? parts.get(partOf(id)).get(id) : null;
+    }
+    
+    // Novo índice com a tarefa inserida ou substituída
+    ProjectedIndex with(Task task) {
+        int part = partOf(task.getId());
+        Map<Long, Task> copy = new HashMap<>(parts.get(part));
+        boolean added = copy.put(task.getId(), task) == null;
+        return replace(part, copy, added ? size + 1 : size);
+    }
+    
+    ProjectedIndex without(Long id) {
+        int part = partOf(id);
+        if (!parts.get(part).containsKey(id)) {
+            return this;
+        }
+        Map<Long, Task> copy = new HashMap<>(parts.get(part));
+        copy.remove(id);
+        return replace(part, copy, size - 1);
+    }
+    
+    private ProjectedIndex replace(int part, Map<Long, Task> map, int newSize) {
+        List<Map<Long, Task>> copy = new ArrayList<>(parts);
+        copy.set(part, map);
+        return new ProjectedIndex(copy, newSize);
+    }
+    
+    private static int partOf(long id) {
+        return (int) Math.floorMod(id, (long) PARTS);
+    }
+}
@@ -0,0 +1,156 @@
+package com.kanban.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lê registros de um texto aos poucos, com tamanho máximo por registro: linhas (NDJSON) ou registros CSV
+// (RFC 4180: campos entre aspas podem ter vírgulas, aspas duplicadas e quebras de linha, mantidas como estão
+// no arquivo). Linhas vazias são ignoradas. Um registro maior que o limite é descartado até o fim e devolvido
+// com erro, sem ser acumulado.
+class RecordReader {
+    
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final int maxChars;
+    
+    // Linha atual (1 = primeira), caractere lido antecipadamente depois de um '\r' e a última quebra de linha
+    // como estava no texto
+    private long line = 1;
+    private int pending = -2;
+    private String lineBreak = "\n";
+    
+    private RecordReader(Reader reader, boolean csv, int maxChars) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 65536);
+        this.csv = csv;
+        this.maxChars = maxChars;
+    }
+    
+    static RecordReader lines(Reader reader, int maxChars) {
+        return new RecordReader(reader, false, maxChars);
+    }
+    
+    static RecordReader csv(Reader reader, int maxChars) {
+        return new RecordReader(reader, true, maxChars);
+    }
+    
+    // Próximo registro, ou null no fim do texto
+    Record next() throws IOException {
+        while (true) {
+            long startLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean fieldStarted = false;
+            boolean tooLong = false;
+            int length = 0;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        field.append(lineBreak);
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '\n') {
+                    break;
+                } else if (csv && c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    fieldStarted = false;
+                } else if (csv && c == '"' && !fieldStarted) {
+                    quoted = true;
+                    fieldStarted = true;
+                } else {
+                    field.append((char) c);
+                    fieldStarted = true;
+                }
+                if (++length > maxChars) {
+                    // Descarta o restante do registro sem guardar, mantendo o estado das aspas
+                    tooLong = true;
+                    field.setLength(0);
+                    fields.clear();
+                    length = 0;
+                }
+                c = read();
+            }
+            if (quoted) {
+                return new Record(startLine, null, "Aspas não fechadas até o fim do arquivo");
+            }
+            if (tooLong) {
+                return new Record(startLine, null, "Registro maior que " + maxChars + " caracteres");
+            }
+            fields.add(field.toString());
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return new Record(startLine, fields, null);
+        }
+    }
+    
+    // Lê um caractere tratando "\r\n" e "\r" como '\n' e contando as linhas
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\r') {
+            int next = reader.read();
+            if (next != '\n') {
+                pending = next;
+                lineBreak = "\r";
+            } else {
+                lineBreak = "\r\n";
+            }
+            c = '\n';
+        } else if (c == '\n') {
+            lineBreak = "\n";
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+    
+    static class Record {
+        
+        private final long line;
+        private final List<String> fields;
+        private final String error;
+        
+        Record(long line, List<String> fields, String error) {
+            this.line = line;
+            this.fields = fields;
+            this.error = error;
+        }
+        
+        long getLine() {
+            return line;
+        }
+        
+        List<String> getFields() {
+            return fields;
+        }
+        
+        String getError() {
+            return error;
+        }
+    }
+}
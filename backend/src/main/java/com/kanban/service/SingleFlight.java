@@ -0,0 +1,62 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Agrupa leituras idênticas e simultâneas do mesmo quadro numa única consulta: a primeira requisição executa
+// e as que chegam enquanto ela está em andamento recebem o mesmo resultado (ou a mesma exceção).
+// Nada fica guardado depois que a consulta termina. Após uma escrita (BoardCache) as consultas em andamento
+// do quadro deixam de ser compartilhadas, para que quem acabou de gravar não receba um resultado anterior.
+@Component
+public class SingleFlight {
+    
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        String flightKey = BoardContext.current() + ":" + name + ":" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            meterRegistry.counter("kanban.singleflight.shared", "query", name).increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+    
+    // Novas leituras do quadro atual passam a executar sua própria consulta
+    public void forgetBoard() {
+        String prefix = BoardContext.current() + ":";
+        inFlight.keySet().removeIf(flightKey -> flightKey.startsWith(prefix));
+    }
+    
+    public void forgetAll() {
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+import com.kanban.model.Tombstone;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+// Marca tarefas, colunas e exclusões gravadas pelo Hibernate com o token da transação (SyncRevisions).
+// Instanciado pelo Hibernate através do contêiner do Spring durante a criação do EntityManagerFactory, do qual
+// SyncRevisions depende; por isso a referência é resolvida só no primeiro uso (@Lazy).
+public class SyncRevisionListener {
+    
+    @Autowired
+    @Lazy
+    private SyncRevisions syncRevisions;
+    
+    @PrePersist
+    @PreUpdate
+    public void stamp(Object entity) {
+        if (entity instanceof Task task) {
+            task.setSyncRevision(syncRevisions.token(boardOf(task.getBoardId()), SyncRevisions.TASKS));
+        } else if (entity instanceof BoardColumn column) {
+            column.setSyncRevision(syncRevisions.token(boardOf(column.getBoardId()), SyncRevisions.COLUMNS));
+        } else if (entity instanceof Tombstone tombstone) {
+            tombstone.setSyncRevision(syncRevisions.token(boardOf(tombstone.getBoardId()), SyncRevisions.TOMBSTONES));
+        }
+    }
+    
+    // No insert o @TenantId ainda não foi preenchido; vale o quadro da sessão
+    private static long boardOf(Long boardId) {
+        return boardId != null ? boardId : BoardContext.current();
+    }
+}
@@ -0,0 +1,108 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.dto.BoardChanges;
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+import com.kanban.model.Tombstone;
+import com.kanban.repository.ColumnRepository;
+import com.kanban.repository.TaskRepository;
+import com.kanban.repository.TombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Sincronização incremental: o que mudou ou foi excluído (tombstones) depois de uma revisão.
+// A revisão é o contador do quadro em ordem de commit (SyncRevisions); clientes devem aplicar as exclusões
+// antes das alterações.
+@Service
+@Timed("kanban.service")
+public class SyncService {
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private ColumnRepository columnRepository;
+    
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Autowired
+    private BoardRegistry boardRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${kanban.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+    
+    // A revisão é lida antes das linhas: todas as gravações com revisão <= revision já estão confirmadas.
+    // since maior que a revisão atual (p. ex. um instante em milissegundos de clientes antigos) ou anterior às
+    // exclusões já removidas pela retenção pede recarga completa.
+    @Transactional(readOnly = true)
+    public BoardChanges getChangesSince(long since) {
+        long revision = syncRevisions.current();
+        if (since > revision || (since > 0 && since < syncRevisions.purged())) {
+            return new BoardChanges(revision, true, List.of(), List.of(), List.of(), List.of());
+        }
+        
+        List<Task> tasks = taskRepository.findChangedSince(since, revision);
+        List<BoardColumn> columns = columnRepository.findChangedSince(since, revision);
+        List<Long> deletedTaskIds = new ArrayList<>();
+        List<String> deletedColumnIds = new ArrayList<>();
+        for (Tombstone tombstone : tombstoneRepository.findChangedSince(since, revision)) {
+            if (tombstone.getEntityType() == Tombstone.EntityType.TASK) {
+                deletedTaskIds.add(tombstone.getTaskId());
+            } else {
+                deletedColumnIds.add(tombstone.getColumnId());
+            }
+        }
+        return new BoardChanges(revision, false, tasks, columns, deletedTaskIds, deletedColumnIds);
+    }
+    
+    public void recordTaskDeletions(Collection<Long> taskIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Tombstone> tombstones = new ArrayList<>(taskIds.size());
+        for (Long taskId : taskIds) {
+            tombstones.add(new Tombstone(Tombstone.EntityType.TASK, taskId, null, now));
+        }
+        tombstoneRepository.saveAll(tombstones);
+    }
+    
+    public int recordTaskDeletionsInColumn(String columnId) {
+        return tombstoneRepository.insertForTasksInColumn(BoardContext.current(), columnId, LocalDateTime.now(),
+                syncRevisions.token(SyncRevisions.TOMBSTONES));
+    }
+    
+    public void recordColumnDeletion(String columnId) {
+        tombstoneRepository.save(new Tombstone(Tombstone.EntityType.COLUMN, null, columnId, LocalDateTime.now()));
+    }
+    
+    // Um quadro por transação; a maior revisão removida passa a exigir recarga de quem sincronizou antes dela
+    @Scheduled(cron = "${kanban.sync.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeExpiredTombstones() {
+        LocalDateTime before = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        boardRegistry.forEachBoard(() -> transaction.executeWithoutResult(status -> {
+            Long purged = tombstoneRepository.findMaxSyncRevisionBefore(before);
+            if (purged != null) {
+                syncRevisions.markPurged(purged);
+                tombstoneRepository.deleteOlderThan(before);
+            }
+        }));
+    }
+}
@@ -0,0 +1,373 @@
+package com.kanban.service;
+
+import com.kanban.config.BoardContext;
+import com.kanban.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Persistência assíncrona das movimentações de tarefas feitas na projeção em memória.
+// Cada movimentação é gravada no log (com fsync) antes de ser confirmada ao cliente; o fsync é feito em grupo,
+// um para todas as linhas escritas enquanto o anterior estava em andamento. Um flusher periódico
+// agrupa as pendentes por tarefa (vale a última) e grava tudo em um UPDATE em lote; o segmento do log só
+// é apagado depois do commit. Na inicialização, antes de aceitar requisições, os segmentos que restaram de
+// uma queda são reaplicados.
+@Component
+public class TaskMoveWriteBehind implements SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskMoveWriteBehind.class);
+    
+    private static final String SEGMENT_PREFIX = "moves-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    
+    // Só se a tarefa ainda não passou da versão de onde a movimentação partiu: uma escrita síncrona posterior
+    // não é sobrescrita, e um segmento reaplicado depois de já gravado (queda entre o commit e a remoção do
+    // arquivo) não tem efeito.
+    // COALESCE: linhas de logs anteriores ao card_rank não trazem posição e mantêm a gravada.
+    private static final String UPDATE_SQL =
+        "UPDATE tasks SET column_id = ?, status = ?, card_rank = COALESCE(?, card_rank), updated_at = ?, " +
+        "version = ?, sync_revision = ? WHERE id = ? AND version <= ?";
+    
+    // Posição ausente no log
+    private static final String NO_RANK = "-";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Value("${kanban.projection.wal-dir:data/wal}")
+    private String walDir;
+    
+    @Value("${kanban.projection.flush-interval-ms:100}")
+    private long flushIntervalMs;
+    
+    private final Object flushLock = new Object();
+    private final Object syncLock = new Object();
+    // Linhas escritas (this) e sincronizadas no disco (syncLock), numeradas em ordem de escrita
+    private long writtenSeq;
+    private long syncedSeq;
+    private Map<Long, PendingMove> pending = new LinkedHashMap<>();
+    // Lote sendo gravado pelo flush: continua pendente (hasPending, pendingFor) até o segmento dele ser apagado
+    private Map<Long, PendingMove> flushing = Map.of();
+    private final List<Path> retainedSegments = new ArrayList<>();
+    private ScheduledExecutorService flusher;
+    private FileChannel segment;
+    private Path segmentPath;
+    private long segmentSeq;
+    
+    // Movimentação aceita e ainda não gravada no banco; version é a versão final da tarefa após ela e
+    // expectedVersion a versão de onde ela partiu
+    public static class PendingMove {
+        final long taskId;
+        final String columnId;
+        final Task.Status status;
+        final String cardRank;
+        final LocalDateTime updatedAt;
+        final long version;
+        final long expectedVersion;
+        
+        PendingMove(long taskId, String columnId, Task.Status status, String cardRank, LocalDateTime updatedAt,
+                    long version, long expectedVersion) {
+            this.taskId = taskId;
+            this.columnId = columnId;
+            this.status = status;
+            this.cardRank = cardRank;
+            this.updatedAt = updatedAt;
+            this.version = version;
+            this.expectedVersion = expectedVersion;
+        }
+        
+        String toLine() {
+            return taskId + "\t" + URLEncoder.encode(columnId, StandardCharsets.UTF_8) + "\t" + status.name()
+                    + "\t" + updatedAt + "\t" + version + "\t" + (cardRank != null ? cardRank : NO_RANK)
+                    + "\t" + expectedVersion + "\n";
+        }
+        
+        // Posição e versão de origem são os últimos campos, opcionais em linhas gravadas antes deles existirem
+        static PendingMove fromLine(String line) {
+            String[] parts = line.split("\t");
+            String cardRank = parts.length > 5 && !parts[5].equals(NO_RANK) ? parts[5] : null;
+            long version = Long.parseLong(parts[4]);
+            long expectedVersion = parts.length > 6 ? Long.parseLong(parts[6]) : version - 1;
+            return new PendingMove(Long.parseLong(parts[0]), URLDecoder.decode(parts[1], StandardCharsets.UTF_8),
+                    Task.Status.valueOf(parts[2]), cardRank, LocalDateTime.parse(parts[3]), version, expectedVersion);
+        }
+    }
+    
+    // Reaplica os segmentos que restaram de uma execução anterior. Roda em toda inicialização, com a projeção
+    // ligada ou não (ela pode ter sido desligada depois de uma queda, e o perfil migrate a desliga), depois das
+    // migrações e antes de o servidor web aceitar requisições. Segmento que não pode ser aplicado impede a subida:
+    // as movimentações nele já foram confirmadas aos clientes.
+    @Override
+    public void afterSingletonsInstantiated() {
+        Path dir = Paths.get(walDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try {
+            List<Path> leftovers = listSegments(dir);
+            if (leftovers.isEmpty()) {
+                return;
+            }
+            Map<Long, PendingMove> recovered = new LinkedHashMap<>();
+            for (Path path : leftovers) {
+                readSegment(path, recovered);
+                segmentSeq = Math.max(segmentSeq, sequenceOf(path));
+            }
+            write(recovered);
+            for (Path path : leftovers) {
+                Files.deleteIfExists(path);
+            }
+            log.info("Reaplicadas {} movimentações pendentes do log", recovered.size());
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Falha ao reaplicar o log de movimentações em " + walDir
+                    + "; os segmentos foram mantidos", e);
+        }
+    }
+    
+    // Passa a aceitar movimentações (projeção ativa)
+    public void start() {
+        try {
+            Files.createDirectories(Paths.get(walDir));
+            synchronized (this) {
+                openSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o log de movimentações em " + walDir, e);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-move-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flush();
+            synchronized (this) {
+                closeSegment();
+            }
+        }
+    }
+    
+    // Escreve a linha no log, ainda sem fsync, e devolve o número dela para awaitDurable.
+    // A ordem das chamadas é a ordem do log e de pending.
+    public synchronized long write(PendingMove move) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(move.toLine().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar movimentação no log", e);
+        }
+        pending.put(move.taskId, move);
+        return ++writtenSeq;
+    }
+    
+    // Retorna quando a linha seq está no disco. Quem entra no syncLock faz um fsync que cobre tudo o que já foi
+    // escrito, inclusive as linhas de quem está esperando atrás dele, que então retornam sem novo fsync.
+    public void awaitDurable(long seq) {
+        synchronized (syncLock) {
+            if (syncedSeq >= seq) {
+                return;
+            }
+            long upTo;
+            FileChannel channel;
+            synchronized (this) {
+                upTo = writtenSeq;
+                channel = segment;
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // Segmento trocado pelo flush depois de lido acima: ele foi sincronizado antes de ser fechado
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao sincronizar o log de movimentações", e);
+            }
+            syncedSeq = upTo;
+        }
+    }
+    
+    public synchronized PendingMove pendingFor(long taskId) {
+        PendingMove move = pending.get(taskId);
+        return move != null ? move : flushing.get(taskId);
+    }
+    
+    // Inclui o lote em gravação: quem vai escrever direto no banco espera por ele em flush(), senão o commit
+    // do lote (ou a reaplicação do segmento depois de uma queda) poderia chegar depois da escrita
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty() || !flushing.isEmpty();
+    }
+    
+    // Grava no banco tudo o que está pendente; chamado pelo flusher e antes de escritas síncronas
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Long, PendingMove> batch;
+            Path flushedSegment;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                // Linhas ainda aguardando o fsync em grupo ficam neste segmento: sincronizado antes de trocar
+                syncSegment();
+                batch = pending;
+                flushing = batch;
+                pending = new LinkedHashMap<>();
+                flushedSegment = segmentPath;
+                closeSegment();
+                openSegment();
+            }
+            try {
+                write(batch);
+                Files.deleteIfExists(flushedSegment);
+                for (Path retained : retainedSegments) {
+                    Files.deleteIfExists(retained);
+                }
+                retainedSegments.clear();
+                synchronized (this) {
+                    flushing = Map.of();
+                }
+            } catch (RuntimeException | IOException e) {
+                // Mantém o segmento em disco e devolve à fila o que não foi substituído por movimentações mais novas
+                retainedSegments.add(flushedSegment);
+                synchronized (this) {
+                    Map<Long, PendingMove> merged = new LinkedHashMap<>(batch);
+                    merged.putAll(pending);
+                    pending = merged;
+                    flushing = Map.of();
+                }
+                throw e instanceof RuntimeException ? (RuntimeException) e : new UncheckedIOException((IOException) e);
+            }
+        }
+    }
+    
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar movimentações pendentes; nova tentativa no próximo ciclo", e);
+        }
+    }
+    
+    private void write(Map<Long, PendingMove> moves) {
+        if (moves.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            // Revisão da gravação, não do instante da movimentação: a sincronização incremental vê estas
+            // linhas como alteradas agora, mesmo com o updated_at original
+            long syncToken = syncRevisions.token(BoardContext.DEFAULT_BOARD_ID, SyncRevisions.TASKS);
+            List<Object[]> args = new ArrayList<>(moves.size());
+            for (PendingMove move : moves.values()) {
+                args.add(new Object[]{move.columnId, move.status.name(), move.cardRank, Timestamp.valueOf(move.updatedAt),
+                        move.version, syncToken, move.taskId, move.expectedVersion});
+            }
+            jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+        });
+    }
+    
+    private void openSegment() {
+        try {
+            segmentPath = Paths.get(walDir).resolve(SEGMENT_PREFIX + (++segmentSeq) + SEGMENT_SUFFIX);
+            segment = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar segmento do log de movimentações", e);
+        }
+    }
+    
+    private void syncSegment() {
+        try {
+            segment.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao sincronizar o log de movimentações", e);
+        }
+    }
+    
+    private void closeSegment() {
+        try {
+            if (segment != null) {
+                segment.close();
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao fechar segmento {}", segmentPath, e);
+        }
+        // Segmento vazio não precisa ficar em disco
+        try {
+            if (segmentPath != null && Files.size(segmentPath) == 0) {
+                Files.deleteIfExists(segmentPath);
+            }
+        } catch (IOException e) {
+            log.debug("Segmento {} não pôde ser verificado", segmentPath, e);
+        }
+    }
+    
+    private static List<Path> listSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+    }
+    
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    private static void readSegment(Path path, Map<Long, PendingMove> target) throws IOException {
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                PendingMove move = PendingMove.fromLine(line);
+                target.remove(move.taskId);
+                target.put(move.taskId, move);
+            } catch (RuntimeException e) {
+                // Última linha incompleta de uma gravação interrompida: nunca foi confirmada ao cliente
+                log.warn("Linha inválida ignorada em {}: {}", path, line);
+            }
+        }
+    }
+}
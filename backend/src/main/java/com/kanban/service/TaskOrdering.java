@@ -0,0 +1,39 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Ordem das listas de tarefas (GET /api/tasks, /stream e /page, e a mesma lista na projeção): status na ordem
+// do fluxo, prioridade da mais alta para a mais baixa, depois criação e id. É a ordem de declaração dos enums
+// de Task, a mesma das colunas ENUM no banco (V11): ORDER BY t.status, t.priority DESC, t.createdAt, t.id
+// nas consultas do TaskRepository produz esta sequência.
+final class TaskOrdering {
+    
+    static final Comparator<Task.Status> STATUS = Comparator.naturalOrder();
+    static final Comparator<Task.Priority> PRIORITY = Comparator.reverseOrder();
+    
+    static final Comparator<Task> CREATED = Comparator
+            .comparing(Task::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Task::getId);
+    // Lista de um status
+    static final Comparator<Task> PRIORITY_CREATED = Comparator
+            .comparing(Task::getPriority, PRIORITY)
+            .thenComparing(CREATED);
+    // Lista completa
+    static final Comparator<Task> STATUS_PRIORITY_CREATED = Comparator
+            .comparing(Task::getStatus, STATUS)
+            .thenComparing(PRIORITY_CREATED);
+    
+    // Grupos (status, prioridade) da paginação por chave, nesta mesma ordem
+    static final List<Task.Status> STATUSES = sorted(Task.Status.values(), STATUS);
+    static final List<Task.Priority> PRIORITIES = sorted(Task.Priority.values(), PRIORITY);
+    
+    private TaskOrdering() {}
+    
+    private static <T> List<T> sorted(T[] values, Comparator<? super T> order) {
+        return Arrays.stream(values).sorted(order).toList();
+    }
+}
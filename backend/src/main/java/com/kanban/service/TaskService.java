@@ -1,50 +1,261 @@
 package com.kanban.service;
 
+import com.kanban.config.CacheConfig;
+import com.kanban.dto.DueCursor;
+import com.kanban.dto.TaskBatchOperation;
+import com.kanban.dto.TaskBatchResult;
+import com.kanban.dto.TaskCard;
+import com.kanban.dto.TaskCursor;
+import com.kanban.dto.TaskPage;
+import com.kanban.dto.TaskPatch;
+import com.kanban.dto.TaskSearchCriteria;
+import com.kanban.dto.TaskSearchResult;
+import com.kanban.event.BoardChangeEvent;
+import com.kanban.event.TaskTransitionEvent;
 import com.kanban.model.Task;
+import com.kanban.repository.TaskBatchInserter;
 import com.kanban.repository.TaskRepository;
+import com.kanban.repository.TaskSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed("kanban.service")
 public class TaskService {
     
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    // Campos aceitos em sort=campo,asc|desc na busca
+    private static final Set<String> SEARCH_SORT_FIELDS = Set.of("createdAt", "updatedAt", "dueDate", "title");
+    
     @Autowired
     private TaskRepository taskRepository;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private BoardCache boardCache;
+    
+    @Autowired
+    private TaskBatchInserter taskBatchInserter;
+    
+    @Autowired
+    private SyncRevisions syncRevisions;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private CardRankService cardRankService;
+    
+    @Autowired
+    private DueDateNotifier dueDateNotifier;
+    
+    @Value("${kanban.search.fulltext:true}")
+    private boolean fullTextEnabled;
+    
+    // MATCH ... AGAINST só no MySQL, onde a migração cria o índice FULLTEXT
+    private boolean fullTextSearch;
+    
+    @PostConstruct
+    void detectFullTextSearch() {
+        fullTextSearch = fullTextEnabled && entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+    
+    // Sem a projeção, requisições simultâneas do mesmo quadro compartilham uma única consulta (SingleFlight)
     public List<Task> getAllTasks() {
-        return taskRepository.findAllOrderByStatusAndPriority();
+        if (boardProjection.isReady()) {
+            return boardProjection.getAllTasks();
+        }
+        return singleFlight.execute("tasks", "all", taskRepository::findAllOrderByStatusAndPriority);
+    }
+    
+    // Cartões (sem descrição) de todas as tarefas, na mesma ordem de getAllTasks
+    public List<TaskCard> getAllTaskCards() {
+        if (boardProjection.isReady()) {
+            List<TaskCard> cards = new ArrayList<>();
+            for (Task task : boardProjection.getAllTasks()) {
+                cards.add(TaskCard.of(task));
+            }
+            return cards;
+        }
+        return singleFlight.execute("tasks", "cards", taskRepository::findAllCardsOrderByStatusAndPriority);
+    }
+    
+    public TaskPage getTasksPage(String cursorToken, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TaskCursor cursor = cursorToken != null && !cursorToken.isEmpty() ? TaskCursor.decode(cursorToken) : null;
+        List<Task> page = new ArrayList<>(pageSize);
+        
+        // Cada grupo (status, prioridade) é lido pelo índice com chave (createdAt, id), na ordem de TaskOrdering,
+        // a mesma de getAllTasks e forEachTask; a página continua no grupo seguinte até completar o tamanho pedido
+        boolean started = cursor == null;
+        for (Task.Status status : TaskOrdering.STATUSES) {
+            for (Task.Priority priority : TaskOrdering.PRIORITIES) {
+                PageRequest limit = PageRequest.ofSize(pageSize - page.size());
+                if (started) {
+                    page.addAll(taskRepository.findPageFirst(status, priority, limit));
+                } else if (status == cursor.getStatus() && priority == cursor.getPriority()) {
+                    started = true;
+                    page.addAll(taskRepository.findPageAfter(status, priority, cursor.getCreatedAt(), cursor.getId(), limit));
+                }
+                if (page.size() == pageSize) {
+                    return new TaskPage(page, TaskCursor.of(page.get(pageSize - 1)).encode());
+                }
+            }
+        }
+        return new TaskPage(page, null);
+    }
+    
+    // Tarefas com prazo entre from e to (padrão: hoje e os 6 dias seguintes) ou, com overdue, vencidas até ontem,
+    // nos status pedidos (padrão: não concluídas), em ordem de prazo. Cada status é lido pelo índice
+    // (board_id, due_date, status) com chave (dueDate, id) e os resultados são intercalados.
+    public TaskPage getDueTasks(LocalDate from, LocalDate to, boolean overdue, Set<Task.Status> statuses,
+                                String cursorToken, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDate today = dueDateNotifier.today();
+        if (overdue) {
+            LocalDate yesterday = today.minusDays(1);
+            to = to == null || to.isAfter(yesterday) ? yesterday : to;
+        } else {
+            from = from != null ? from : today;
+            to = to != null ? to : from.plusDays(6);
+        }
+        if (from != null && from.isAfter(to)) {
+            return new TaskPage(List.of(), null);
+        }
+        Set<Task.Status> wanted = statuses == null || statuses.isEmpty()
+                ? EnumSet.complementOf(EnumSet.of(Task.Status.DONE)) : statuses;
+        DueCursor cursor = cursorToken != null && !cursorToken.isEmpty() ? DueCursor.decode(cursorToken) : null;
+        // Movimentações ainda não gravadas pela projeção podem ter mudado o status
+        boardProjection.flushPendingWrites();
+        PageRequest limit = PageRequest.ofSize(pageSize);
+        List<Task> merged = new ArrayList<>();
+        for (Task.Status status : wanted) {
+            if (cursor != null) {
+                merged.addAll(taskRepository.findDueAfter(status, to, cursor.getDueDate(), cursor.getId(), limit));
+            } else if (from != null) {
+                merged.addAll(taskRepository.findDueBetween(status, from, to, limit));
+            } else {
+                merged.addAll(taskRepository.findDueUntil(status, to, limit));
+            }
+        }
+        merged.sort(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId));
+        if (merged.size() < pageSize) {
+            return new TaskPage(merged, null);
+        }
+        List<Task> page = new ArrayList<>(merged.subList(0, pageSize));
+        return new TaskPage(page, DueCursor.of(page.get(pageSize - 1)).encode());
     }
     
+    // Busca paginada com filtros combinados; sort no formato "campo,asc|desc" (padrão createdAt,desc)
+    public TaskSearchResult searchTasks(TaskSearchCriteria criteria, int page, int size, String sort) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(Math.max(0, page), pageSize, searchSort(sort));
+        Page<Task> result = taskRepository.findAll(TaskSpecifications.matching(criteria, fullTextSearch), pageable);
+        return new TaskSearchResult(result.getContent(), result.getNumber(), pageSize,
+                result.getTotalElements(), result.getTotalPages());
+    }
+    
+    @Transactional(readOnly = true)
+    public void forEachTask(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllOrderByStatusAndPriority()) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                // Liberar a entidade já escrita para manter a memória constante
+                entityManager.detach(task);
+            });
+        }
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.TASKS_BY_STATUS, key = "T(com.kanban.config.CacheConfig).boardKey(#status)", sync = true)
     public List<Task> getTasksByStatus(Task.Status status) {
+        if (boardProjection.isReady()) {
+            return boardProjection.getTasksByStatus(status);
+        }
         return taskRepository.findByStatusOrderByPriorityAndCreatedAt(status);
     }
     
     public Optional<Task> getTaskById(Long id) {
+        if (boardProjection.isReady()) {
+            return boardProjection.getTask(id);
+        }
         return taskRepository.findById(id);
     }
     
+    // Novas tarefas entram no fim da coluna
     public Task createTask(Task task) {
-        if (task.getStatus() == null) {
-            task.setStatus(Task.Status.TODO);
-        }
-        // Se columnId foi definido, usar esse valor
-        if (task.getColumnId() != null && !task.getColumnId().isEmpty()) {
-            // Manter o columnId fornecido
-        } else {
-            // Se columnId não foi definido, usar o status como padrão
-            task.setColumnId(task.getStatus().name().toLowerCase());
-        }
-        return taskRepository.save(task);
+        applyCreateDefaults(task);
+        task.setCardRank(cardRankService.endOf(task.getColumnId()));
+        Task savedTask = taskRepository.save(task);
+        boardCache.evictTasks(savedTask);
+        eventPublisher.publishEvent(BoardChangeEvent.task(BoardChangeEvent.Type.TASK_CREATED, savedTask));
+        eventPublisher.publishEvent(TaskTransitionEvent.created(savedTask));
+        return savedTask;
     }
     
-    public Task updateTask(Long id, Task taskDetails) {
+    // Substitui todos os campos; com expectedVersion (If-Match) falha se a tarefa já mudou.
+    // Uma alteração concorrente entre a leitura e o commit é detectada pelo @Version no UPDATE.
+    @Transactional
+    public Task updateTask(Long id, Task taskDetails, Long expectedVersion) {
+        boardProjection.flushPendingWrites();
         Optional<Task> optionalTask = taskRepository.findById(id);
         
         if (optionalTask.isPresent()) {
             Task task = optionalTask.get();
+            checkVersion(task, expectedVersion);
+            String previousColumnId = task.getColumnId();
+            Task.Status previousStatus = task.getStatus();
+            TaskTransitionEvent.State previousState = TaskTransitionEvent.State.of(task);
             task.setTitle(taskDetails.getTitle());
             task.setDescription(taskDetails.getDescription());
             task.setAssignee(taskDetails.getAssignee());
@@ -52,40 +263,145 @@ public class TaskService {
             task.setStatus(taskDetails.getStatus());
             task.setDueDate(taskDetails.getDueDate());
             
-            // Atualizar columnId se fornecido
+            // Atualizar columnId se fornecido; em outra coluna a tarefa vai para o fim
             if (taskDetails.getColumnId() != null) {
+                if (!taskDetails.getColumnId().equals(previousColumnId)) {
+                    task.setCardRank(cardRankService.endOf(taskDetails.getColumnId()));
+                }
                 task.setColumnId(taskDetails.getColumnId());
             }
             
-            return taskRepository.save(task);
+            Task savedTask = taskRepository.save(task);
+            boardCache.evictTasks(previousColumnId, previousStatus);
+            boardCache.evictTasks(savedTask);
+            eventPublisher.publishEvent(BoardChangeEvent.task(BoardChangeEvent.Type.TASK_UPDATED, savedTask));
+            publishTransition(previousState, savedTask);
+            return savedTask;
         } else {
             throw new RuntimeException("Tarefa não encontrada com id: " + id);
         }
     }
     
-    public Task updateTaskStatus(Long id, Task.Status newStatus) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
+    @Transactional
+    public Task updateTaskStatus(Long id, Task.Status newStatus, Long expectedVersion) {
+        if (newStatus != null && boardProjection.isReady()) {
+            return moveInProjection(id, newStatus.name().toLowerCase(), newStatus, null, null, expectedVersion);
+        }
+        return patchTask(id, TaskPatch.status(newStatus), expectedVersion);
+    }
+    
+    // Atualização parcial: um único UPDATE só com as colunas enviadas, mais updated_at e version = version + 1.
+    // Sem expectedVersion o UPDATE não compara a versão, então edições simultâneas de campos diferentes
+    // (ou arrastes do mesmo cartão) não conflitam nem precisam de retry; com If-Match, version = ? entra no WHERE.
+    // A linha é lida bloqueada: edições simultâneas esperam umas pelas outras, e o estado anterior usado no
+    // cache e no histórico de transições é sempre o que este UPDATE substitui.
+    @Transactional
+    public Task patchTask(Long id, TaskPatch patch, Long expectedVersion) {
+        boardProjection.flushPendingWrites();
+        Task task = taskRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada com id: " + id));
+        checkVersion(task, expectedVersion);
+        if (patch.getFields().isEmpty()) {
+            return task;
+        }
+        String previousColumnId = task.getColumnId();
+        Task.Status previousStatus = task.getStatus();
+        TaskTransitionEvent.State previousState = TaskTransitionEvent.State.of(task);
         
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setStatus(newStatus);
-            // Atualizar columnId para corresponder ao novo status
-            task.setColumnId(newStatus.name().toLowerCase());
-            return taskRepository.save(task);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+        if (patch.has(TaskPatch.Field.TITLE)) {
+            if (patch.getTitle() == null || patch.getTitle().isBlank()) {
+                throw new IllegalArgumentException("Título é obrigatório");
+            }
+            update.set(root.get("title"), patch.getTitle());
+        }
+        if (patch.has(TaskPatch.Field.DESCRIPTION)) {
+            update.set(root.get("description"), patch.getDescription());
+        }
+        if (patch.has(TaskPatch.Field.ASSIGNEE)) {
+            update.set(root.get("assignee"), patch.getAssignee());
+        }
+        if (patch.has(TaskPatch.Field.PRIORITY)) {
+            if (patch.getPriority() == null) {
+                throw new IllegalArgumentException("Prioridade é obrigatória");
+            }
+            update.set(root.get("priority"), patch.getPriority());
+        }
+        if (patch.has(TaskPatch.Field.DUE_DATE)) {
+            update.set(root.get("dueDate"), patch.getDueDate());
+        }
+        // Status e coluna andam juntos como em updateTaskStatus e moveTaskToColumn, a menos que os dois sejam enviados
+        Task.Status status = patch.has(TaskPatch.Field.STATUS) ? patch.getStatus() : null;
+        String columnId = patch.has(TaskPatch.Field.COLUMN_ID) ? patch.getColumnId() : null;
+        if (patch.has(TaskPatch.Field.STATUS) && status == null) {
+            throw new IllegalArgumentException("Status é obrigatório");
+        }
+        if (patch.has(TaskPatch.Field.COLUMN_ID) && (columnId == null || columnId.isEmpty())) {
+            throw new IllegalArgumentException("columnId é obrigatório");
+        }
+        if (status != null && columnId == null) {
+            columnId = status.name().toLowerCase();
+        } else if (columnId != null && status == null) {
+            status = Task.Status.fromColumnId(columnId);
+        }
+        if (status != null) {
+            update.set(root.get("status"), status);
+        }
+        if (columnId != null) {
+            update.set(root.get("columnId"), columnId);
+        }
+        // Sem posição calculada (moveTaskToColumn), a tarefa movida para outra coluna vai para o fim dela
+        if (patch.has(TaskPatch.Field.CARD_RANK)) {
+            update.set(root.get("cardRank"), patch.getCardRank());
+        } else if (columnId != null && !columnId.equals(previousColumnId)) {
+            update.set(root.get("cardRank"), cardRankService.endOf(columnId));
+        }
+        update.set(root.get("updatedAt"), LocalDateTime.now());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.set(root.get("syncRevision"), syncRevisions.token(SyncRevisions.TASKS));
+        if (expectedVersion != null) {
+            update.where(cb.equal(root.get("id"), id), cb.equal(root.get("version"), expectedVersion));
         } else {
-            throw new RuntimeException("Tarefa não encontrada com id: " + id);
+            update.where(cb.equal(root.get("id"), id));
+        }
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            throw new OptimisticLockingFailureException("Tarefa alterada por outra requisição: " + id);
         }
+        entityManager.refresh(task);
+        
+        boardCache.evictTasks(previousColumnId, previousStatus);
+        boardCache.evictTasks(task);
+        boolean moveOnly = EnumSet.of(TaskPatch.Field.STATUS, TaskPatch.Field.COLUMN_ID, TaskPatch.Field.CARD_RANK)
+                .containsAll(patch.getFields());
+        eventPublisher.publishEvent(BoardChangeEvent.task(
+                moveOnly ? BoardChangeEvent.Type.TASK_MOVED : BoardChangeEvent.Type.TASK_UPDATED, task));
+        publishTransition(previousState, task);
+        return task;
     }
     
-    public void deleteTask(Long id) {
-        if (taskRepository.existsById(id)) {
-            taskRepository.deleteById(id);
+    @Transactional
+    public void deleteTask(Long id, Long expectedVersion) {
+        boardProjection.flushPendingWrites();
+        Optional<Task> optionalTask = taskRepository.findById(id);
+        if (optionalTask.isPresent()) {
+            checkVersion(optionalTask.get(), expectedVersion);
+            taskRepository.delete(optionalTask.get());
+            syncService.recordTaskDeletions(List.of(id));
+            boardCache.evictTasks(optionalTask.get());
+            eventPublisher.publishEvent(BoardChangeEvent.task(BoardChangeEvent.Type.TASK_DELETED, optionalTask.get()));
+            eventPublisher.publishEvent(TaskTransitionEvent.deleted(optionalTask.get()));
         } else {
             throw new RuntimeException("Tarefa não encontrada com id: " + id);
         }
     }
     
+    @Cacheable(cacheNames = CacheConfig.TASK_COUNT_BY_STATUS, key = "T(com.kanban.config.CacheConfig).boardKey(#status)", sync = true)
     public long countTasksByStatus(Task.Status status) {
+        if (boardProjection.isReady()) {
+            return boardProjection.countByStatus(status);
+        }
         return taskRepository.countByStatus(status);
     }
     
@@ -93,32 +409,280 @@ public class TaskService {
         return taskRepository.findByAssignee(assignee);
     }
     
+    @Cacheable(cacheNames = CacheConfig.TASKS_BY_COLUMN, key = "T(com.kanban.config.CacheConfig).boardKey(#columnId)", sync = true)
     public List<Task> getTasksByColumnId(String columnId) {
-        return taskRepository.findByColumnIdOrderByCreatedAt(columnId);
+        if (boardProjection.isReady()) {
+            return boardProjection.getTasksByColumn(columnId);
+        }
+        return taskRepository.findByColumnIdInRankOrder(columnId);
     }
     
+    @Cacheable(cacheNames = CacheConfig.TASK_COUNT_BY_COLUMN, key = "T(com.kanban.config.CacheConfig).boardKey(#columnId)", sync = true)
     public long countTasksByColumnId(String columnId) {
+        if (boardProjection.isReady()) {
+            return boardProjection.countByColumn(columnId);
+        }
         return taskRepository.countByColumnId(columnId);
     }
     
-    public Task moveTaskToColumn(Long taskId, String columnId) {
-        Optional<Task> optionalTask = taskRepository.findById(taskId);
+    @Transactional
+    public Task moveTaskToColumn(Long taskId, String columnId, Long expectedVersion) {
+        return moveTaskToColumn(taskId, columnId, null, null, expectedVersion);
+    }
+    
+    // Move para a coluna logo depois de afterId e/ou antes de beforeId (tarefas da coluna de destino).
+    // Reordenar grava só a linha da tarefa, com a posição calculada a partir dos vizinhos (CardRankService).
+    @Transactional
+    public Task moveTaskToColumn(Long taskId, String columnId, Long afterId, Long beforeId, Long expectedVersion) {
+        if (columnId != null && !columnId.isEmpty() && boardProjection.isReady()) {
+            return moveInProjection(taskId, columnId, Task.Status.fromColumnId(columnId), afterId, beforeId, expectedVersion);
+        }
+        if (columnId == null || columnId.isEmpty()) {
+            return patchTask(taskId, TaskPatch.column(columnId), expectedVersion);
+        }
+        boardProjection.flushPendingWrites();
+        // Bloqueada já aqui: patchTask recebe a mesma instância, lida sob o lock
+        Task task = taskRepository.findByIdForUpdate(taskId)
+                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada com id: " + taskId));
+        checkVersion(task, expectedVersion);
+        String rank = cardRankService.rankFor(task, columnId, afterId, beforeId);
+        return patchTask(taskId, TaskPatch.move(columnId, rank), expectedVersion);
+    }
+    
+    // Com a projeção ativa, a movimentação é confirmada após gravada no log e chega ao banco pelo write-behind.
+    // O estado anterior (para o cache e o histórico de transições) vem da própria movimentação, lido sob o lock dela.
+    private Task moveInProjection(Long taskId, String columnId, Task.Status status, Long afterId, Long beforeId,
+                                  Long expectedVersion) {
+        BoardProjection.Move move = boardProjection.move(taskId, columnId, status, afterId, beforeId, expectedVersion);
+        if (move == null) {
+            cardRankService.respace(columnId);
+            move = boardProjection.move(taskId, columnId, status, afterId, beforeId, expectedVersion);
+            if (move == null) {
+                throw new IllegalArgumentException("Não foi possível posicionar a tarefa " + taskId
+                        + " na coluna " + columnId);
+            }
+        }
+        Task previous = move.getPrevious();
+        Task moved = move.getMoved();
+        cardRankService.scheduleIfLong(columnId, moved.getCardRank());
+        boardCache.evictTasks(previous.getColumnId(), previous.getStatus());
+        boardCache.evictTasks(moved);
+        eventPublisher.publishEvent(BoardChangeEvent.task(BoardChangeEvent.Type.TASK_MOVED, moved));
+        publishTransition(TaskTransitionEvent.State.of(previous), moved);
+        return moved;
+    }
+    
+    // Histórico e agregados de análise (AnalyticsService), só quando coluna, status, responsável ou prioridade mudaram
+    private void publishTransition(TaskTransitionEvent.State previousState, Task task) {
+        TaskTransitionEvent transition = TaskTransitionEvent.changed(previousState, task);
+        if (transition != null) {
+            eventPublisher.publishEvent(transition);
+        }
+    }
+    
+    // Aplica todas as operações em uma transação: uma consulta IN para as tarefas existentes,
+    // inserts em lote via JDBC, updates agrupados pelo Hibernate no commit e um único DELETE
+    @Transactional
+    public List<TaskBatchResult> applyBatch(List<TaskBatchOperation> operations) {
+        boardProjection.flushPendingWrites();
+        Set<Long> referencedIds = new HashSet<>();
+        for (TaskBatchOperation operation : operations) {
+            if (operation != null && operation.getOp() != TaskBatchOperation.Type.CREATE && operation.getId() != null) {
+                referencedIds.add(operation.getId());
+            }
+        }
+        Map<Long, Task> existing = new HashMap<>();
+        for (Task task : taskRepository.findAllById(referencedIds)) {
+            existing.put(task.getId(), task);
+        }
         
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setColumnId(columnId);
-            // Atualizar status baseado no columnId se for uma das colunas padrão
-            if ("todo".equals(columnId)) {
-                task.setStatus(Task.Status.TODO);
-            } else if ("doing".equals(columnId)) {
-                task.setStatus(Task.Status.DOING);
-            } else if ("done".equals(columnId)) {
-                task.setStatus(Task.Status.DONE);
+        List<TaskBatchResult> results = new ArrayList<>(operations.size());
+        List<Task> created = new ArrayList<>();
+        List<TaskBatchResult> createdResults = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        Set<String> touchedColumnIds = new HashSet<>();
+        Set<Task.Status> touchedStatuses = EnumSet.noneOf(Task.Status.class);
+        Map<Long, Task> changed = new LinkedHashMap<>();
+        Map<Long, TaskTransitionEvent.State> previousStates = new HashMap<>();
+        // Última posição atribuída por coluna: tarefas criadas ou movidas no lote entram no fim, na ordem do lote
+        Map<String, String> lastRanks = new HashMap<>();
+        
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            TaskBatchOperation.Type type = operation != null ? operation.getOp() : null;
+            TaskBatchResult result = new TaskBatchResult(i, type, operation != null ? operation.getId() : null);
+            results.add(result);
+            
+            if (type == null) {
+                result.setError("Operação inválida");
+                continue;
+            }
+            if (type == TaskBatchOperation.Type.CREATE) {
+                Task task = operation.getTask();
+                if (task == null) {
+                    result.setError("Tarefa é obrigatória");
+                    continue;
+                }
+                task.setId(null);
+                applyCreateDefaults(task);
+                String violation = firstViolation(task);
+                if (violation != null) {
+                    result.setError(violation);
+                    continue;
+                }
+                task.setCardRank(appendRank(lastRanks, task.getColumnId()));
+                created.add(task);
+                createdResults.add(result);
+                continue;
+            }
+            
+            Task task = operation.getId() != null ? existing.get(operation.getId()) : null;
+            if (task == null) {
+                result.setError("Tarefa não encontrada com id: " + operation.getId());
+                continue;
+            }
+            if (operation.getVersion() != null && !operation.getVersion().equals(task.getVersion())) {
+                result.setError("Tarefa alterada por outra requisição (versão atual: " + task.getVersion() + ")");
+                continue;
             }
-            // Para colunas customizadas, manter o status atual
-            return taskRepository.save(task);
+            touchedColumnIds.add(task.getColumnId());
+            touchedStatuses.add(task.getStatus());
+            previousStates.putIfAbsent(task.getId(), TaskTransitionEvent.State.of(task));
+            switch (type) {
+                case MOVE -> {
+                    if (operation.getColumnId() == null || operation.getColumnId().isEmpty()) {
+                        result.setError("columnId é obrigatório");
+                        continue;
+                    }
+                    if (!operation.getColumnId().equals(task.getColumnId())) {
+                        task.setCardRank(appendRank(lastRanks, operation.getColumnId()));
+                    }
+                    applyColumn(task, operation.getColumnId());
+                }
+                case STATUS -> {
+                    if (operation.getStatus() == null) {
+                        result.setError("status é obrigatório");
+                        continue;
+                    }
+                    String columnId = operation.getStatus().name().toLowerCase();
+                    if (!columnId.equals(task.getColumnId())) {
+                        task.setCardRank(appendRank(lastRanks, columnId));
+                    }
+                    task.setStatus(operation.getStatus());
+                    task.setColumnId(columnId);
+                }
+                case DELETE -> {
+                    existing.remove(task.getId());
+                    // Fora do contexto de persistência para que o flush não tente atualizar a linha removida
+                    entityManager.detach(task);
+                    deletedIds.add(task.getId());
+                }
+                default -> { }
+            }
+            touchedColumnIds.add(task.getColumnId());
+            touchedStatuses.add(task.getStatus());
+            changed.put(task.getId(), task);
+        }
+        
+        taskBatchInserter.insertAll(created, syncRevisions.token(SyncRevisions.TASKS));
+        for (int i = 0; i < created.size(); i++) {
+            Task task = created.get(i);
+            createdResults.get(i).setId(task.getId());
+            touchedColumnIds.add(task.getColumnId());
+            touchedStatuses.add(task.getStatus());
+        }
+        if (!deletedIds.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(deletedIds);
+            syncService.recordTaskDeletions(deletedIds);
+        }
+        
+        for (String columnId : touchedColumnIds) {
+            boardCache.evictTasks(columnId, null);
+        }
+        for (Task.Status status : touchedStatuses) {
+            boardCache.evictTasks(null, status);
+        }
+        Set<Long> deleted = new HashSet<>(deletedIds);
+        for (Task task : changed.values()) {
+            boolean wasDeleted = deleted.contains(task.getId());
+            eventPublisher.publishEvent(BoardChangeEvent.task(
+                    wasDeleted ? BoardChangeEvent.Type.TASK_DELETED : BoardChangeEvent.Type.TASK_MOVED, task));
+            if (wasDeleted) {
+                eventPublisher.publishEvent(new TaskTransitionEvent(task.getId(), task.getCreatedAt(),
+                        previousStates.get(task.getId()), null, LocalDateTime.now()));
+            } else {
+                publishTransition(previousStates.get(task.getId()), task);
+            }
+        }
+        for (Task task : created) {
+            eventPublisher.publishEvent(BoardChangeEvent.task(BoardChangeEvent.Type.TASK_CREATED, task));
+            eventPublisher.publishEvent(TaskTransitionEvent.created(task));
+        }
+        return results;
+    }
+    
+    // Também usado pela importação (BoardTransferService)
+    static void applyCreateDefaults(Task task) {
+        if (task.getStatus() == null) {
+            task.setStatus(Task.Status.TODO);
+        }
+        // Se columnId foi definido, usar esse valor
+        if (task.getColumnId() != null && !task.getColumnId().isEmpty()) {
+            // Manter o columnId fornecido
         } else {
-            throw new RuntimeException("Tarefa não encontrada com id: " + taskId);
+            // Se columnId não foi definido, usar o status como padrão
+            task.setColumnId(task.getStatus().name().toLowerCase());
+        }
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(LocalDateTime.now());
+        }
+        if (task.getUpdatedAt() == null) {
+            task.setUpdatedAt(task.getCreatedAt());
+        }
+    }
+    
+    private String appendRank(Map<String, String> lastRanks, String columnId) {
+        String rank = lastRanks.containsKey(columnId)
+                ? CardRank.after(lastRanks.get(columnId)) : cardRankService.endOf(columnId);
+        lastRanks.put(columnId, rank);
+        return rank;
+    }
+    
+    private void applyColumn(Task task, String columnId) {
+        task.setColumnId(columnId);
+        // Atualizar status baseado no columnId se for uma das colunas padrão;
+        // para colunas customizadas, manter o status atual
+        Task.Status columnStatus = Task.Status.fromColumnId(columnId);
+        if (columnStatus != null) {
+            task.setStatus(columnStatus);
         }
     }
+    
+    private Sort searchSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SEARCH_SORT_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Campo de ordenação inválido: " + field);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(
+                        () -> new IllegalArgumentException("Direção de ordenação inválida: " + parts[1]))
+                : Sort.Direction.ASC;
+        // id desempata para a paginação ser estável
+        return Sort.by(new Sort.Order(direction, field), new Sort.Order(direction, "id"));
+    }
+    
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !Objects.equals(expectedVersion, task.getVersion())) {
+            throw new OptimisticLockingFailureException("Tarefa alterada por outra requisição: " + task.getId());
+        }
+    }
+    
+    private String firstViolation(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
 }
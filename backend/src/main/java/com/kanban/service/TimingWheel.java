@@ -0,0 +1,164 @@
+package com.kanban.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// Roda de temporização hierárquica: cada nível tem wheelSize compartimentos de tick do nível anterior vezes
+// wheelSize (ex.: 1 s, 1 min, 1 h, 60 h...), criados sob demanda. Agendar e cancelar custam O(1); avançar
+// custa um passo por tick, mais o rebaixamento dos itens quando um compartimento de nível superior vence.
+// Precisão de um tick: um item vence no tick em que seu prazo cai. Não é thread-safe.
+public class TimingWheel<K, V> {
+    
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<K, V>> levels = new ArrayList<>();
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Roda inválida: tick " + tickMs + " ms, " + wheelSize + " compartimentos");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        levels.add(new Level<>(tickMs, wheelSize, startMs));
+    }
+    
+    // Agenda value para deadlineMs, substituindo o item de mesma chave; false quando o prazo já está no tick atual
+    // ou no passado (nada é agendado)
+    public boolean schedule(K key, long deadlineMs, V value) {
+        remove(key);
+        Entry<K, V> entry = new Entry<>(key, deadlineMs, value);
+        if (!place(entry)) {
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+    
+    public boolean remove(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        return true;
+    }
+    
+    // Remove os itens cujas chaves satisfazem o filtro; percorre todos os itens agendados
+    public int removeIf(Predicate<K> filter) {
+        int removed = 0;
+        Iterator<Entry<K, V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<K, V> entry = iterator.next();
+            if (filter.test(entry.key)) {
+                entry.bucket.remove(entry);
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    // Avança o relógio até nowMs e devolve os itens vencidos, em ordem de tick
+    public List<V> advance(long nowMs) {
+        List<V> expired = new ArrayList<>();
+        Level<K, V> root = levels.get(0);
+        while (root.currentTime + tickMs <= nowMs) {
+            long time = root.currentTime + tickMs;
+            for (Level<K, V> level : levels) {
+                level.currentTime = time - Math.floorMod(time, level.tick);
+            }
+            // Do nível mais alto para o mais baixo: o compartimento que começa agora desce para os níveis de baixo
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                Level<K, V> level = levels.get(i);
+                if (level.currentTime != time) {
+                    continue;
+                }
+                Set<Entry<K, V>> bucket = level.bucketFor(time);
+                if (bucket.isEmpty()) {
+                    continue;
+                }
+                List<Entry<K, V>> due = new ArrayList<>(bucket);
+                bucket.clear();
+                for (Entry<K, V> entry : due) {
+                    if (!place(entry)) {
+                        entries.remove(entry.key);
+                        expired.add(entry.value);
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getCurrentTime() {
+        return levels.get(0).currentTime;
+    }
+    
+    private boolean place(Entry<K, V> entry) {
+        Level<K, V> root = levels.get(0);
+        if (entry.deadline < root.currentTime + tickMs) {
+            return false;
+        }
+        int index = 0;
+        Level<K, V> level = root;
+        while (entry.deadline >= level.currentTime + level.interval) {
+            index++;
+            if (index == levels.size()) {
+                levels.add(new Level<>(level.interval, wheelSize, root.currentTime));
+            }
+            level = levels.get(index);
+        }
+        Set<Entry<K, V>> bucket = level.bucketFor(entry.deadline);
+        bucket.add(entry);
+        entry.bucket = bucket;
+        return true;
+    }
+    
+    private static class Level<K, V> {
+        
+        private final long tick;
+        private final long interval;
+        private final List<Set<Entry<K, V>>> buckets;
+        // Início do compartimento atual (múltiplo de tick)
+        private long currentTime;
+        
+        Level(long tick, int wheelSize, long startMs) {
+            this.tick = tick;
+            this.interval = Math.multiplyExact(tick, (long) wheelSize);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new LinkedHashSet<>());
+            }
+            this.currentTime = startMs - Math.floorMod(startMs, tick);
+        }
+        
+        Set<Entry<K, V>> bucketFor(long time) {
+            return buckets.get((int) Math.floorMod(Math.floorDiv(time, tick), (long) buckets.size()));
+        }
+    }
+    
+    private static class Entry<K, V> {
+        
+        private final K key;
+        private final long deadline;
+        private final V value;
+        private Set<Entry<K, V>> bucket;
+        
+        Entry(K key, long deadline, V value) {
+            this.key = key;
+            this.deadline = deadline;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Remove a unicidade global de columns.column_id (V8 a substituiu por board_id + column_id). O nome depende
+// de como o banco foi criado: uk_columns_column_id pelo V1, ou UK_<hash> gerado pelo Hibernate nos bancos
+// criados pelo ddl-auto e marcados na versão 1 (baseline-on-migrate). Por isso o nome é procurado no
+// information_schema: toda restrição UNIQUE da tabela que tenha só a coluna column_id.
+public class V8_1__drop_global_column_id_unique extends BaseJavaMigration {
+    
+    private static final String FIND_SQL =
+        "SELECT tc.constraint_name FROM information_schema.table_constraints tc " +
+        "JOIN information_schema.key_column_usage kcu ON kcu.constraint_schema = tc.constraint_schema " +
+        "AND kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name " +
+        "WHERE LOWER(tc.table_schema) = LOWER(?) AND LOWER(tc.table_name) = 'columns' AND tc.constraint_type = 'UNIQUE' " +
+        "GROUP BY tc.constraint_name HAVING COUNT(*) = 1 AND LOWER(MAX(kcu.column_name)) = 'column_id'";
+    
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        // MySQL expõe o banco como catálogo; H2 como esquema
+        String schema = connection.getSchema() != null ? connection.getSchema() : connection.getCatalog();
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement find = connection.prepareStatement(FIND_SQL)) {
+            find.setString(1, schema);
+            try (ResultSet result = find.executeQuery()) {
+                while (result.next()) {
+                    names.add(result.getString(1));
+                }
+            }
+        }
+        // No MySQL a restrição UNIQUE é o índice de mesmo nome
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        try (Statement statement = connection.createStatement()) {
+            for (String name : names) {
+                statement.execute("ALTER TABLE columns DROP " + (mysql ? "INDEX " : "CONSTRAINT ") + quote(name, mysql));
+            }
+        }
+    }
+    
+    private static String quote(String name, boolean mysql) {
+        return mysql ? "`" + name.replace("`", "``") + "`" : "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+}
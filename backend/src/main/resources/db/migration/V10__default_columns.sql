@@ -0,0 +1,10 @@
+-- Colunas padrão do quadro principal, criadas uma única vez aqui em vez de conferidas a cada inicialização.
+-- Instalações que já têm colunas no quadro 1 não mudam. Novos quadros recebem as colunas em BoardService.createBoard.
+INSERT INTO columns (board_id, column_id, title, display_order, created_at, updated_at, version)
+SELECT 1, d.column_id, d.title, d.display_order, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0
+FROM (
+    SELECT 'todo' AS column_id, 'A Fazer' AS title, 1024 AS display_order
+    UNION ALL SELECT 'doing', 'Em Progresso', 2048
+    UNION ALL SELECT 'done', 'Concluído', 3072
+) d
+WHERE NOT EXISTS (SELECT 1 FROM columns c WHERE c.board_id = 1);
@@ -0,0 +1,6 @@
+-- status e priority como ENUM, declarados na mesma ordem dos enums de Task. ENUM ordena pela posição na
+-- declaração, não pelo texto: ORDER BY status, priority DESC dá TODO, DOING, DONE e ALTA, MEDIA, BAIXA.
+-- Bancos criados pelo ddl-auto já tinham essas colunas como ENUM; os criados pelo V1 tinham VARCHAR e
+-- ordenavam alfabeticamente (DOING antes de TODO, MEDIA antes de ALTA).
+ALTER TABLE tasks MODIFY COLUMN status ENUM('TODO', 'DOING', 'DONE');
+ALTER TABLE tasks MODIFY COLUMN priority ENUM('BAIXA', 'MEDIA', 'ALTA');
@@ -0,0 +1,20 @@
+-- Revisão da sincronização incremental em ordem de commit (SyncRevisions), no lugar de updated_at: um contador
+-- por quadro e, em cada tarefa, coluna e exclusão, a revisão em que a linha foi gravada por último.
+-- As linhas existentes ficam na revisão 1, a base de todos os quadros; o since em milissegundos dos clientes
+-- antigos é maior que qualquer revisão e leva a uma recarga completa.
+CREATE TABLE sync_revisions (
+    board_id BIGINT NOT NULL,
+    revision BIGINT NOT NULL,
+    purged_revision BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (board_id)
+);
+
+INSERT INTO sync_revisions (board_id, revision, purged_revision) SELECT id, 1, 0 FROM boards;
+
+ALTER TABLE tasks ADD COLUMN sync_revision BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE columns ADD COLUMN sync_revision BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE tombstones ADD COLUMN sync_revision BIGINT NOT NULL DEFAULT 1;
+
+CREATE INDEX idx_tasks_board_sync_revision ON tasks (board_id, sync_revision);
+CREATE INDEX idx_columns_board_sync_revision ON columns (board_id, sync_revision);
+CREATE INDEX idx_tombstones_board_sync_revision ON tombstones (board_id, sync_revision);
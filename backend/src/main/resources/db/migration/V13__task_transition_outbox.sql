@@ -0,0 +1,21 @@
+-- As transições passam a ser gravadas na mesma transação da alteração (AnalyticsService) e agregadas a partir
+-- da tabela: cada quadro guarda em analytics_watermarks a última revisão de sincronização (SyncRevisions) já
+-- somada aos agregados, e o agregador lê as linhas com revisão maior, em ordem de commit.
+
+-- Estado de origem completo (responsável e prioridade também mudam) e a criação da tarefa, para o tempo de ciclo
+ALTER TABLE task_transitions ADD COLUMN from_assignee VARCHAR(255);
+ALTER TABLE task_transitions ADD COLUMN from_priority VARCHAR(16);
+ALTER TABLE task_transitions ADD COLUMN task_created_at DATETIME(6);
+
+-- As linhas existentes já foram agregadas pela fila em memória: revisão 0, abaixo de qualquer marca
+ALTER TABLE task_transitions ADD COLUMN sync_revision BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_task_transitions_board_sync_revision ON task_transitions (board_id, sync_revision);
+
+CREATE TABLE analytics_watermarks (
+    board_id BIGINT NOT NULL,
+    sync_revision BIGINT NOT NULL,
+    PRIMARY KEY (board_id)
+);
+
+INSERT INTO analytics_watermarks (board_id, sync_revision) SELECT board_id, revision FROM sync_revisions;
@@ -0,0 +1,42 @@
+-- Esquema inicial (equivalente ao que o ddl-auto=update criava)
+-- Bancos existentes sem histórico do Flyway são marcados nesta versão (spring.flyway.baseline-on-migrate)
+
+CREATE TABLE IF NOT EXISTS columns (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    column_id VARCHAR(255) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    display_order INT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_columns_column_id UNIQUE (column_id)
+);
+
+CREATE INDEX idx_columns_updated_at ON columns (updated_at);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    assignee VARCHAR(255),
+    priority VARCHAR(16),
+    status VARCHAR(16),
+    due_date DATE,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    column_id VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at);
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(16) NOT NULL,
+    task_id BIGINT,
+    column_id VARCHAR(255),
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tombstones_deleted_at ON tombstones (deleted_at);
@@ -0,0 +1,17 @@
+-- Índices para as consultas do TaskRepository e ColumnRepository
+
+-- findByColumnIdOrderByCreatedAt, countByColumnId, countGroupByColumnId e as operações em massa por coluna
+CREATE INDEX idx_tasks_column_created ON tasks (column_id, created_at);
+
+-- findByStatus, countByStatus, countGroupByStatus, findByStatusOrderByPriorityAndCreatedAt,
+-- findAllOrderByStatusAndPriority e a paginação por chave (status, priority, created_at, id)
+CREATE INDEX idx_tasks_status_priority_created ON tasks (status, priority DESC, created_at);
+
+-- findByAssignee
+CREATE INDEX idx_tasks_assignee ON tasks (assignee);
+
+-- findAllOrderByCreatedAt (snapshot do quadro)
+CREATE INDEX idx_tasks_created_at ON tasks (created_at);
+
+-- findAllOrderByDisplayOrder
+CREATE INDEX idx_columns_display_order ON columns (display_order);
@@ -0,0 +1,3 @@
+-- Versão para bloqueio otimista (@Version em Task e BoardColumn), exposta como ETag/If-Match
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE columns ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
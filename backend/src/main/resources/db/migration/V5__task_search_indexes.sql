@@ -0,0 +1,2 @@
+-- Filtro por prazo da busca (dueFrom/dueTo) combinado com status
+CREATE INDEX idx_tasks_due_status ON tasks (due_date, status);
@@ -0,0 +1,54 @@
+-- Histórico de transições das tarefas e agregados de análise mantidos de forma incremental (AnalyticsService)
+-- Nos agregados, valores ausentes são gravados como '' para fazer parte da chave única
+
+CREATE TABLE IF NOT EXISTS task_transitions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    task_id BIGINT NOT NULL,
+    from_column_id VARCHAR(255),
+    to_column_id VARCHAR(255),
+    from_status VARCHAR(16),
+    to_status VARCHAR(16),
+    assignee VARCHAR(255),
+    priority VARCHAR(16),
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Histórico de uma tarefa e início do ciclo (primeira entrada em DOING)
+CREATE INDEX idx_task_transitions_task ON task_transitions (task_id, to_status, occurred_at);
+
+-- Consultas por período
+CREATE INDEX idx_task_transitions_occurred_at ON task_transitions (occurred_at);
+
+-- Entradas, saídas e conclusões por dia, coluna, responsável e prioridade
+CREATE TABLE IF NOT EXISTS task_flow_daily (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    flow_date DATE NOT NULL,
+    column_id VARCHAR(255) NOT NULL,
+    assignee VARCHAR(255) NOT NULL,
+    priority VARCHAR(16) NOT NULL,
+    entered INT NOT NULL DEFAULT 0,
+    exited INT NOT NULL DEFAULT 0,
+    completed INT NOT NULL DEFAULT 0,
+    cycle_time_seconds BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_task_flow_daily UNIQUE (flow_date, column_id, assignee, priority)
+);
+
+-- Tarefas atuais por coluna, status, responsável e prioridade (WIP)
+CREATE TABLE IF NOT EXISTS task_wip (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    column_id VARCHAR(255) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    assignee VARCHAR(255) NOT NULL,
+    priority VARCHAR(16) NOT NULL,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_task_wip UNIQUE (column_id, status, assignee, priority)
+);
+
+-- O WIP parte das tarefas existentes; o fluxo diário começa vazio (não há histórico anterior)
+INSERT INTO task_wip (column_id, status, assignee, priority, task_count)
+SELECT COALESCE(column_id, ''), COALESCE(status, ''), COALESCE(assignee, ''), COALESCE(priority, ''), COUNT(*)
+FROM tasks
+GROUP BY COALESCE(column_id, ''), COALESCE(status, ''), COALESCE(assignee, ''), COALESCE(priority, '');
@@ -0,0 +1,24 @@
+-- Arquivo de tarefas concluídas (ArchiveService): tarefas DONE antigas saem de tasks e mantêm o id original,
+-- para que a restauração devolva a mesma tarefa
+
+CREATE TABLE IF NOT EXISTS archived_tasks (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    assignee VARCHAR(255),
+    priority VARCHAR(16),
+    status VARCHAR(16),
+    due_date DATE,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    column_id VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Listagem paginada do arquivo (mais recentes primeiro)
+CREATE INDEX idx_archived_tasks_archived_at ON archived_tasks (archived_at, id);
+
+-- Seleção das tarefas a arquivar: status = 'DONE' AND updated_at < corte, em ordem de updated_at
+CREATE INDEX idx_tasks_status_updated ON tasks (status, updated_at);
@@ -0,0 +1,61 @@
+-- Vários quadros (times) na mesma instalação: colunas, tarefas e os dados derivados pertencem a um quadro.
+-- Os dados existentes ficam no quadro 1 (padrão). Os índices passam a começar por board_id, para que o custo
+-- das consultas de um quadro dependa só do tamanho dele, e não do total de quadros.
+
+CREATE TABLE IF NOT EXISTS boards (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO boards (id, name, created_at, updated_at) VALUES (1, 'Quadro principal', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+ALTER TABLE columns ADD COLUMN board_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE tasks ADD COLUMN board_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE tombstones ADD COLUMN board_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE archived_tasks ADD COLUMN board_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE task_transitions ADD COLUMN board_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE task_flow_daily ADD COLUMN board_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE task_wip ADD COLUMN board_id BIGINT NOT NULL DEFAULT 1;
+
+-- columnId passa a ser único dentro do quadro; a unicidade global antiga é removida em V8_1, que procura o
+-- nome dela (uk_columns_column_id no V1, UK_<hash> nos bancos criados pelo ddl-auto)
+ALTER TABLE columns ADD CONSTRAINT uk_columns_board_column_id UNIQUE (board_id, column_id);
+DROP INDEX idx_columns_updated_at ON columns;
+DROP INDEX idx_columns_display_order ON columns;
+CREATE INDEX idx_columns_board_updated_at ON columns (board_id, updated_at);
+CREATE INDEX idx_columns_board_display_order ON columns (board_id, display_order);
+
+-- Mesmas consultas de V2, V5 e V7, agora sempre filtradas pelo quadro
+DROP INDEX idx_tasks_updated_at ON tasks;
+DROP INDEX idx_tasks_column_created ON tasks;
+DROP INDEX idx_tasks_status_priority_created ON tasks;
+DROP INDEX idx_tasks_assignee ON tasks;
+DROP INDEX idx_tasks_created_at ON tasks;
+DROP INDEX idx_tasks_due_status ON tasks;
+DROP INDEX idx_tasks_status_updated ON tasks;
+CREATE INDEX idx_tasks_board_updated_at ON tasks (board_id, updated_at);
+CREATE INDEX idx_tasks_board_column_created ON tasks (board_id, column_id, created_at);
+CREATE INDEX idx_tasks_board_status_priority_created ON tasks (board_id, status, priority DESC, created_at);
+CREATE INDEX idx_tasks_board_assignee ON tasks (board_id, assignee);
+CREATE INDEX idx_tasks_board_created_at ON tasks (board_id, created_at);
+CREATE INDEX idx_tasks_board_due_status ON tasks (board_id, due_date, status);
+CREATE INDEX idx_tasks_board_status_updated ON tasks (board_id, status, updated_at);
+
+DROP INDEX idx_tombstones_deleted_at ON tombstones;
+CREATE INDEX idx_tombstones_board_deleted_at ON tombstones (board_id, deleted_at);
+
+DROP INDEX idx_archived_tasks_archived_at ON archived_tasks;
+CREATE INDEX idx_archived_tasks_board_archived_at ON archived_tasks (board_id, archived_at, id);
+
+DROP INDEX idx_task_transitions_occurred_at ON task_transitions;
+CREATE INDEX idx_task_transitions_board_occurred_at ON task_transitions (board_id, occurred_at);
+
+-- Agregados por quadro
+ALTER TABLE task_flow_daily DROP INDEX uk_task_flow_daily;
+ALTER TABLE task_flow_daily ADD CONSTRAINT uk_task_flow_daily UNIQUE (board_id, flow_date, column_id, assignee, priority);
+ALTER TABLE task_wip DROP INDEX uk_task_wip;
+ALTER TABLE task_wip ADD CONSTRAINT uk_task_wip UNIQUE (board_id, column_id, status, assignee, priority);
@@ -0,0 +1,8 @@
+-- Posição do cartão dentro da coluna: chave de texto comparável (ver CardRank), de modo que mover um cartão
+-- grave só a linha dele. Tarefas existentes ficam sem chave (NULL ordena primeiro, depois created_at) e
+-- recebem chaves do CardRankService na inicialização, na mesma ordem em que já apareciam.
+ALTER TABLE tasks ADD COLUMN card_rank VARCHAR(255);
+
+-- Listagem da coluna em ordem de posição, máximo da coluna (inserção no fim) e vizinhos de uma posição
+DROP INDEX idx_tasks_board_column_created ON tasks;
+CREATE INDEX idx_tasks_board_column_rank ON tasks (board_id, column_id, card_rank);
@@ -0,0 +1,44 @@
+package com.kanban.filter;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Uma resposta em streaming continua usando o banco depois do despacho inicial: a vaga só volta quando ela termina
+class AdmissionControlFilterTest {
+    
+    @Test
+    void holdsPermitUntilAsyncRequestCompletes() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(2, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/stream");
+        request.setAsyncSupported(true);
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                req.startAsync();
+            }
+        };
+        
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertThat(filter.getAvailablePermits()).isEqualTo(1);
+        
+        AsyncContext async = request.getAsyncContext();
+        async.complete();
+        assertThat(filter.getAvailablePermits()).isEqualTo(2);
+    }
+    
+    @Test
+    void releasesPermitWhenSynchronousRequestReturns() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(2, 10);
+        
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(), new MockFilterChain());
+        
+        assertThat(filter.getAvailablePermits()).isEqualTo(2);
+    }
+}
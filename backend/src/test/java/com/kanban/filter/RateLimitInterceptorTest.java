@@ -0,0 +1,36 @@
+package com.kanban.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O cliente pode enviar X-Forwarded-For já preenchido: só as entradas dos proxies confiáveis, contadas da
+// direita, identificam quem chamou
+class RateLimitInterceptorTest {
+    
+    @Test
+    void ignoresEntriesSentByClient() {
+        RateLimitInterceptor oneProxy = interceptor(1);
+        RateLimitInterceptor twoProxies = interceptor(2);
+        
+        assertThat(oneProxy.clientOf(request("1.1.1.1, 203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(twoProxies.clientOf(request("1.1.1.1, 203.0.113.7, 10.0.0.2"))).isEqualTo("203.0.113.7");
+        assertThat(twoProxies.clientOf(request("203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(oneProxy.clientOf(request(null))).isEqualTo("10.0.0.1");
+    }
+    
+    private static RateLimitInterceptor interceptor(int trustedProxies) {
+        return new RateLimitInterceptor(30, 10, "X-Forwarded-For", trustedProxies, 1000, new SimpleMeterRegistry());
+    }
+    
+    private static MockHttpServletRequest request(String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.setRemoteAddr("10.0.0.1");
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
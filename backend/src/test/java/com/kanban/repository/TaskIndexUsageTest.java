@@ -0,0 +1,100 @@
+package com.kanban.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Plano (EXPLAIN) das consultas dos finders no esquema criado pelas migrações, em H2 no modo MySQL: cada
+// consulta deve ser resolvida pelo índice criado para ela, e não por varredura da tabela
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskIndexUsageTest {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void populate() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        // Volume suficiente para o otimizador preferir os índices à varredura
+        String[] priorities = {"BAIXA", "MEDIA", "ALTA"};
+        String[] statuses = {"TODO", "DOING", "DONE"};
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String status = statuses[i % 3];
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i));
+            rows.add(new Object[]{"Tarefa " + i, priorities[(i / 3) % 3], status, status.toLowerCase(), "pessoa" + (i % 50),
+                    Date.valueOf(start.toLocalDate().plusDays(i % 90)), createdAt, createdAt, String.format("%08d", i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (board_id, title, priority, status, column_id, assignee, due_date, "
+                + "created_at, updated_at, card_rank, version) VALUES (1, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        // Colunas de outros quadros, para o filtro por board_id ser seletivo
+        jdbcTemplate.update("DELETE FROM columns WHERE board_id <> 1");
+        List<Object[]> columns = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            columns.add(new Object[]{2 + i / 5, "coluna" + i % 5, "Coluna " + i, (i % 5 + 1) * 1024});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO columns (board_id, column_id, title, display_order, version) "
+                + "VALUES (?, ?, ?, ?, 0)", columns);
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    @Test
+    void keysetPageUsesStatusPriorityIndex() {
+        assertThat(plan("SELECT * FROM tasks WHERE board_id = 1 AND status = 'TODO' AND priority = 'ALTA' "
+                + "AND (created_at > TIMESTAMP '2026-01-01 00:30:00' OR (created_at = TIMESTAMP '2026-01-01 00:30:00' AND id > 10)) "
+                + "ORDER BY created_at, id"))
+                .contains("idx_tasks_board_status_priority_created");
+    }
+    
+    @Test
+    void columnListingUsesRankIndex() {
+        assertThat(plan("SELECT * FROM tasks WHERE board_id = 1 AND column_id = 'doing' ORDER BY card_rank, created_at, id"))
+                .contains("idx_tasks_board_column_rank");
+    }
+    
+    @Test
+    void assigneeFilterUsesAssigneeIndex() {
+        assertThat(plan("SELECT * FROM tasks WHERE board_id = 1 AND assignee = 'pessoa7'"))
+                .contains("idx_tasks_board_assignee");
+    }
+    
+    @Test
+    void dueDateRangeUsesDueIndex() {
+        assertThat(plan("SELECT * FROM tasks WHERE board_id = 1 AND status = 'TODO' "
+                + "AND due_date BETWEEN DATE '2026-02-01' AND DATE '2026-02-07' ORDER BY due_date, id"))
+                .contains("idx_tasks_board_due_status");
+    }
+    
+    @Test
+    void archiveSelectionUsesStatusUpdatedIndex() {
+        assertThat(plan("SELECT id FROM tasks WHERE board_id = 1 AND status = 'DONE' "
+                + "AND updated_at < TIMESTAMP '2026-01-01 00:10:00' ORDER BY updated_at"))
+                .contains("idx_tasks_board_status_updated");
+    }
+    
+    @Test
+    void columnOrderUsesDisplayOrderIndex() {
+        // O H2 ordena depois da leitura e escolhe entre os índices que começam por board_id; o que importa aqui
+        // é a leitura ficar restrita ao quadro, sem varrer a tabela
+        assertThat(plan("SELECT * FROM columns WHERE board_id = 1 ORDER BY display_order"))
+                .containsPattern("(idx|uk)_columns_board_")
+                .doesNotContain("tablescan");
+    }
+    
+    private String plan(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toLowerCase();
+    }
+}
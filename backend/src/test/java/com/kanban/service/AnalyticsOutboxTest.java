@@ -0,0 +1,95 @@
+package com.kanban.service;
+
+import com.kanban.dto.TaskPatch;
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// As transições são gravadas com a alteração e agregadas uma vez só a partir da tabela; o WIP reconstruído
+// de tasks corrige o que mudou sem transição
+@SpringBootTest
+@ActiveProfiles("test")
+class AnalyticsOutboxTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private String assignee;
+    
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        assignee = "analytics-" + UUID.randomUUID();
+    }
+    
+    @Test
+    void transitionIsStoredOnlyWithItsChange() {
+        Task task = taskService.createTask(new Task("Confirmada", null, assignee, Task.Priority.MEDIA, Task.Status.TODO, null));
+        Long rolledBack = new TransactionTemplate(transactionManager).execute(status -> {
+            Task created = taskService.createTask(new Task("Desfeita", null, assignee, Task.Priority.MEDIA, Task.Status.TODO, null));
+            status.setRollbackOnly();
+            return created.getId();
+        });
+        
+        assertThat(transitionsOf(task.getId())).isEqualTo(1);
+        assertThat(transitionsOf(rolledBack)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT sync_revision FROM task_transitions WHERE task_id = ?",
+                Long.class, task.getId())).isPositive();
+    }
+    
+    @Test
+    void transitionsAreAggregatedOnce() {
+        Task task = taskService.createTask(new Task("Agregada", null, assignee, Task.Priority.MEDIA, Task.Status.TODO, null));
+        taskService.patchTask(task.getId(), TaskPatch.status(Task.Status.DOING), null);
+        
+        analyticsService.aggregatePending();
+        analyticsService.aggregatePending();
+        
+        assertThat(wip("todo")).isZero();
+        assertThat(wip("doing")).isEqualTo(1);
+        assertThat(analyticsService.getPendingCount()).isZero();
+    }
+    
+    @Test
+    void rebuildCorrectsChangesWithoutTransition() {
+        Task task = taskService.createTask(new Task("Alterada no banco", null, assignee, Task.Priority.MEDIA, Task.Status.TODO, null));
+        analyticsService.aggregatePending();
+        jdbcTemplate.update("UPDATE tasks SET column_id = 'done', status = 'DONE' WHERE id = ?", task.getId());
+        // Uma transição ainda por agregar já está em tasks e não pode contar duas vezes
+        taskService.createTask(new Task("Ainda na tabela", null, assignee, Task.Priority.MEDIA, Task.Status.TODO, null));
+        
+        analyticsService.rebuildWip();
+        analyticsService.aggregatePending();
+        
+        assertThat(wip("done")).isEqualTo(1);
+        assertThat(wip("todo")).isEqualTo(1);
+    }
+    
+    private long transitionsOf(Long taskId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_transitions WHERE task_id = ?", Long.class, taskId);
+    }
+    
+    private long wip(String columnId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(task_count), 0) FROM task_wip WHERE column_id = ? AND assignee = ?",
+                Long.class, columnId, assignee);
+    }
+}
@@ -0,0 +1,55 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Só tarefas DONE paradas há mais do que o prazo saem do quadro, e só elas geram exclusões para a sincronização
+@SpringBootTest
+@ActiveProfiles("test")
+class ArchiveServiceTest {
+    
+    @Autowired
+    private ArchiveService archiveService;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM archived_tasks");
+        jdbcTemplate.update("DELETE FROM tombstones");
+    }
+    
+    @Test
+    void archivesOnlyOldCompletedTasks() {
+        Task old = create("Concluída há tempo", Task.Status.DONE, LocalDateTime.now().minusDays(90));
+        Task recent = create("Concluída ontem", Task.Status.DONE, LocalDateTime.now().minusDays(1));
+        Task open = create("Parada, mas aberta", Task.Status.DOING, LocalDateTime.now().minusDays(90));
+        
+        assertThat(archiveService.archiveCompletedTasks()).isEqualTo(1);
+        
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM tasks", Long.class))
+                .containsExactlyInAnyOrder(recent.getId(), open.getId());
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM archived_tasks", Long.class)).containsExactly(old.getId());
+        assertThat(jdbcTemplate.queryForList("SELECT task_id FROM tombstones", Long.class)).containsExactly(old.getId());
+    }
+    
+    private Task create(String title, Task.Status status, LocalDateTime updatedAt) {
+        Task task = taskService.createTask(new Task(title, null, null, Task.Priority.MEDIA, status, null));
+        jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?", updatedAt, task.getId());
+        return task;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kanban.service;
+
+import com.kanban.dto.ImportResult;
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Importar o que foi exportado devolve as mesmas tarefas, na mesma ordem em cada coluna, inclusive com
+// vírgulas, aspas e quebras de linha nos textos
+@SpringBootTest
+@ActiveProfiles("test")
+class BoardTransferRoundTripTest {
+    
+    private static final String TASKS_SQL = "SELECT column_id, title, description, assignee, priority, status, due_date "
+            + "FROM tasks ORDER BY column_id, card_rank";
+    
+    @Autowired
+    private BoardTransferService boardTransferService;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+    
+    @ParameterizedTest
+    @EnumSource(BoardTransferService.Format.class)
+    void importOfExportKeepsTasks(BoardTransferService.Format format) throws Exception {
+        taskService.createTask(new Task("Vírgula, aspas \"duplas\"", "Primeira linha\r\nsegunda, com \"aspas\"\n",
+                "ana", Task.Priority.ALTA, Task.Status.TODO, LocalDate.of(2026, 3, 1)));
+        taskService.createTask(new Task("Segunda da coluna", null, null, Task.Priority.BAIXA, Task.Status.TODO, null));
+        taskService.createTask(new Task("\"Só aspas\"", "{\"json\": [1, 2]}", "bia", Task.Priority.MEDIA, Task.Status.DOING, null));
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(TASKS_SQL);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boardTransferService.export(format, out);
+        jdbcTemplate.update("DELETE FROM tasks");
+        ImportResult result = boardTransferService.importBoard(format, new ByteArrayInputStream(out.toByteArray()));
+        
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getColumnsCreated()).isZero();
+        assertThat(jdbcTemplate.queryForList(TASKS_SQL)).isEqualTo(expected);
+    }
+}
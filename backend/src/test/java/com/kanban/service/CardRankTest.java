@@ -0,0 +1,113 @@
+package com.kanban.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// As chaves geradas ficam sempre estritamente entre os vizinhos e nunca terminam em '0' (sempre sobra uma
+// chave antes delas), inclusive em inserções repetidas no mesmo ponto e depois de redistribuir a coluna
+class CardRankTest {
+    
+    @ParameterizedTest
+    @CsvSource(nullValues = "-", value = {
+        "-,   -",
+        "-,   1",
+        "-,   01",
+        "z,   -",
+        "zz,  -",
+        "a,   b",
+        "1,   2",
+        "y,   z",
+        "az,  b",
+        "0z,  1",
+        "a,   a1",
+        "a1,  a2",
+        "a,   a01",
+        "azz, b",
+        "i,   j01"
+    })
+    void betweenNeighbours(String after, String before) {
+        String key = CardRank.between(after, before);
+        
+        assertValid(key);
+        if (after != null) {
+            assertThat(key).isGreaterThan(after);
+        }
+        if (before != null) {
+            assertThat(key).isLessThan(before);
+        }
+        assertThat(CardRank.place(after, before)).isNotNull();
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+        "b, a",
+        "a, a"
+    })
+    void placeRejectsNeighboursOutOfOrder(String after, String before) {
+        assertThat(CardRank.place(after, before)).isNull();
+    }
+    
+    // Inserções seguidas na mesma ponta ou no mesmo intervalo: cada chave nova fica além da anterior
+    @ParameterizedTest
+    @CsvSource({
+        "head,   5000",
+        "tail,   5000",
+        "middle, 150"
+    })
+    void repeatedInsertsKeepOrder(String where, int inserts) {
+        String low = CardRank.after(null);
+        String high = CardRank.after(low);
+        String previous = where.equals("head") ? low : high;
+        for (int i = 0; i < inserts; i++) {
+            String key = switch (where) {
+                case "head" -> CardRank.place(null, previous);
+                case "tail" -> CardRank.place(previous, null);
+                default -> CardRank.place(low, previous);
+            };
+            assertThat(key).as("inserção %d", i).isNotNull();
+            assertValid(key);
+            if (where.equals("tail")) {
+                assertThat(key).isGreaterThan(previous);
+            } else {
+                assertThat(key).isLessThan(previous);
+            }
+            if (where.equals("middle")) {
+                assertThat(key).isGreaterThan(low);
+            }
+            previous = key;
+        }
+        if (!where.equals("middle")) {
+            // As pontas avançam pelo prefixo e não alongam a chave
+            assertThat(previous.length()).isLessThanOrEqualTo(4);
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 35, 36, 37, 1000, 100_000})
+    void spacedKeysKeepOrderAndLeaveRoom(int count) {
+        List<String> keys = CardRank.spaced(count);
+        
+        assertThat(keys).hasSize(count);
+        for (int i = 0; i < count; i++) {
+            assertValid(keys.get(i));
+            if (i > 0) {
+                assertThat(keys.get(i)).isGreaterThan(keys.get(i - 1));
+            }
+        }
+        assertThat(CardRank.place(null, keys.get(0))).isNotNull();
+        assertThat(CardRank.place(keys.get(count - 1), null)).isNotNull();
+        if (count > 1) {
+            assertThat(CardRank.place(keys.get(0), keys.get(1))).isNotNull();
+        }
+    }
+    
+    private static void assertValid(String key) {
+        assertThat(key).isNotEmpty().doesNotEndWith("0").matches("[0-9a-z]+");
+        assertThat(key.length()).isLessThanOrEqualTo(CardRank.MAX_LENGTH);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kanban.service;
+
+import com.kanban.model.BoardColumn;
+import com.kanban.model.Task;
+import com.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ao excluir uma coluna movendo os cartões, as chaves antigas (geradas do mesmo jeito nas duas colunas)
+// não podem coincidir nem se intercalar com as do destino: os cartões movidos vão para o fim, em ordem
+@SpringBootTest
+@ActiveProfiles("test")
+class ColumnDeletionRankTest {
+    
+    @Autowired
+    private ColumnService columnService;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+    
+    @Test
+    void movedCardsGoAfterTargetCards() {
+        BoardColumn review = columnService.createColumn(new BoardColumn("review", "Revisão", 3));
+        List<Long> expected = new ArrayList<>();
+        expected.add(create("Fazendo 1", "doing"));
+        expected.add(create("Fazendo 2", "doing"));
+        expected.add(create("Revisão 1", "review"));
+        expected.add(create("Revisão 2", "review"));
+        expected.add(create("Revisão 3", "review"));
+        
+        columnService.deleteColumn(review.getId(), ColumnService.TaskHandling.MOVE, "doing");
+        
+        assertThat(taskRepository.findIdsInRankOrder("doing")).containsExactlyElementsOf(expected);
+        List<String> ranks = jdbcTemplate.queryForList(
+                "SELECT card_rank FROM tasks WHERE column_id = 'doing' ORDER BY card_rank", String.class);
+        assertThat(ranks).doesNotHaveDuplicates().doesNotContainNull();
+    }
+    
+    private Long create(String title, String columnId) {
+        Task task = new Task(title, null, null, Task.Priority.MEDIA, Task.Status.DOING, null);
+        task.setColumnId(columnId);
+        return taskService.createTask(task).getId();
+    }
+}
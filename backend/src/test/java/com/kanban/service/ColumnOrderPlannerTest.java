@@ -0,0 +1,101 @@
+package com.kanban.service;
+
+import com.kanban.model.BoardColumn;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// As colunas chegam já na ordem desejada, com o displayOrder antigo: o plano muda só as que saíram da maior
+// sequência crescente e o resultado fica estritamente crescente e positivo
+class ColumnOrderPlannerTest {
+    
+    private static final int STEP = ColumnOrderPlanner.STEP;
+    
+    @ParameterizedTest
+    @CsvSource(nullValues = "-", value = {
+        // Sem mudança
+        "1024 2048 3072,           0",
+        "1 2 3,                    0",
+        // Uma coluna movida para o início, para o meio e para o fim
+        "3072 1024 2048,           1",
+        "1024 3072 2048 4096,      1",
+        "2048 3072 1024,           1",
+        // Inversão completa: só uma fica
+        "5120 4096 3072 2048 1024, 4",
+        // Colunas sem ordem válida entram nos intervalos
+        "- 0 1024,                 2",
+        "1024 - 2048,              1"
+    })
+    void changesOnlyColumnsOutOfOrder(String orders, int changes) {
+        List<BoardColumn> columns = columns(orders);
+        
+        Map<BoardColumn, Integer> plan = ColumnOrderPlanner.plan(columns);
+        
+        assertThat(plan).hasSize(changes);
+        assertIncreasing(apply(columns, plan));
+    }
+    
+    @Test
+    void reversalOfManyColumnsFitsInGaps() {
+        List<BoardColumn> columns = new ArrayList<>();
+        for (int i = 50; i >= 1; i--) {
+            columns.add(new BoardColumn("c" + i, "Coluna " + i, i * STEP));
+        }
+        
+        Map<BoardColumn, Integer> plan = ColumnOrderPlanner.plan(columns);
+        
+        assertThat(plan).hasSize(49);
+        assertIncreasing(apply(columns, plan));
+    }
+    
+    // Sem espaço entre as vizinhas (ou acima do maior int) todas são renumeradas com espaçamento STEP; as que já
+    // têm o valor certo ficam fora do plano
+    @ParameterizedTest
+    @CsvSource({
+        "2 1,                      2",
+        "1 3 2,                    3",
+        "1024 3 2,                 2",
+        "1 3 2147483547 2,         4",
+        "1024 2048 2147483547 5 6, 3"
+    })
+    void renumbersWhenGapRunsOut(String orders, int changes) {
+        List<BoardColumn> columns = columns(orders);
+        
+        Map<BoardColumn, Integer> plan = ColumnOrderPlanner.plan(columns);
+        
+        assertThat(plan).hasSize(changes);
+        List<Integer> result = apply(columns, plan);
+        for (int i = 0; i < result.size(); i++) {
+            assertThat(result.get(i)).isEqualTo((i + 1) * STEP);
+        }
+    }
+    
+    private static List<BoardColumn> columns(String orders) {
+        List<BoardColumn> columns = new ArrayList<>();
+        for (String order : orders.split(" ")) {
+            Integer value = order.equals("-") ? null : Integer.valueOf(order);
+            columns.add(new BoardColumn("c" + columns.size(), "Coluna " + columns.size(), value));
+        }
+        return columns;
+    }
+    
+    private static List<Integer> apply(List<BoardColumn> columns, Map<BoardColumn, Integer> plan) {
+        List<Integer> result = new ArrayList<>();
+        for (BoardColumn column : columns) {
+            result.add(plan.getOrDefault(column, column.getDisplayOrder()));
+        }
+        return result;
+    }
+    
+    private static void assertIncreasing(List<Integer> orders) {
+        assertThat(orders).doesNotContainNull();
+        assertThat(orders.get(0)).isPositive();
+        assertThat(orders).isSortedAccordingTo(Integer::compare).doesNotHaveDuplicates();
+    }
+}
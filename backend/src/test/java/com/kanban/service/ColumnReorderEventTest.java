@@ -0,0 +1,51 @@
+package com.kanban.service;
+
+import com.kanban.event.BoardChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// COLUMNS_REORDERED é agrupado por assinante com uma chave fixa: cada evento precisa trazer a ordem completa,
+// senão o último de uma sequência de reordenações parciais esconde as anteriores
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class ColumnReorderEventTest {
+    
+    @Autowired
+    private ColumnService columnService;
+    
+    @Autowired
+    private ApplicationEvents events;
+    
+    @AfterEach
+    void restoreOrder() {
+        columnService.reorderColumns(List.of("todo", "doing", "done"));
+    }
+    
+    @Test
+    void partialReorderPublishesFullOrder() {
+        columnService.reorderColumns(List.of("todo", "doing", "done"));
+        events.clear();
+        
+        // O planejamento renumera só o necessário; o evento deve listar também as colunas que não mudaram
+        columnService.reorderColumns(List.of("done", "doing", "todo"));
+        
+        List<BoardChangeEvent> reorders = events.stream(BoardChangeEvent.class)
+                .filter(event -> event.getType() == BoardChangeEvent.Type.COLUMNS_REORDERED)
+                .toList();
+        assertThat(reorders).hasSize(1);
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> order = (Map<String, Integer>) reorders.get(0).getData();
+        assertThat(order.keySet()).containsExactly("done", "doing", "todo");
+    }
+}
@@ -0,0 +1,85 @@
+package com.kanban.service;
+
+import com.kanban.dto.TaskPatch;
+import com.kanban.event.TaskTransitionEvent;
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Arrastes simultâneos do mesmo cartão sem If-Match: cada um parte do estado que o anterior deixou, então
+// só uma transição sai da coluna original (o histórico e o WIP não descontam a mesma célula duas vezes)
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcurrentPatchTest {
+    
+    // Recebe as transições de todas as threads (ApplicationEvents só registra as da thread do teste)
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Transitions {
+        final Queue<TaskTransitionEvent> events = new ConcurrentLinkedQueue<>();
+        
+        @EventListener
+        void record(TaskTransitionEvent event) {
+            events.add(event);
+        }
+    }
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private Transitions transitions;
+    
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+    
+    @Test
+    void concurrentDragsChainPreviousStates() throws Exception {
+        Task task = taskService.createTask(new Task("Arrastada", null, null, Task.Priority.MEDIA, Task.Status.TODO, null));
+        transitions.events.clear();
+        
+        int movers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(movers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Task>> results = new ArrayList<>();
+        for (int i = 0; i < movers; i++) {
+            Task.Status status = i % 2 == 0 ? Task.Status.DOING : Task.Status.DONE;
+            results.add(executor.submit(() -> {
+                start.await();
+                return taskService.patchTask(task.getId(), TaskPatch.status(status), null);
+            }));
+        }
+        start.countDown();
+        for (Future<Task> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        List<TaskTransitionEvent> moves = transitions.events.stream()
+                .filter(event -> event.getTaskId().equals(task.getId()) && event.getFrom() != null)
+                .toList();
+        assertThat(moves).filteredOn(event -> "todo".equals(event.getFrom().getColumnId())).hasSize(1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Movimentações que ficaram no log depois de uma queda são aplicadas na inicialização mesmo com a projeção
+// desligada (desligada depois da queda, ou no job de migração)
+@SpringBootTest(properties = {"kanban.projection.enabled=false", "kanban.projection.wal-dir=target/recovery-wal"})
+@ActiveProfiles("test")
+class MoveLogRecoveryTest {
+    
+    private static final Path WAL_DIR = Paths.get("target/recovery-wal");
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private TaskMoveWriteBehind writeBehind;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+    
+    @Test
+    void leftoverSegmentIsAppliedWithProjectionDisabled() throws Exception {
+        Task task = taskService.createTask(new Task("Movida antes da queda", null, null, Task.Priority.MEDIA, Task.Status.TODO, null));
+        long version = taskService.getTaskById(task.getId()).orElseThrow().getVersion();
+        Files.createDirectories(WAL_DIR);
+        Path segment = WAL_DIR.resolve("moves-7.wal");
+        TaskMoveWriteBehind.PendingMove move = new TaskMoveWriteBehind.PendingMove(task.getId(), "doing", Task.Status.DOING,
+                null, LocalDateTime.now(), version + 1, version);
+        Files.writeString(segment, move.toLine(), StandardCharsets.UTF_8);
+        
+        writeBehind.afterSingletonsInstantiated();
+        
+        assertThat(jdbcTemplate.queryForObject("SELECT column_id FROM tasks WHERE id = ?", String.class, task.getId()))
+                .isEqualTo("doing");
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM tasks WHERE id = ?", Long.class, task.getId()))
+                .isEqualTo(version + 1);
+        assertThat(segment).doesNotExist();
+    }
+    
+    @Test
+    void segmentDoesNotOverwriteLaterWrites() throws Exception {
+        Task task = taskService.createTask(new Task("Alterada depois", null, null, Task.Priority.MEDIA, Task.Status.TODO, null));
+        long version = taskService.getTaskById(task.getId()).orElseThrow().getVersion();
+        Files.createDirectories(WAL_DIR);
+        Path segment = WAL_DIR.resolve("moves-8.wal");
+        TaskMoveWriteBehind.PendingMove move = new TaskMoveWriteBehind.PendingMove(task.getId(), "doing", Task.Status.DOING,
+                null, LocalDateTime.now(), version + 1, version);
+        Files.writeString(segment, move.toLine(), StandardCharsets.UTF_8);
+        // O lote já foi gravado e uma escrita síncrona posterior levou a tarefa para "done" antes da queda
+        jdbcTemplate.update("UPDATE tasks SET column_id = 'done', status = 'DONE', version = ? WHERE id = ?", version + 2, task.getId());
+        
+        writeBehind.afterSingletonsInstantiated();
+        
+        assertThat(jdbcTemplate.queryForObject("SELECT column_id FROM tasks WHERE id = ?", String.class, task.getId()))
+                .isEqualTo("done");
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM tasks WHERE id = ?", Long.class, task.getId()))
+                .isEqualTo(version + 2);
+        assertThat(segment).doesNotExist();
+    }
+}
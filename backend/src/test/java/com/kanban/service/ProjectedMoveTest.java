@@ -0,0 +1,138 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Movimentações pela projeção com If-Match: leitura, conferência da versão e escrita no log acontecem sob o
+// mesmo lock, então de várias movimentações simultâneas a partir da mesma versão só uma é aceita
+@SpringBootTest(properties = {"kanban.projection.enabled=true", "kanban.projection.wal-dir=target/test-wal"})
+@ActiveProfiles("test")
+class ProjectedMoveTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private BoardProjection boardProjection;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clean() {
+        boardProjection.flushPendingWrites();
+        jdbcTemplate.update("DELETE FROM tasks");
+        boardProjection.reload();
+    }
+    
+    @Test
+    void concurrentMovesFromSameVersionAcceptOnlyOne() throws Exception {
+        Task task = taskService.createTask(new Task("Disputada", null, null, Task.Priority.ALTA, Task.Status.TODO, null));
+        long version = taskService.getTaskById(task.getId()).orElseThrow().getVersion();
+        
+        int movers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(movers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<Task>> results = new ArrayList<>();
+        for (int i = 0; i < movers; i++) {
+            String columnId = i % 2 == 0 ? "doing" : "done";
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return taskService.moveTaskToColumn(task.getId(), columnId, version);
+                } catch (OptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        List<Task> accepted = new ArrayList<>();
+        for (Future<Task> result : results) {
+            Task moved = result.get(30, TimeUnit.SECONDS);
+            if (moved != null) {
+                accepted.add(moved);
+            }
+        }
+        executor.shutdown();
+        
+        assertThat(accepted).hasSize(1);
+        assertThat(conflicts).hasValue(movers - 1);
+        assertThat(accepted.get(0).getVersion()).isEqualTo(version + 1);
+        
+        boardProjection.flushPendingWrites();
+        assertThat(jdbcTemplate.queryForObject("SELECT column_id FROM tasks WHERE id = ?", String.class, task.getId()))
+                .isEqualTo(accepted.get(0).getColumnId());
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM tasks WHERE id = ?", Long.class, task.getId()))
+                .isEqualTo(version + 1);
+    }
+    
+    @Test
+    void concurrentMovesAreAllDurableAndApplied() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tasks.add(taskService.createTask(new Task("Tarefa " + i, null, null, Task.Priority.MEDIA, Task.Status.TODO, null)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Task>> results = new ArrayList<>();
+        for (Task task : tasks) {
+            results.add(executor.submit(() -> taskService.moveTaskToColumn(task.getId(), "doing", null)));
+        }
+        for (Future<Task> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS).getColumnId()).isEqualTo("doing");
+        }
+        executor.shutdown();
+        
+        boardProjection.flushPendingWrites();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE column_id = 'doing'", Integer.class))
+                .isEqualTo(tasks.size());
+    }
+    
+    @Test
+    void reloadKeepsTasksVisibleById() throws Exception {
+        // Quadro grande o bastante para que a recarga leve algum tempo
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rows.add(new Object[]{"Carga " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (title, priority, status, column_id, created_at, updated_at, version) " +
+                "VALUES (?, 'MEDIA', 'TODO', 'todo', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", rows);
+        Task task = taskService.createTask(new Task("Sempre visível", null, null, Task.Priority.BAIXA, Task.Status.TODO, null));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicInteger misses = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        Future<?> reader = executor.submit(() -> {
+            while (done.getCount() > 0) {
+                if (boardProjection.getTask(task.getId()).isEmpty()) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        for (int i = 0; i < 10; i++) {
+            boardProjection.reload();
+        }
+        done.countDown();
+        reader.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        
+        assertThat(misses).hasValue(0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.kanban.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cada registro sai com a linha em que começa; "\r\n" e "\r" separam registros como '\n' (dentro de aspas ficam
+// como estão) e um registro com erro não impede a leitura dos seguintes
+class RecordReaderTest {
+    
+    private static final int MAX = 1_000;
+    
+    @Test
+    void quotedFieldsKeepCommasAndLineBreaks() throws IOException {
+        List<RecordReader.Record> records = csv("a,\"b,c\",\"d\ne\"\nx,y", MAX);
+        
+        assertThat(records).hasSize(2);
+        assertRecord(records.get(0), 1, "a", "b,c", "d\ne");
+        assertRecord(records.get(1), 3, "x", "y");
+    }
+    
+    @Test
+    void doubledQuotesBecomeOneQuote() throws IOException {
+        List<RecordReader.Record> records = csv("\"diz \"\"oi\"\"\",\"\"\"\",\"\",a\"b", MAX);
+        
+        assertThat(records).hasSize(1);
+        assertRecord(records.get(0), 1, "diz \"oi\"", "\"", "", "a\"b");
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"\n", "\r\n", "\r"})
+    void lineBreaksSeparateRecords(String lineBreak) throws IOException {
+        String text = "a,b" + lineBreak + "\"c" + lineBreak + "d\",e" + lineBreak + lineBreak + "f" + lineBreak;
+        List<RecordReader.Record> records = csv(text, MAX);
+        
+        assertThat(records).hasSize(3);
+        assertRecord(records.get(0), 1, "a", "b");
+        assertRecord(records.get(1), 2, "c" + lineBreak + "d", "e");
+        assertRecord(records.get(2), 5, "f");
+    }
+    
+    @Test
+    void unclosedQuoteIsReportedAtItsStart() throws IOException {
+        List<RecordReader.Record> records = csv("a,b\nc,\"d\ne,f\n", MAX);
+        
+        assertThat(records).hasSize(2);
+        assertRecord(records.get(0), 1, "a", "b");
+        assertError(records.get(1), 2, "Aspas não fechadas até o fim do arquivo");
+    }
+    
+    // O registro grande é descartado até o fim, mesmo quando as aspas o estendem por várias linhas
+    @Test
+    void oversizeRecordIsSkipped() throws IOException {
+        List<RecordReader.Record> records = csv("0123456789\n\"0123\n456789\",x\nok", 10);
+        
+        assertThat(records).hasSize(3);
+        assertRecord(records.get(0), 1, "0123456789");
+        assertError(records.get(1), 2, "Registro maior que 10 caracteres");
+        assertRecord(records.get(2), 4, "ok");
+    }
+    
+    @Test
+    void linesKeepCommasAndQuotes() throws IOException {
+        List<RecordReader.Record> records = read(RecordReader.lines(new StringReader(
+                "{\"a\":\"b,c\"}\r\n\n   \n{\"d\":\"0123456789\"}\r{\"e\":1}"), 12));
+        
+        assertThat(records).hasSize(3);
+        assertRecord(records.get(0), 1, "{\"a\":\"b,c\"}");
+        assertError(records.get(1), 4, "Registro maior que 12 caracteres");
+        assertRecord(records.get(2), 5, "{\"e\":1}");
+    }
+    
+    @Test
+    void blankLinesAreSkipped() throws IOException {
+        List<RecordReader.Record> records = csv("\n\na\n  \n\r\nb\n\n", MAX);
+        
+        assertThat(records).hasSize(2);
+        assertRecord(records.get(0), 3, "a");
+        assertRecord(records.get(1), 6, "b");
+    }
+    
+    private static List<RecordReader.Record> csv(String text, int maxChars) throws IOException {
+        return read(RecordReader.csv(new StringReader(text), maxChars));
+    }
+    
+    private static List<RecordReader.Record> read(RecordReader reader) throws IOException {
+        List<RecordReader.Record> records = new ArrayList<>();
+        RecordReader.Record record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+    
+    private static void assertRecord(RecordReader.Record record, long line, String... fields) {
+        assertThat(record.getError()).isNull();
+        assertThat(record.getLine()).isEqualTo(line);
+        assertThat(record.getFields()).containsExactly(fields);
+    }
+    
+    private static void assertError(RecordReader.Record record, long line, String error) {
+        assertThat(record.getLine()).isEqualTo(line);
+        assertThat(record.getFields()).isNull();
+        assertThat(record.getError()).isEqualTo(error);
+    }
+}
@@ -0,0 +1,104 @@
+package com.kanban.service;
+
+import com.kanban.dto.BoardChanges;
+import com.kanban.dto.TaskPatch;
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A revisão da sincronização incremental segue a ordem de commit: uma transação que começou antes e confirma
+// depois (com updated_at antigo) ainda aparece para quem já sincronizou até a revisão intermediária
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncRevisionTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private BoardService boardService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+    
+    @Test
+    void lateCommitIsDeliveredAfterEarlierRevision() {
+        Task slow = taskService.createTask(new Task("Lenta", null, null, Task.Priority.MEDIA, Task.Status.TODO, null));
+        Task fast = taskService.createTask(new Task("Rápida", null, null, Task.Priority.MEDIA, Task.Status.TODO, null));
+        long start = syncService.getChangesSince(0).getRevision();
+        
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        BoardChanges[] seen = new BoardChanges[1];
+        outer.executeWithoutResult(status -> {
+            // Gravação com o instante original, como a gravação adiada de movimentações
+            Task task = taskService.getTaskById(slow.getId()).orElseThrow();
+            task.setTitle("Lenta alterada");
+            taskService.updateTask(slow.getId(), task, null);
+            jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?", LocalDateTime.now().minusHours(1), slow.getId());
+            
+            // Outra transação confirma no meio e um cliente sincroniza até ela
+            inner.executeWithoutResult(s -> taskService.patchTask(fast.getId(), TaskPatch.status(Task.Status.DOING), null));
+            seen[0] = inner.execute(s -> syncService.getChangesSince(start));
+        });
+        
+        assertThat(seen[0].getTasks()).extracting(Task::getId).containsExactly(fast.getId());
+        BoardChanges next = syncService.getChangesSince(seen[0].getRevision());
+        assertThat(next.isFullResync()).isFalse();
+        assertThat(next.getTasks()).extracting(Task::getTitle).containsExactly("Lenta alterada");
+        assertThat(next.getRevision()).isGreaterThan(seen[0].getRevision());
+        assertThat(syncService.getChangesSince(next.getRevision()).getTasks()).isEmpty();
+    }
+    
+    @Test
+    void deletionsAndUnknownRevisions() {
+        Task task = taskService.createTask(new Task("Excluída", null, null, Task.Priority.BAIXA, Task.Status.TODO, null));
+        long before = syncService.getChangesSince(0).getRevision();
+        taskService.deleteTask(task.getId(), null);
+        
+        BoardChanges changes = syncService.getChangesSince(before);
+        assertThat(changes.getDeletedTaskIds()).containsExactly(task.getId());
+        assertThat(changes.getTasks()).isEmpty();
+        
+        // Revisão em milissegundos de clientes anteriores ao contador
+        assertThat(syncService.getChangesSince(System.currentTimeMillis()).isFullResync()).isTrue();
+    }
+    
+    // O ETag do quadro vem do contador: muda com cada escrita, inclusive exclusões, e só com elas
+    @Test
+    void boardVersionFollowsRevision() {
+        Task task = taskService.createTask(new Task("Versionada", null, null, Task.Priority.MEDIA, Task.Status.TODO, null));
+        String created = boardService.getBoardVersion();
+        assertThat(boardService.getBoardVersion()).isEqualTo(created);
+        
+        taskService.patchTask(task.getId(), TaskPatch.status(Task.Status.DOING), null);
+        String moved = boardService.getBoardVersion();
+        assertThat(moved).isNotEqualTo(created);
+        
+        taskService.deleteTask(task.getId(), null);
+        assertThat(boardService.getBoardVersion()).isNotIn(created, moved);
+    }
+}
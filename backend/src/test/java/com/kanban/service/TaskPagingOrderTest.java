@@ -0,0 +1,80 @@
+package com.kanban.service;
+
+import com.kanban.dto.TaskPage;
+import com.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GET /api/tasks, /api/tasks/stream e as páginas de /api/tasks/page devem trazer as mesmas tarefas na mesma
+// ordem (TaskOrdering)
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskPagingOrderTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void populate() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 9, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 240; i++) {
+            Task.Status status = Task.Status.values()[(i * 7) % 3];
+            Task.Priority priority = Task.Priority.values()[(i * 5 / 3) % 3];
+            // Grupos de quatro tarefas com o mesmo created_at: o desempate é pelo id
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i / 4));
+            rows.add(new Object[]{"Tarefa " + i, priority.name(), status.name(), status.name().toLowerCase(), createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (board_id, title, priority, status, column_id, created_at, updated_at, version) "
+                + "VALUES (1, ?, ?, ?, ?, ?, ?, 0)", rows);
+    }
+    
+    @Test
+    void unpagedListFollowsTaskOrdering() {
+        List<Task> tasks = taskService.getAllTasks();
+        
+        assertThat(tasks).hasSize(240).isSortedAccordingTo(TaskOrdering.STATUS_PRIORITY_CREATED);
+        assertThat(tasks.get(0).getStatus()).isEqualTo(Task.Status.TODO);
+        assertThat(tasks.get(0).getPriority()).isEqualTo(Task.Priority.ALTA);
+    }
+    
+    @Test
+    void concatenatedPagesMatchUnpagedListAndStream() {
+        List<Long> unpaged = ids(taskService.getAllTasks());
+        List<Long> streamed = new ArrayList<>();
+        taskService.forEachTask(task -> streamed.add(task.getId()));
+        
+        for (int size : new int[]{1, 7, 60, 500}) {
+            List<Long> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                TaskPage page = taskService.getTasksPage(cursor, size);
+                assertThat(page.getTasks().size()).isLessThanOrEqualTo(size);
+                paged.addAll(ids(page.getTasks()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            
+            assertThat(paged).as("páginas de %d", size).isEqualTo(unpaged);
+        }
+        assertThat(streamed).isEqualTo(unpaged);
+    }
+    
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
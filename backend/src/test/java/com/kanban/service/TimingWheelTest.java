@@ -0,0 +1,113 @@
+package com.kanban.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Roda com tick de 10 ms e 4 compartimentos: níveis de 40 ms, 160 ms, 640 ms... Cada item vence no tick em que
+// o prazo cai, passando pelos níveis de baixo quando o compartimento de cima chega
+class TimingWheelTest {
+    
+    private static final long START = 1_000;
+    private static final long TICK = 10;
+    
+    @ParameterizedTest
+    @CsvSource({
+        "999,  false",
+        "1000, false",
+        "1009, false",
+        "1010, true",
+        "1039, true"
+    })
+    void deadlineInCurrentTickIsNotScheduled(long deadline, boolean scheduled) {
+        TimingWheel<String, String> wheel = wheel();
+        
+        assertThat(wheel.schedule("a", deadline, "a")).isEqualTo(scheduled);
+        assertThat(wheel.size()).isEqualTo(scheduled ? 1 : 0);
+    }
+    
+    // Prazos no primeiro nível e em níveis acima dele: cada um vence exatamente no tick do prazo
+    @ParameterizedTest
+    @ValueSource(longs = {1010, 1039, 1040, 1045, 1159, 1160, 1505, 1639, 1640, 3999, 9_876})
+    void cascadesDownAndExpiresInItsTick(long deadline) {
+        TimingWheel<String, String> wheel = wheel();
+        wheel.schedule("a", deadline, "a");
+        long expiresAt = deadline - Math.floorMod(deadline, TICK);
+        
+        for (long now = START + TICK; now < expiresAt; now += TICK) {
+            assertThat(wheel.advance(now)).as("agora %d", now).isEmpty();
+        }
+        assertThat(wheel.advance(expiresAt)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+    
+    @Test
+    void removeAfterCascade() {
+        TimingWheel<String, String> wheel = wheel();
+        wheel.schedule("a", 1505, "a");
+        wheel.schedule("b", 1505, "b");
+        
+        // Em 1480 o item já desceu do nível de 160 ms para os de baixo
+        assertThat(wheel.advance(1480)).isEmpty();
+        assertThat(wheel.remove("a")).isTrue();
+        assertThat(wheel.remove("a")).isFalse();
+        
+        assertThat(wheel.advance(2000)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+    
+    @Test
+    void removeIfAcrossLevels() {
+        TimingWheel<String, String> wheel = wheel();
+        wheel.schedule("1:a", 1020, "1:a");
+        wheel.schedule("1:b", 1500, "1:b");
+        wheel.schedule("2:a", 1020, "2:a");
+        wheel.schedule("2:b", 5000, "2:b");
+        
+        assertThat(wheel.removeIf(key -> key.startsWith("1:"))).isEqualTo(2);
+        assertThat(wheel.size()).isEqualTo(2);
+        
+        assertThat(wheel.advance(10_000)).containsExactly("2:a", "2:b");
+    }
+    
+    @Test
+    void scheduleReplacesSameKey() {
+        TimingWheel<String, String> wheel = wheel();
+        wheel.schedule("a", 1500, "antes");
+        wheel.schedule("a", 1020, "depois");
+        
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(2000)).containsExactly("depois");
+    }
+    
+    // Um único advance para muito à frente entrega tudo, em ordem de tick, e a roda continua utilizável
+    @Test
+    void largeJumpExpiresEverythingInOrder() {
+        TimingWheel<String, Long> wheel = wheel();
+        List<Long> deadlines = new ArrayList<>();
+        for (long deadline = 100_000; deadline > START + TICK; deadline -= 997) {
+            wheel.schedule("t" + deadline, deadline, deadline);
+            deadlines.add(deadline);
+        }
+        deadlines.sort(null);
+        
+        long now = 200_000;
+        assertThat(wheel.advance(now)).containsExactlyElementsOf(deadlines);
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.getCurrentTime()).isEqualTo(now);
+        
+        assertThat(wheel.schedule("depois", now + 5, 0L)).isFalse();
+        assertThat(wheel.schedule("depois", now + TICK, 0L)).isTrue();
+        assertThat(wheel.advance(now + TICK)).containsExactly(0L);
+    }
+    
+    private static <V> TimingWheel<String, V> wheel() {
+        return new TimingWheel<>(TICK, 4, START);
+    }
+}
@@ -0,0 +1,88 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.naming.NamingHelper;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Migrações a partir de um banco criado pelo ddl-auto=update antes do Flyway: marcado na versão 1
+// (baseline-on-migrate), com a unicidade de column_id no nome gerado pelo Hibernate, e não no do V1
+class LegacySchemaMigrationTest {
+    
+    // Mesmo nome que o Hibernate dava a @Column(unique = true) em BoardColumn.columnId
+    private static final String HIBERNATE_UNIQUE = NamingHelper.INSTANCE.generateHashedConstraintName("UK_",
+            Identifier.toIdentifier("columns"), Identifier.toIdentifier("column_id"));
+    
+    @Test
+    void migratesSchemaCreatedByDdlAuto() {
+        DataSource dataSource = dataSource("legacy_ddl_auto");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        createDdlAutoSchema(jdbc);
+        jdbc.update("INSERT INTO columns (column_id, title, display_order, created_at, updated_at) " +
+                "VALUES ('todo', 'A Fazer', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        
+        MigrateResult result = flyway(dataSource).migrate();
+        
+        assertThat(result.success).isTrue();
+        assertThat(uniqueConstraints(jdbc)).doesNotContain(HIBERNATE_UNIQUE.toLowerCase());
+        assertSameColumnIdOnAnotherBoard(jdbc);
+    }
+    
+    @Test
+    void migratesEmptyDatabase() {
+        DataSource dataSource = dataSource("legacy_empty");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        
+        assertThat(flyway(dataSource).migrate().success).isTrue();
+        assertThat(uniqueConstraints(jdbc)).doesNotContain("uk_columns_column_id");
+        assertSameColumnIdOnAnotherBoard(jdbc);
+    }
+    
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+    
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+    
+    // Esquema que o Hibernate gerava para as entidades anteriores ao V1 (MySQLDialect: enums nativos)
+    private static void createDdlAutoSchema(JdbcTemplate jdbc) {
+        jdbc.execute("CREATE TABLE columns (display_order INTEGER, created_at DATETIME(6), id BIGINT NOT NULL AUTO_INCREMENT, " +
+                "updated_at DATETIME(6), column_id VARCHAR(255) NOT NULL, title VARCHAR(255) NOT NULL, PRIMARY KEY (id))");
+        jdbc.execute("ALTER TABLE columns ADD CONSTRAINT " + HIBERNATE_UNIQUE + " UNIQUE (column_id)");
+        jdbc.execute("CREATE INDEX idx_columns_updated_at ON columns (updated_at)");
+        jdbc.execute("CREATE TABLE tasks (due_date DATE, created_at DATETIME(6), id BIGINT NOT NULL AUTO_INCREMENT, " +
+                "updated_at DATETIME(6), assignee VARCHAR(255), column_id VARCHAR(255), description TEXT, " +
+                "priority ENUM('BAIXA','MEDIA','ALTA'), status ENUM('TODO','DOING','DONE'), title VARCHAR(255) NOT NULL, PRIMARY KEY (id))");
+        jdbc.execute("CREATE INDEX idx_tasks_updated_at ON tasks (updated_at)");
+        jdbc.execute("CREATE TABLE tombstones (deleted_at DATETIME(6) NOT NULL, id BIGINT NOT NULL AUTO_INCREMENT, task_id BIGINT, " +
+                "column_id VARCHAR(255), entity_type ENUM('TASK','COLUMN') NOT NULL, PRIMARY KEY (id))");
+        jdbc.execute("CREATE INDEX idx_tombstones_deleted_at ON tombstones (deleted_at)");
+    }
+    
+    private static List<String> uniqueConstraints(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT LOWER(constraint_name) FROM information_schema.table_constraints " +
+                "WHERE table_name = 'columns' AND constraint_type = 'UNIQUE'", String.class);
+    }
+    
+    private static void assertSameColumnIdOnAnotherBoard(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO boards (id, name, created_at, updated_at) VALUES (2, 'Outro', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO columns (board_id, column_id, title, display_order, created_at, updated_at) " +
+                "VALUES (2, 'todo', 'A Fazer', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM columns WHERE column_id = 'todo'", Integer.class)).isEqualTo(2);
+    }
+}
@@ -5,6 +5,7 @@ import { FormsModule } from '@angular/forms';
 import { DragDropModule, CdkDragDrop, moveItemInArray, transferArrayItem } from '@angular/cdk/drag-drop';
 import { TaskService } from './task.service';
 import { ColumnService, ColumnDto } from './column.service';
+import { BoardService } from './board.service';
 
 export interface Task {
   id?: number;
@@ -17,6 +18,7 @@ export interface Task {
   createdAt?: Date;
   updatedAt?: Date;
   columnId?: string; // ID da coluna onde a tarefa está
+  cardRank?: string; // Posição dentro da coluna, calculada pelo backend
 }
 
 export interface Column {
@@ -68,11 +70,10 @@ export class App implements OnInit {
   editingColumnTitle = '';
   editingColumnId = '';
 
-  constructor(private taskService: TaskService, private columnService: ColumnService) {}
+  constructor(private taskService: TaskService, private columnService: ColumnService, private boardService: BoardService) {}
 
   ngOnInit() {
-    this.loadColumns();
-    this.loadTasks();
+    this.loadBoard();
     // Cursor trail listener
     window.addEventListener('pointermove', this.handlePointerMove);
     // Ocasional spawn de partícula
@@ -97,6 +98,39 @@ export class App implements OnInit {
     setTimeout(() => p.remove(), 600);
   };
 
+  loadBoard() {
+    this.loading = true;
+    this.error = null;
+
+    this.boardService.getBoard().subscribe({
+      next: (board) => {
+        this.columns = board.columns.map(snapshot => ({
+          id: snapshot.column.columnId,
+          title: snapshot.column.title,
+          dbId: snapshot.column.id
+        }));
+        const tasks = board.columns
+          .reduce((all, snapshot) => all.concat(snapshot.tasks), [] as Task[])
+          .concat(board.unassignedTasks);
+        // Converter os dados do backend para o formato do frontend
+        this.tasks = tasks.map(task => ({
+          ...task,
+          priority: task.priority.toLowerCase() as 'baixa' | 'media' | 'alta',
+          status: task.status.toLowerCase() as 'todo' | 'doing' | 'done',
+          columnId: task.columnId || task.status.toLowerCase() // Fallback para compatibilidade
+        }));
+        this.loading = false;
+      },
+      error: (error) => {
+        console.error('Erro ao carregar quadro:', error);
+        this.loading = false;
+        // Fallback para as requisições separadas
+        this.loadColumns();
+        this.loadTasks();
+      }
+    });
+  }
+
   loadColumns() {
     this.columnService.getAllColumns().subscribe({
       next: (columns) => {
@@ -331,15 +365,16 @@ export class App implements OnInit {
   deleteColumn() {
     if (this.selectedColumn && this.selectedColumn.dbId && confirm(`Deseja excluir o quadro "${this.selectedColumn.title}"?`)) {
       this.columnService.deleteColumn(this.selectedColumn.dbId).subscribe({
-        next: () => {
+        next: (result) => {
           this.columns = this.columns.filter(col => col.id !== this.selectedColumn!.id);
           
-          // Move todas as tarefas da coluna deletada para "A Fazer"
+          // As tarefas já foram movidas no servidor; refletir o destino localmente
+          const target = result.targetColumnId;
           this.tasks.forEach(task => {
-            if (task.status === this.selectedColumn!.id) {
-              task.status = 'todo';
-              if (task.id) {
-                this.taskService.updateTaskStatus(task.id, 'todo').subscribe();
+            if ((task.columnId || task.status) === result.columnId && target) {
+              task.columnId = target;
+              if (target === 'todo' || target === 'doing' || target === 'done') {
+                task.status = target;
               }
             }
           });
@@ -381,8 +416,16 @@ export class App implements OnInit {
     }
   }
 
+  // Na ordem de posição da coluna; tarefas sem posição primeiro, como no backend
   getTasksByColumn(columnId: string): Task[] {
-    return this.tasks.filter(task => (task.columnId || task.status) === columnId);
+    return this.tasks
+      .filter(task => (task.columnId || task.status) === columnId)
+      .sort((a, b) => {
+        if (a.cardRank === b.cardRank) return 0;
+        if (!a.cardRank) return -1;
+        if (!b.cardRank) return 1;
+        return a.cardRank < b.cardRank ? -1 : 1;
+      });
   }
 
   getTaskCount(columnId: string): number {
@@ -396,19 +439,40 @@ export class App implements OnInit {
   }
 
   drop(event: CdkDragDrop<Task[]>) {
+    const task = event.previousContainer.data[event.previousIndex];
+    // Vizinhos na posição onde o cartão foi solto, para o backend gravar só a posição dele
+    const target = event.container.data.filter(t => t !== task);
+    const after = target[event.currentIndex - 1];
+    const before = target[event.currentIndex];
+    
     if (event.previousContainer === event.container) {
+      if (event.previousIndex === event.currentIndex) {
+        return;
+      }
       moveItemInArray(event.container.data, event.previousIndex, event.currentIndex);
+      if (task.id) {
+        this.taskService.moveTaskToColumn(task.id, task.columnId || task.status, after?.id, before?.id).subscribe({
+          next: (updatedTask) => {
+            task.cardRank = updatedTask.cardRank;
+          },
+          error: (error) => {
+            console.error('Erro ao reordenar tarefa:', error);
+            this.error = 'Erro ao reordenar tarefa. Tente novamente.';
+            this.loadTasks();
+          }
+        });
+      }
     } else {
-      const task = event.previousContainer.data[event.previousIndex];
       const newColumnId = this.getColumnIdFromContainer(event.container.id);
       
       // Atualizar no backend usando o novo endpoint para mover para coluna
       if (task.id) {
-        this.taskService.moveTaskToColumn(task.id, newColumnId).subscribe({
+        this.taskService.moveTaskToColumn(task.id, newColumnId, after?.id, before?.id).subscribe({
           next: (updatedTask) => {
             // Atualizar localmente após sucesso no backend
             task.status = updatedTask.status.toLowerCase() as 'todo' | 'doing' | 'done';
             task.columnId = updatedTask.columnId;
+            task.cardRank = updatedTask.cardRank;
             
             transferArrayItem(
               event.previousContainer.data,
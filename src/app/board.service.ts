@@ -0,0 +1,32 @@
+import { Injectable } from '@angular/core';
+import { HttpClient } from '@angular/common/http';
+import { Observable } from 'rxjs';
+import { Task } from './app';
+import { ColumnDto } from './column.service';
+
+export interface BoardColumnSnapshot {
+  column: ColumnDto;
+  tasks: Task[];
+}
+
+export interface BoardSnapshot {
+  version: string;
+  columns: BoardColumnSnapshot[];
+  unassignedTasks: Task[];
+  countsByColumn: { [columnId: string]: number };
+  countsByStatus: { [status: string]: number };
+}
+
+@Injectable({
+  providedIn: 'root'
+})
+export class BoardService {
+  private apiUrl = 'http://localhost:8080/api/board';
+
+  constructor(private http: HttpClient) { }
+
+  // Colunas, tarefas e contagens em uma única requisição (revalidada por ETag pelo navegador)
+  getBoard(): Observable<BoardSnapshot> {
+    return this.http.get<BoardSnapshot>(this.apiUrl);
+  }
+}
@@ -11,6 +11,12 @@ export interface ColumnDto {
   updatedAt?: Date;
 }
 
+export interface ColumnDeletionResult {
+  columnId: string;
+  targetColumnId: string | null;
+  affectedTasks: number;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -35,8 +41,10 @@ export class ColumnService {
     return this.http.put<ColumnDto>(`${this.apiUrl}/${id}`, column);
   }
 
-  deleteColumn(id: number): Observable<void> {
-    return this.http.delete<void>(`${this.apiUrl}/${id}`);
+  // Exclui a coluna e move suas tarefas no servidor (para moveTasksTo, ou "todo" por padrão)
+  deleteColumn(id: number, moveTasksTo?: string): Observable<ColumnDeletionResult> {
+    const params: { [param: string]: string } = moveTasksTo ? { moveTasksTo } : {};
+    return this.http.delete<ColumnDeletionResult>(`${this.apiUrl}/${id}`, { params });
   }
 
   reorderColumns(columnIds: string[]): Observable<void> {
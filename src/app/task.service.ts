@@ -1,8 +1,26 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpHeaders } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { Task } from './app';
 
+export interface TaskSearchFilters {
+  q?: string;
+  status?: string[];
+  priority?: string[];
+  assignee?: string;
+  columnId?: string[];
+  dueFrom?: string;
+  dueTo?: string;
+}
+
+export interface TaskSearchResult {
+  tasks: Task[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -22,6 +40,24 @@ export class TaskService {
     return this.http.get<Task[]>(this.apiUrl);
   }
 
+  // Buscar tarefas com filtros no servidor (paginado)
+  searchTasks(filters: TaskSearchFilters, page = 0, size = 50, sort?: string): Observable<TaskSearchResult> {
+    let params = new HttpParams().set('page', page).set('size', size);
+    if (sort) {
+      params = params.set('sort', sort);
+    }
+    Object.entries(filters).forEach(([key, value]) => {
+      if (Array.isArray(value)) {
+        if (value.length) {
+          params = params.set(key, value.map(v => key === 'columnId' ? v : v.toUpperCase()).join(','));
+        }
+      } else if (value) {
+        params = params.set(key, value);
+      }
+    });
+    return this.http.get<TaskSearchResult>(`${this.apiUrl}/search`, { params });
+  }
+
   // Buscar tarefa por ID
   getTaskById(id: number): Observable<Task> {
     return this.http.get<Task>(`${this.apiUrl}/${id}`);
@@ -82,8 +118,15 @@ export class TaskService {
     return this.http.get<Task[]>(`${this.apiUrl}/assignee/${assignee}`);
   }
   
-  // Mover tarefa para uma coluna específica
-  moveTaskToColumn(id: number, columnId: string): Observable<Task> {
-    return this.http.patch<Task>(`${this.apiUrl}/${id}/move-to-column/${columnId}`, {}, this.httpOptions);
+  // Mover tarefa para uma coluna específica, entre os cartões after e before (ids); sem eles, vai para o fim
+  moveTaskToColumn(id: number, columnId: string, after?: number, before?: number): Observable<Task> {
+    let params = new HttpParams();
+    if (after !== undefined) {
+      params = params.set('after', after);
+    }
+    if (before !== undefined) {
+      params = params.set('before', before);
+    }
+    return this.http.patch<Task>(`${this.apiUrl}/${id}/move-to-column/${columnId}`, {}, { ...this.httpOptions, params });
   }
 }